@@ -0,0 +1,108 @@
+package cz.filipklimes.edu.datastructure;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the bulk operations of BinaryMinHeap: the linear-time construction and merge,
+ * and the ways of draining a full heap (the pop loop, popN in batches, drainTo,
+ * the consuming stream and the in-place heapsort).
+ * The heap to drain is built before every invocation, outside of the measurement,
+ * so the sizes should be large enough for the invocation to take milliseconds.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(2)
+@State(Scope.Thread)
+public class BinaryMinHeapBenchmark
+{
+
+    @Param({"1000000", "10000000"})
+    private int size;
+
+    private int[] numbers;
+
+    private int[] dst;
+
+    private int[] batch;
+
+    private BinaryMinHeap full;
+
+    private BinaryMinHeap left;
+
+    private BinaryMinHeap right;
+
+    @Setup(Level.Trial)
+    public void generate()
+    {
+        numbers = Distribution.RANDOM.keys(size, new Random(42));
+        dst = new int[size];
+        batch = new int[1024];
+    }
+
+    @Setup(Level.Invocation)
+    public void fill()
+    {
+        full = new BinaryMinHeap(numbers);
+        int half = size / 2;
+        left = new BinaryMinHeap(Arrays.copyOfRange(numbers, 0, half));
+        right = new BinaryMinHeap(Arrays.copyOfRange(numbers, half, size));
+    }
+
+    @Benchmark
+    public BinaryMinHeap bulkConstruct()
+    {
+        return new BinaryMinHeap(numbers);
+    }
+
+    @Benchmark
+    public BinaryMinHeap merge()
+    {
+        left.merge(right);
+        return left;
+    }
+
+    @Benchmark
+    public int[] drainPopLoop()
+    {
+        for (int i = 0; i < size; i++) {
+            dst[i] = full.pop();
+        }
+        return dst;
+    }
+
+    @Benchmark
+    public long drainPopN()
+    {
+        long checksum = 0;
+        int popped;
+        while ((popped = full.popN(batch.length, batch, 0)) > 0) {
+            checksum += batch[popped - 1];
+        }
+        return checksum;
+    }
+
+    @Benchmark
+    public int[] drainTo()
+    {
+        full.drainTo(dst);
+        return dst;
+    }
+
+    @Benchmark
+    public long drainingStream()
+    {
+        return full.drainingStream().sum();
+    }
+
+    @Benchmark
+    public int[] drainSorted()
+    {
+        return full.drainSorted();
+    }
+
+}
@@ -0,0 +1,97 @@
+package cz.filipklimes.edu.datastructure;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures throughput of MultiQueue in relaxed and strict mode and of BinaryMinHeap
+ * guarded by a single lock. Every thread pushes a random value and pops a value
+ * from a heap shared by all threads and prefilled with the given number of values.
+ * Run with -t 1, -t 2, ... to see how the heaps scale, by default all processors are used.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@Threads(Threads.MAX)
+@State(Scope.Benchmark)
+public class ConcurrentBenchmark
+{
+
+    @Param({"RELAXED", "STRICT", "LOCKED"})
+    private String queue;
+
+    @Param({"1000000"})
+    private int size;
+
+    private MinHeap heap;
+
+    @Setup(Level.Trial)
+    public void fill(final BenchmarkParams params)
+    {
+        switch (queue) {
+            case "RELAXED":
+                heap = new MultiQueue(2, params.getThreads(), false);
+                break;
+            case "STRICT":
+                heap = new MultiQueue(2, params.getThreads(), true);
+                break;
+            case "LOCKED":
+                heap = new LockedMinHeap(new BinaryMinHeap());
+                break;
+            default:
+                throw new IllegalArgumentException(String.format("Unknown queue '%s'", queue));
+        }
+        for (int number : Distribution.RANDOM.keys(size, new Random(42))) {
+            heap.push(number);
+        }
+    }
+
+    @Benchmark
+    public int pushPop()
+    {
+        heap.push(ThreadLocalRandom.current().nextInt());
+        return heap.pop();
+    }
+
+    /**
+     * The workaround MultiQueue replaces: a single lock around a binary heap.
+     */
+    private static final class LockedMinHeap implements MinHeap
+    {
+
+        private final MinHeap heap;
+
+        private LockedMinHeap(final MinHeap heap)
+        {
+            this.heap = heap;
+        }
+
+        public synchronized int peek()
+        {
+            return heap.peek();
+        }
+
+        public synchronized int pop()
+        {
+            return heap.pop();
+        }
+
+        public synchronized void push(final int value)
+        {
+            heap.push(value);
+        }
+
+        public synchronized int size()
+        {
+            return heap.size();
+        }
+
+    }
+
+}
@@ -0,0 +1,137 @@
+package cz.filipklimes.edu.datastructure;
+
+import java.util.*;
+
+/**
+ * Distributions of the keys pushed by the benchmarks, selected by the "distribution" parameter.
+ * Each distribution provides the keys which fill a heap and the increments of the hold model,
+ * in which every popped key v is pushed back as v + increment. The increments are never negative,
+ * so the hold model is valid for monotone heaps as well, and they are small, so the keys
+ * do not overflow during a measurement iteration.
+ */
+public enum Distribution
+{
+
+    /**
+     * Uniformly random keys, uniformly random increments.
+     */
+    RANDOM {
+        @Override
+        int[] keys(final int size, final Random random)
+        {
+            int[] keys = new int[size];
+            for (int i = 0; i < size; i++) {
+                keys[i] = random.nextInt();
+            }
+            return keys;
+        }
+
+        @Override
+        int increment(final int size, final Random random)
+        {
+            return random.nextInt(1024);
+        }
+    },
+    /**
+     * Keys in ascending order, an increment pushes the key behind all others (FIFO).
+     */
+    SORTED {
+        @Override
+        int[] keys(final int size, final Random random)
+        {
+            int[] keys = new int[size];
+            for (int i = 0; i < size; i++) {
+                keys[i] = Integer.MIN_VALUE + i;
+            }
+            return keys;
+        }
+
+        @Override
+        int increment(final int size, final Random random)
+        {
+            return size;
+        }
+    },
+    /**
+     * Keys in descending order, an increment pushes the key in front of all others (LIFO).
+     */
+    REVERSE {
+        @Override
+        int[] keys(final int size, final Random random)
+        {
+            int[] keys = new int[size];
+            for (int i = 0; i < size; i++) {
+                keys[i] = Integer.MIN_VALUE + size - 1 - i;
+            }
+            return keys;
+        }
+
+        @Override
+        int increment(final int size, final Random random)
+        {
+            return 0;
+        }
+    },
+    /**
+     * Only 16 distinct keys, an increment mostly pushes a key equal to the minimum.
+     */
+    DUPLICATES {
+        @Override
+        int[] keys(final int size, final Random random)
+        {
+            int[] keys = new int[size];
+            for (int i = 0; i < size; i++) {
+                keys[i] = Integer.MIN_VALUE + random.nextInt(16);
+            }
+            return keys;
+        }
+
+        @Override
+        int increment(final int size, final Random random)
+        {
+            return random.nextInt(16) == 0 ? 1 : 0;
+        }
+    },
+    /**
+     * Non-decreasing keys with random gaps, exponentially distributed increments,
+     * as the event times of a discrete event simulation.
+     */
+    MONOTONE {
+        @Override
+        int[] keys(final int size, final Random random)
+        {
+            int[] keys = new int[size];
+            int key = Integer.MIN_VALUE;
+            for (int i = 0; i < size; i++) {
+                key += random.nextInt(32);
+                keys[i] = key;
+            }
+            return keys;
+        }
+
+        @Override
+        int increment(final int size, final Random random)
+        {
+            return (int) Math.min(1 << 16, -512 * Math.log(1 - random.nextDouble()));
+        }
+    };
+
+    /**
+     * Generates the keys which fill a heap, in the order they are pushed.
+     *
+     * @param size   Number of keys.
+     * @param random Source of randomness.
+     * @return The keys.
+     */
+    abstract int[] keys(int size, Random random);
+
+    /**
+     * Generates one increment of the hold model.
+     *
+     * @param size   Number of keys in the heap.
+     * @param random Source of randomness.
+     * @return The increment, not negative.
+     */
+    abstract int increment(int size, Random random);
+
+}
@@ -0,0 +1,59 @@
+package cz.filipklimes.edu.datastructure;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the latency of pushes into a growing BinaryMinHeap and SegmentedMinHeap.
+ * An invocation pushes a batch of 1024 values, so the clock does not dominate
+ * the measurement, and the sample mode reports the percentiles of the batches,
+ * where the array copies of BinaryMinHeap show up. The heaps start empty every iteration.
+ * Run with -prof gc to compare the memory churn of the growth.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 10, time = 200, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 20, time = 200, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(value = 2, jvmArgsAppend = {"-Xmx4g"})
+@State(Scope.Thread)
+public class GrowthBenchmark
+{
+
+    private static final int BATCH = 1024;
+
+    private static final int NUMBERS = 1 << 20;
+
+    @Param({"BINARY", "SEGMENTED"})
+    private Implementation implementation;
+
+    private int[] numbers;
+
+    private MinHeap heap;
+
+    private int next;
+
+    @Setup(Level.Trial)
+    public void generate()
+    {
+        numbers = Distribution.RANDOM.keys(NUMBERS, new Random(42));
+    }
+
+    @Setup(Level.Iteration)
+    public void create()
+    {
+        heap = implementation.create();
+        next = 0;
+    }
+
+    @Benchmark
+    public MinHeap pushBatch()
+    {
+        for (int i = 0; i < BATCH; i++) {
+            heap.push(numbers[next++ & (NUMBERS - 1)]);
+        }
+        return heap;
+    }
+
+}
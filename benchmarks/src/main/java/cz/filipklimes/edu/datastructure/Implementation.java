@@ -0,0 +1,151 @@
+package cz.filipklimes.edu.datastructure;
+
+import java.util.*;
+
+/**
+ * The MinHeap implementations compared by the benchmarks, selected by the "implementation" parameter.
+ * Every parameter combination runs in its own forked JVM, so only one implementation
+ * is ever loaded and the calls through the MinHeap interface stay monomorphic.
+ */
+public enum Implementation
+{
+
+    BINARY {
+        @Override
+        MinHeap create()
+        {
+            return new BinaryMinHeap();
+        }
+    },
+    DARY_4 {
+        @Override
+        MinHeap create()
+        {
+            return new DAryMinHeap(4);
+        }
+    },
+    DARY_8 {
+        @Override
+        MinHeap create()
+        {
+            return new DAryMinHeap(8);
+        }
+    },
+    DARY_16 {
+        @Override
+        MinHeap create()
+        {
+            return new DAryMinHeap(16);
+        }
+    },
+    SEGMENTED {
+        @Override
+        MinHeap create()
+        {
+            return new SegmentedMinHeap();
+        }
+    },
+    MIN_MAX {
+        @Override
+        MinHeap create()
+        {
+            return new MinMaxHeap();
+        }
+    },
+    PAIRING {
+        @Override
+        MinHeap create()
+        {
+            return new PairingHeap();
+        }
+    },
+    RADIX {
+        @Override
+        MinHeap create()
+        {
+            return new RadixMinHeap();
+        }
+    },
+    OFF_HEAP {
+        @Override
+        MinHeap create()
+        {
+            return new OffHeapMinHeap();
+        }
+    },
+    MULTI_QUEUE {
+        @Override
+        MinHeap create()
+        {
+            return new MultiQueue(2, 1, false);
+        }
+    },
+    /**
+     * BinaryMinHeap decorated by InstrumentedMinHeap if the JVM runs with
+     * -Dcz.filipklimes.edu.heap.metrics=true, to measure the cost of the metrics.
+     */
+    INSTRUMENTED {
+        @Override
+        MinHeap create()
+        {
+            return InstrumentedMinHeap.wrap(new BinaryMinHeap(), new HeapMetrics());
+        }
+    },
+    PRIORITY_QUEUE {
+        @Override
+        MinHeap create()
+        {
+            return new PriorityQueueMinHeap();
+        }
+    };
+
+    /**
+     * Creates an empty heap.
+     *
+     * @return The heap.
+     */
+    abstract MinHeap create();
+
+    /**
+     * Releases the memory of a heap which is no longer used, if it holds any outside the Java heap.
+     *
+     * @param heap The heap created by {@link #create()}.
+     */
+    static void release(final MinHeap heap)
+    {
+        if (heap instanceof OffHeapMinHeap) {
+            ((OffHeapMinHeap) heap).close();
+        }
+    }
+
+    /**
+     * java.util.PriorityQueue of boxed integers, the baseline the heaps are compared with.
+     */
+    private static final class PriorityQueueMinHeap implements MinHeap
+    {
+
+        private final Queue<Integer> queue = new PriorityQueue<>();
+
+        public int peek()
+        {
+            return queue.element();
+        }
+
+        public int pop()
+        {
+            return queue.remove();
+        }
+
+        public void push(final int value)
+        {
+            queue.add(value);
+        }
+
+        public int size()
+        {
+            return queue.size();
+        }
+
+    }
+
+}
@@ -0,0 +1,92 @@
+package cz.filipklimes.edu.datastructure;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Merges k sorted runs of random values with the loser tree of KWayMerger,
+ * sequentially and in parallel, with LongMinHeap of the run heads packed
+ * with their run index, and by sorting the concatenated runs.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(2)
+@State(Scope.Thread)
+public class KWayMergeBenchmark
+{
+
+    @Param({"16", "256", "1024"})
+    private int k;
+
+    @Param({"10000000"})
+    private int size;
+
+    private int[][] runs;
+
+    private int[] dst;
+
+    @Setup(Level.Trial)
+    public void generate()
+    {
+        Random random = new Random(42);
+        runs = new int[k][];
+        for (int i = 0; i < k; i++) {
+            runs[i] = Distribution.RANDOM.keys(size / k, random);
+            Arrays.sort(runs[i]);
+        }
+        dst = new int[size / k * k];
+    }
+
+    @Benchmark
+    public int[] loserTree()
+    {
+        new KWayMerger(runs).mergeTo(dst, 0);
+        return dst;
+    }
+
+    @Benchmark
+    public int[] parallelLoserTree()
+    {
+        return KWayMerger.parallelMerge(runs);
+    }
+
+    @Benchmark
+    public int[] binaryHeap()
+    {
+        LongMinHeap heap = new LongMinHeap(k);
+        int[] positions = new int[k];
+        for (int i = 0; i < k; i++) {
+            if (runs[i].length > 0) {
+                heap.push(runs[i][0], i);
+                positions[i] = 1;
+            }
+        }
+        int index = 0;
+        while (heap.size() > 0) {
+            long packed = heap.pop();
+            int run = LongMinHeap.payload(packed);
+            dst[index++] = LongMinHeap.priority(packed);
+            if (positions[run] < runs[run].length) {
+                heap.push(runs[run][positions[run]++], run);
+            }
+        }
+        return dst;
+    }
+
+    @Benchmark
+    public int[] sortConcatenated()
+    {
+        int index = 0;
+        for (int[] run : runs) {
+            System.arraycopy(run, 0, dst, index, run.length);
+            index += run.length;
+        }
+        Arrays.sort(dst);
+        return dst;
+    }
+
+}
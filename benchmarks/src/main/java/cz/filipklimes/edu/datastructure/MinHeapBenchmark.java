@@ -0,0 +1,104 @@
+package cz.filipklimes.edu.datastructure;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares all MinHeap implementations and java.util.PriorityQueue
+ * across heap sizes and key distributions.
+ * The fillAndDrain benchmark pushes all keys into an empty heap and pops them all,
+ * the hold benchmark pops a key v from a full heap and pushes v + increment,
+ * which keeps the heap size constant (the hold model).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class MinHeapBenchmark
+{
+
+    private static final int INCREMENTS = 1 << 16;
+
+    @Param({"BINARY", "DARY_4", "DARY_8", "DARY_16", "SEGMENTED", "MIN_MAX", "PAIRING", "RADIX", "OFF_HEAP", "MULTI_QUEUE", "INSTRUMENTED", "PRIORITY_QUEUE"})
+    private Implementation implementation;
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    @Param({"RANDOM", "SORTED", "REVERSE", "DUPLICATES", "MONOTONE"})
+    private Distribution distribution;
+
+    private int[] keys;
+
+    private int[] increments;
+
+    /**
+     * The full heap of the hold benchmark.
+     */
+    private MinHeap heap;
+
+    private int next;
+
+    @Setup(Level.Trial)
+    public void generate()
+    {
+        Random random = new Random(42);
+        keys = distribution.keys(size, random);
+        increments = new int[INCREMENTS];
+        for (int i = 0; i < INCREMENTS; i++) {
+            increments[i] = distribution.increment(size, random);
+        }
+    }
+
+    /**
+     * Refills the heap every iteration, so the keys of the hold model never overflow.
+     */
+    @Setup(Level.Iteration)
+    public void fill()
+    {
+        heap = implementation.create();
+        for (int key : keys) {
+            heap.push(key);
+        }
+        next = 0;
+    }
+
+    @TearDown(Level.Iteration)
+    public void release()
+    {
+        Implementation.release(heap);
+        heap = null;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public long fillAndDrain()
+    {
+        MinHeap heap = implementation.create();
+        try {
+            for (int key : keys) {
+                heap.push(key);
+            }
+            long checksum = 0;
+            for (int i = 0; i < keys.length; i++) {
+                checksum += heap.pop();
+            }
+            return checksum;
+        } finally {
+            Implementation.release(heap);
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public int hold()
+    {
+        int value = heap.pop();
+        heap.push(value + increments[next++ & (INCREMENTS - 1)]);
+        return value;
+    }
+
+}
@@ -0,0 +1,89 @@
+package cz.filipklimes.edu.datastructure;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares MinMaxHeap with the workaround it replaces: two IndexedMinHeaps kept in sync,
+ * one ordered by the values and one by the negated values, sharing the handles of the values.
+ * Every invocation pushes a random value into a full heap and then pops either
+ * the minimum or the maximum, so the size stays constant.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class MinMaxHeapBenchmark
+{
+
+    private static final int NUMBERS = 1 << 16;
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private int[] numbers;
+
+    private int next;
+
+    private MinMaxHeap minMaxHeap;
+
+    private IndexedMinHeap minHeap;
+
+    private IndexedMinHeap maxHeap;
+
+    /**
+     * Handles which are not in the indexed heaps.
+     */
+    private int[] freeHandles;
+
+    private int freeCount;
+
+    @Setup(Level.Trial)
+    public void fill()
+    {
+        numbers = Distribution.RANDOM.keys(NUMBERS, new Random(42));
+        int[] values = Distribution.RANDOM.keys(size, new Random(43));
+        minMaxHeap = new MinMaxHeap(values);
+
+        minHeap = new IndexedMinHeap(size + 1);
+        maxHeap = new IndexedMinHeap(size + 1);
+        for (int handle = 0; handle < size; handle++) {
+            minHeap.push(handle, values[handle]);
+            maxHeap.push(handle, ~values[handle]);
+        }
+        freeHandles = new int[]{size};
+        freeCount = 1;
+    }
+
+    @Benchmark
+    public int minMaxHeap()
+    {
+        int number = numbers[next++ & (NUMBERS - 1)];
+        minMaxHeap.push(number);
+        return (number & 1) == 0 ? minMaxHeap.popMin() : minMaxHeap.popMax();
+    }
+
+    @Benchmark
+    public int twoIndexedHeaps()
+    {
+        int number = numbers[next++ & (NUMBERS - 1)];
+        int handle = freeHandles[--freeCount];
+        minHeap.push(handle, number);
+        maxHeap.push(handle, ~number);
+        int popped;
+        if ((number & 1) == 0) {
+            popped = minHeap.pop();
+            maxHeap.remove(popped);
+        } else {
+            popped = maxHeap.pop();
+            minHeap.remove(popped);
+        }
+        freeHandles[freeCount++] = popped;
+        return popped;
+    }
+
+}
@@ -0,0 +1,118 @@
+package cz.filipklimes.edu.datastructure;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares queueing of objects by an int priority with ObjectMinHeap,
+ * with PriorityQueue of Comparable wrappers allocated per entry (as HornsAlgorithm does)
+ * and with PriorityQueue ordered by a Comparator.
+ * Every benchmark pushes all objects and then pops them all.
+ * Run with -prof gc to see the allocation of the wrappers.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(2)
+@State(Scope.Thread)
+public class ObjectMinHeapBenchmark
+{
+
+    @Param({"100000", "1000000"})
+    private int size;
+
+    private Job[] jobs;
+
+    @Setup(Level.Trial)
+    public void generate()
+    {
+        int[] priorities = Distribution.RANDOM.keys(size, new Random(42));
+        jobs = new Job[size];
+        for (int id = 0; id < size; id++) {
+            jobs[id] = new Job(id, priorities[id]);
+        }
+    }
+
+    @Benchmark
+    public long objectMinHeap()
+    {
+        ObjectMinHeap<Job> heap = ObjectMinHeap.byInt(job -> job.priority);
+        for (Job job : jobs) {
+            heap.push(job);
+        }
+        long checksum = 0;
+        while (heap.size() > 0) {
+            checksum += heap.pop().id;
+        }
+        return checksum;
+    }
+
+    @Benchmark
+    public long wrapperPriorityQueue()
+    {
+        Queue<JobProperty> queue = new PriorityQueue<>();
+        for (Job job : jobs) {
+            queue.add(new JobProperty(job, job.priority));
+        }
+        long checksum = 0;
+        while (!queue.isEmpty()) {
+            checksum += queue.poll().job.id;
+        }
+        return checksum;
+    }
+
+    @Benchmark
+    public long comparatorPriorityQueue()
+    {
+        Queue<Job> queue = new PriorityQueue<>(Comparator.comparingInt(job -> job.priority));
+        for (Job job : jobs) {
+            queue.add(job);
+        }
+        long checksum = 0;
+        while (!queue.isEmpty()) {
+            checksum += queue.poll().id;
+        }
+        return checksum;
+    }
+
+    private static final class Job
+    {
+
+        private final int id;
+        private final int priority;
+
+        private Job(final int id, final int priority)
+        {
+            this.id = id;
+            this.priority = priority;
+        }
+
+    }
+
+    /**
+     * Comparable wrapper of a job, as HornsAlgorithm.TaskProperty.
+     */
+    private static final class JobProperty implements Comparable<JobProperty>
+    {
+
+        private final Job job;
+        private final int property;
+
+        private JobProperty(final Job job, final int property)
+        {
+            this.job = job;
+            this.property = property;
+        }
+
+        @Override
+        public int compareTo(final JobProperty o)
+        {
+            return Integer.compare(property, o.property);
+        }
+
+    }
+
+}
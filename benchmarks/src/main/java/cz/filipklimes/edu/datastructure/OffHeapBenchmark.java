@@ -0,0 +1,60 @@
+package cz.filipklimes.edu.datastructure;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fills OffHeapMinHeap with billions of random values and then pops a sample of them.
+ * Popping all of them would take hours, the per-operation time of the sample
+ * is representative because the heap stays almost full.
+ * The values are generated on the fly, they would not fit into a Java array.
+ * The largest heap takes 16 GB of direct buffers, which must fit under -XX:MaxDirectMemorySize.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-XX:MaxDirectMemorySize=20g"})
+@State(Scope.Thread)
+public class OffHeapBenchmark
+{
+
+    private static final int SAMPLE_POPS = 10_000_000;
+
+    @Param({"1000000000", "2000000000", "4000000000"})
+    private long size;
+
+    private OffHeapMinHeap heap;
+
+    @Setup(Level.Iteration)
+    public void fill()
+    {
+        heap = new OffHeapMinHeap();
+        long seed = 42;
+        for (long i = 0; i < size; i++) {
+            seed ^= seed << 13;
+            seed ^= seed >>> 7;
+            seed ^= seed << 17;
+            heap.push((int) seed);
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void release()
+    {
+        heap.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLE_POPS)
+    public long pop()
+    {
+        long checksum = 0;
+        for (int i = 0; i < SAMPLE_POPS; i++) {
+            checksum += heap.pop();
+        }
+        return checksum;
+    }
+
+}
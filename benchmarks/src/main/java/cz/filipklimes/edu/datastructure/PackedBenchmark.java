@@ -0,0 +1,116 @@
+package cz.filipklimes.edu.datastructure;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares queueing of (priority, id) pairs packed into LongMinHeap with
+ * PriorityQueue of small Comparable objects, such as the ones used by HornsAlgorithm,
+ * and DoubleMinHeap with PriorityQueue of boxed doubles.
+ * Every benchmark pushes all values and then pops them all.
+ * Run with -prof gc to see the allocation rate of the boxed variants.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(2)
+@State(Scope.Thread)
+public class PackedBenchmark
+{
+
+    @Param({"1000000", "10000000"})
+    private int size;
+
+    private int[] priorities;
+
+    @Setup(Level.Trial)
+    public void generate()
+    {
+        priorities = Distribution.RANDOM.keys(size, new Random(42));
+    }
+
+    @Benchmark
+    public long packedLongMinHeap()
+    {
+        LongMinHeap heap = new LongMinHeap();
+        for (int id = 0; id < size; id++) {
+            heap.push(priorities[id], id);
+        }
+        long checksum = 0;
+        while (heap.size() > 0) {
+            long packed = heap.pop();
+            checksum += LongMinHeap.priority(packed) ^ LongMinHeap.payload(packed);
+        }
+        return checksum;
+    }
+
+    @Benchmark
+    public long objectPriorityQueue()
+    {
+        Queue<TaskProperty> queue = new PriorityQueue<>();
+        for (int id = 0; id < size; id++) {
+            queue.add(new TaskProperty(id, priorities[id]));
+        }
+        long checksum = 0;
+        while (!queue.isEmpty()) {
+            TaskProperty property = queue.poll();
+            checksum += property.property ^ property.id;
+        }
+        return checksum;
+    }
+
+    @Benchmark
+    public long doubleMinHeap()
+    {
+        DoubleMinHeap heap = new DoubleMinHeap();
+        for (int priority : priorities) {
+            heap.push(priority * 0.5);
+        }
+        long checksum = 0;
+        while (heap.size() > 0) {
+            checksum += (long) heap.pop();
+        }
+        return checksum;
+    }
+
+    @Benchmark
+    public long boxedPriorityQueue()
+    {
+        Queue<Double> queue = new PriorityQueue<>();
+        for (int priority : priorities) {
+            queue.add(priority * 0.5);
+        }
+        long checksum = 0;
+        while (!queue.isEmpty()) {
+            checksum += (long) (double) queue.poll();
+        }
+        return checksum;
+    }
+
+    /**
+     * The same (id, priority) pair HornsAlgorithm queues in PriorityQueue.
+     */
+    private static final class TaskProperty implements Comparable<TaskProperty>
+    {
+
+        private final int id;
+        private final int property;
+
+        private TaskProperty(final int id, final int property)
+        {
+            this.id = id;
+            this.property = property;
+        }
+
+        @Override
+        public int compareTo(final TaskProperty o)
+        {
+            return Integer.compare(property, o.property);
+        }
+
+    }
+
+}
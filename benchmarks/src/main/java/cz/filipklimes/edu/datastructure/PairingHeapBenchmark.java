@@ -0,0 +1,98 @@
+package cz.filipklimes.edu.datastructure;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares a merge-heavy workload on PairingHeap and BinaryMinHeap: every shard fills
+ * its own heap, the heaps are merged pairwise in log(shards) rounds, as the sharded
+ * workers do, and the smallest values of the merged heap are popped.
+ * PairingHeap melds heaps sharing a pool in O(1) time, BinaryMinHeap.merge copies
+ * the other heap and heapifies the copied part, which takes linear time in its size.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class PairingHeapBenchmark
+{
+
+    @Param({"16", "256"})
+    private int shards;
+
+    @Param({"64", "4096"})
+    private int shardSize;
+
+    /**
+     * Number of values popped from the merged heap.
+     */
+    @Param({"100"})
+    private int pops;
+
+    private int[][] values;
+
+    private PairingHeap.NodePool pool;
+
+    @Setup(Level.Trial)
+    public void generate()
+    {
+        Random random = new Random(42);
+        values = new int[shards][];
+        for (int i = 0; i < shards; i++) {
+            values[i] = Distribution.RANDOM.keys(shardSize, random);
+        }
+        pool = new PairingHeap.NodePool(shards * shardSize);
+    }
+
+    @Benchmark
+    public int pairingHeap()
+    {
+        PairingHeap[] heaps = new PairingHeap[shards];
+        for (int i = 0; i < shards; i++) {
+            PairingHeap heap = new PairingHeap(pool);
+            for (int value : values[i]) {
+                heap.push(value);
+            }
+            heaps[i] = heap;
+        }
+        for (int step = 1; step < shards; step <<= 1) {
+            for (int i = 0; i + step < shards; i += step << 1) {
+                heaps[i].meld(heaps[i + step]);
+            }
+        }
+        int sum = 0;
+        for (int i = 0; i < pops; i++) {
+            sum += heaps[0].pop();
+        }
+        heaps[0].clear(); // Return the nodes to the pool for the next invocation
+        return sum;
+    }
+
+    @Benchmark
+    public int binaryMinHeap()
+    {
+        BinaryMinHeap[] heaps = new BinaryMinHeap[shards];
+        for (int i = 0; i < shards; i++) {
+            BinaryMinHeap heap = new BinaryMinHeap(shardSize);
+            for (int value : values[i]) {
+                heap.push(value);
+            }
+            heaps[i] = heap;
+        }
+        for (int step = 1; step < shards; step <<= 1) {
+            for (int i = 0; i + step < shards; i += step << 1) {
+                heaps[i].merge(heaps[i + step]);
+            }
+        }
+        int sum = 0;
+        for (int i = 0; i < pops; i++) {
+            sum += heaps[0].pop();
+        }
+        return sum;
+    }
+
+}
@@ -0,0 +1,129 @@
+package cz.filipklimes.edu.datastructure;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the rank error of MultiQueue in the relaxed mode, the quality that it trades
+ * for its throughput, see {@link ConcurrentBenchmark}. The values 0..n-1 are pushed in a random
+ * order and popped one by one, and for each popped value it is counted how many smaller values
+ * were still present in the queue, which is 0 for an exact priority queue. The queue is created
+ * for the given number of threads, i.e. with twice as many heaps, but accessed by one thread,
+ * so the error comes from the choice of the heaps alone. The queue is refilled when it runs empty.
+ * The counters meanRank and maxRank report the error, the primary score, the time of a pop
+ * including the amortized refills, is incidental. JMH sums the counters over the iterations
+ * and forks, so there is a single measurement iteration in a single fork, do not pass -i or -f.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 1, time = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class RankErrorBenchmark
+{
+
+    @Param({"1", "2", "4", "8", "16"})
+    private int threads;
+
+    @Param({"1000000"})
+    private int size;
+
+    private int[] numbers;
+
+    private MultiQueue queue;
+
+    /**
+     * Fenwick tree counting the popped values.
+     */
+    private int[] popped;
+
+    @Setup(Level.Trial)
+    public void generate()
+    {
+        numbers = new int[size];
+        for (int i = 0; i < size; i++) {
+            numbers[i] = i;
+        }
+        Random random = new Random(42);
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int temp = numbers[i];
+            numbers[i] = numbers[j];
+            numbers[j] = temp;
+        }
+        popped = new int[size + 1];
+        fill();
+    }
+
+    @Benchmark
+    public int pop(final RankError error)
+    {
+        if (queue.size() == 0) {
+            fill();
+        }
+        int value = queue.pop();
+        int poppedSmaller = 0;
+        for (int j = value; j > 0; j -= j & -j) {
+            poppedSmaller += popped[j];
+        }
+        for (int j = value + 1; j <= size; j += j & -j) {
+            ++popped[j];
+        }
+        error.record(value - poppedSmaller);
+        return value;
+    }
+
+    private void fill()
+    {
+        queue = new MultiQueue(2, threads, false);
+        for (int number : numbers) {
+            queue.push(number);
+        }
+        Arrays.fill(popped, 0);
+    }
+
+    /**
+     * Rank error of the pops of one iteration, reset before every iteration.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class RankError
+    {
+
+        private long pops;
+
+        private long rankSum;
+
+        private long max;
+
+        @Setup(Level.Iteration)
+        public void reset()
+        {
+            pops = 0;
+            rankSum = 0;
+            max = 0;
+        }
+
+        public double meanRank()
+        {
+            return pops == 0 ? 0 : (double) rankSum / pops;
+        }
+
+        public long maxRank()
+        {
+            return max;
+        }
+
+        private void record(final long rank)
+        {
+            ++pops;
+            rankSum += rank;
+            max = Math.max(max, rank);
+        }
+
+    }
+
+}
@@ -0,0 +1,74 @@
+package cz.filipklimes.edu.datastructure;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the K largest values of a stream with BinaryMinHeap (peek and pop by hand)
+ * and with TopK offered one value at a time, in bulk and in parallel.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(2)
+@State(Scope.Benchmark)
+public class TopKBenchmark
+{
+
+    @Param({"100000000"})
+    private int size;
+
+    @Param({"100", "10000", "1000000"})
+    private int k;
+
+    private int[] numbers;
+
+    @Setup(Level.Trial)
+    public void generate()
+    {
+        numbers = Distribution.RANDOM.keys(size, new Random(42));
+    }
+
+    @Benchmark
+    public int binaryMinHeap()
+    {
+        BinaryMinHeap heap = new BinaryMinHeap(k);
+        for (int number : numbers) {
+            if (heap.size() < k) {
+                heap.push(number);
+            } else if (number > heap.peek()) {
+                heap.pop();
+                heap.push(number);
+            }
+        }
+        return heap.peek();
+    }
+
+    @Benchmark
+    public int offer()
+    {
+        TopK topK = TopK.largest(k);
+        for (int number : numbers) {
+            topK.offer(number);
+        }
+        return topK.threshold();
+    }
+
+    @Benchmark
+    public int offerAll()
+    {
+        TopK topK = TopK.largest(k);
+        topK.offerAll(numbers);
+        return topK.threshold();
+    }
+
+    @Benchmark
+    public int parallelLargest()
+    {
+        return TopK.parallelLargest(numbers, k).threshold();
+    }
+
+}
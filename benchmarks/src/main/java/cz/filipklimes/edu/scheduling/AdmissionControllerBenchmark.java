@@ -0,0 +1,64 @@
+package cz.filipklimes.edu.scheduling;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of AdmissionController on a stream of tasks arriving one per time unit
+ * with processing times from 1 to 10 and deadlines up to the given window after the arrival,
+ * so the stream overloads the machine more than five times, most tasks are rejected
+ * and the number of admitted unfinished tasks stays proportional to the window. One operation admits or rejects one task.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class AdmissionControllerBenchmark
+{
+
+    private static final int STREAM = 1 << 20;
+
+    @Param({"100", "10000", "1000000"})
+    private int window;
+
+    private Task[] tasks;
+
+    private AdmissionController controller;
+
+    private int next;
+
+    @Setup(Level.Trial)
+    public void generate()
+    {
+        Random random = new Random(42);
+        tasks = new Task[STREAM];
+        for (int i = 0; i < STREAM; i++) {
+            int processingTime = 1 + random.nextInt(10);
+            int deadline = i + processingTime + random.nextInt(window);
+            tasks[i] = new Task(processingTime, i, deadline, deadline);
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void reset()
+    {
+        controller = new AdmissionController();
+        next = 0;
+    }
+
+    @Benchmark
+    public boolean admit()
+    {
+        if (next == STREAM) {
+            reset();
+        }
+        Task task = tasks[next];
+        controller.advanceTo(next++);
+        return controller.admitIfFeasible(task);
+    }
+
+}
@@ -0,0 +1,81 @@
+package cz.filipklimes.edu.scheduling;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of scheduling a batch of 1000 independent instances of 100 to 1000 tasks
+ * by BatchScheduler with the given number of threads, compared with calling
+ * HornsAlgorithm.schedule for one instance after another. The throughput should grow
+ * linearly with the parallelism up to the number of cores of the machine,
+ * the one-by-one baseline runs in the benchmark thread and ignores the parallelism.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class BatchSchedulerBenchmark
+{
+
+    private static final int INSTANCES = 1000;
+
+    @Param({"1", "2", "4", "8"})
+    private int parallelism;
+
+    private List<SchedulingInstance> instances;
+
+    private ForkJoinPool pool;
+
+    private BatchScheduler scheduler;
+
+    @Setup(Level.Trial)
+    public void generate()
+    {
+        Random random = new Random(42);
+        instances = new ArrayList<>();
+        for (int i = 0; i < INSTANCES; i++) {
+            int n = 100 + random.nextInt(901);
+            int[] releaseTimes = new int[n];
+            int[] processingTimes = new int[n];
+            int[] dueDates = new int[n];
+            for (int j = 0; j < n; j++) {
+                releaseTimes[j] = random.nextInt(n * 5);
+                processingTimes[j] = 1 + random.nextInt(10);
+                dueDates[j] = releaseTimes[j] + processingTimes[j] + random.nextInt(100);
+            }
+            instances.add(new SchedulingInstance(releaseTimes, processingTimes, dueDates));
+        }
+        pool = new ForkJoinPool(parallelism);
+        scheduler = new BatchScheduler(pool);
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdown()
+    {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(INSTANCES)
+    public List<CompactSchedule> batch()
+    {
+        return scheduler.scheduleAll(instances);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(INSTANCES)
+    public int oneByOne()
+    {
+        int lateness = 0;
+        for (SchedulingInstance instance : instances) {
+            lateness += HornsAlgorithm.schedule(instance.getNumberOfTasks(), instance.getReleaseTimes(), instance.getProcessingTimes(), instance.getDueDates()).getLateness();
+        }
+        return lateness;
+    }
+
+}
@@ -0,0 +1,78 @@
+package cz.filipklimes.edu.scheduling;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to the optimum of BratleysAlgorithm on generated instances of 20 to 60 tasks
+ * as the number of threads grows. Every invocation solves the same 10 instances,
+ * the tasks are released over a horizon of 5 time units per task with processing times
+ * from 1 to 10 and due dates up to 100 time units after the earliest completion.
+ * The problem is NP-hard, some generated instances take thousands of nodes to prove
+ * the optimum, so the search has enough work to be split across the threads,
+ * but a few other seeds or sizes yield instances which are not solved in minutes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BratleysAlgorithmBenchmark
+{
+
+    private static final int INSTANCES = 10;
+
+    @Param({"20", "40", "60"})
+    private int tasks;
+
+    @Param({"1", "2", "4", "8"})
+    private int threads;
+
+    private List<SchedulingInstance> instances;
+
+    private ForkJoinPool pool;
+
+    private BratleysAlgorithm solver;
+
+    @Setup(Level.Trial)
+    public void generate()
+    {
+        Random random = new Random(42);
+        instances = new ArrayList<>();
+        for (int i = 0; i < INSTANCES; i++) {
+            int[] releaseTimes = new int[tasks];
+            int[] processingTimes = new int[tasks];
+            int[] dueDates = new int[tasks];
+            for (int j = 0; j < tasks; j++) {
+                releaseTimes[j] = random.nextInt(tasks * 5);
+                processingTimes[j] = 1 + random.nextInt(10);
+                dueDates[j] = releaseTimes[j] + processingTimes[j] + random.nextInt(100);
+            }
+            instances.add(new SchedulingInstance(releaseTimes, processingTimes, dueDates));
+        }
+        pool = new ForkJoinPool(threads);
+        solver = new BratleysAlgorithm(pool);
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdown()
+    {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(INSTANCES)
+    public long solve()
+    {
+        long sum = 0;
+        for (SchedulingInstance instance : instances) {
+            sum += solver.solve(instance).getMaxLateness();
+        }
+        return sum;
+    }
+
+}
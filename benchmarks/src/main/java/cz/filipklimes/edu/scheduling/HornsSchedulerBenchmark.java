@@ -0,0 +1,66 @@
+package cz.filipklimes.edu.scheduling;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scaling of HornsScheduler from 1K to 10M tasks. The tasks are released over a horizon
+ * of 5 time units per task with processing times from 1 to 10, so the machine is busy
+ * and the tasks are often preempted.
+ * The listener benchmark passes the intervals to a listener and allocates nothing,
+ * the schedule benchmark also builds the intervals of every task, as HornsAlgorithm.schedule does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Thread)
+public class HornsSchedulerBenchmark
+{
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    private int tasks;
+
+    private int[] releaseTimes;
+
+    private int[] processingTimes;
+
+    private int[] dueDates;
+
+    private HornsScheduler scheduler;
+
+    private long intervals;
+
+    @Setup(Level.Trial)
+    public void generate()
+    {
+        Random random = new Random(42);
+        releaseTimes = new int[tasks];
+        processingTimes = new int[tasks];
+        dueDates = new int[tasks];
+        for (int i = 0; i < tasks; i++) {
+            releaseTimes[i] = random.nextInt(tasks * 5);
+            processingTimes[i] = 1 + random.nextInt(10);
+            dueDates[i] = releaseTimes[i] + processingTimes[i] + random.nextInt(100);
+        }
+        scheduler = new HornsScheduler(tasks);
+    }
+
+    @Benchmark
+    public long listener()
+    {
+        intervals = 0;
+        long lateness = scheduler.schedule(tasks, releaseTimes, processingTimes, dueDates, (task, start, end) -> ++intervals);
+        return lateness + intervals;
+    }
+
+    @Benchmark
+    public HornsAlgorithm.Schedule schedule()
+    {
+        return scheduler.schedule(tasks, releaseTimes, processingTimes, dueDates);
+    }
+
+}
@@ -0,0 +1,95 @@
+package cz.filipklimes.edu.scheduling.io;
+
+import cz.filipklimes.edu.scheduling.HornsScheduler;
+import cz.filipklimes.edu.scheduling.SchedulingInstance;
+import cz.filipklimes.edu.scheduling.Task;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading of instances from 1M to 10M tasks: the CSV import from memory, so the parsing
+ * is measured and not the disk, the binary instance file mapped and copied into arrays,
+ * and the mapped file scheduled straight from its columns. The binary file is in the page
+ * cache after the first iteration, so it measures the memory bandwidth.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Thread)
+public class InstanceIoBenchmark
+{
+
+    @Param({"1000000", "10000000"})
+    private int tasks;
+
+    private byte[] csv;
+
+    private Path directory;
+
+    private Path file;
+
+    private HornsScheduler scheduler;
+
+    private long intervals;
+
+    @Setup(Level.Trial)
+    public void generate() throws IOException
+    {
+        Random random = new Random(42);
+        int[] releaseTimes = new int[tasks];
+        int[] processingTimes = new int[tasks];
+        int[] dueDates = new int[tasks];
+        int[] deadlines = new int[tasks];
+        StringBuilder builder = new StringBuilder("release,processing,due,deadline\n");
+        for (int i = 0; i < tasks; i++) {
+            releaseTimes[i] = random.nextInt(tasks * 5);
+            processingTimes[i] = 1 + random.nextInt(10);
+            dueDates[i] = releaseTimes[i] + processingTimes[i] + random.nextInt(100);
+            deadlines[i] = Task.NO_DEADLINE;
+            builder.append(releaseTimes[i]).append(',').append(processingTimes[i]).append(',')
+                .append(dueDates[i]).append(',').append(deadlines[i]).append('\n');
+        }
+        csv = builder.toString().getBytes(StandardCharsets.US_ASCII);
+        directory = Files.createTempDirectory("instances");
+        file = directory.resolve("instance.bin");
+        InstanceFile.write(file, new SchedulingInstance(releaseTimes, processingTimes, dueDates, deadlines));
+        scheduler = new HornsScheduler(tasks);
+    }
+
+    @TearDown(Level.Trial)
+    public void delete() throws IOException
+    {
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public SchedulingInstance importCsv() throws IOException
+    {
+        return CsvInstanceReader.read(new ByteArrayInputStream(csv), "benchmark.csv");
+    }
+
+    @Benchmark
+    public SchedulingInstance readBinary() throws IOException
+    {
+        return InstanceFile.read(file);
+    }
+
+    @Benchmark
+    public long scheduleMapped() throws IOException
+    {
+        intervals = 0;
+        long lateness = InstanceFile.map(file).schedule(scheduler, (task, start, end) -> ++intervals);
+        return lateness + intervals;
+    }
+
+}
@@ -3,7 +3,11 @@ package cz.filipklimes.edu.datastructure;
 import cz.filipklimes.edu.datastructure.exception.EmptyHeapException;
 import cz.filipklimes.edu.datastructure.exception.InvalidInitialCapacityException;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
 
 /**
  * Implementation of MinHeap (a priority queue) as a binary heap.
@@ -11,11 +15,16 @@ import java.util.*;
  * The array will always be at least as big as the number of elements in the
  * heap. However, each time the inserted element should overflow the array,
  * the array will be resized to 2-times it's current size.
+ * Optionally, the array is halved when the heap is drained below a quarter of it.
+ * For heaps of 100M+ elements, where the copies cause latency spikes,
+ * see {@link SegmentedMinHeap}.
  * WARNING: This data structure is not thread-safe.
  */
 public class BinaryMinHeap implements MinHeap
 {
 
+    private static final int[] EMPTY = new int[0];
+
     private int[] array;
 
     /**
@@ -23,20 +32,46 @@ public class BinaryMinHeap implements MinHeap
      */
     private int tail;
 
+    /**
+     * The array is never shrunk below this capacity.
+     */
+    private final int minimumCapacity;
+
+    private final boolean shrinkOnDrain;
+
+    /**
+     * Where the sifts and resizes are recorded, set by {@link InstrumentedMinHeap}.
+     */
+    private HeapMetrics metrics;
+
     /**
      * Construct the binary heap with given initial capacity.
      * Everytime the underlying array is not sufficient to store
      * the elements, it is grown by the factor of 2.
      *
      * @param initialCapacity Initial capacity of the underlying array.
+     * @param shrinkOnDrain   True to halve the array whenever less than a quarter of it is used,
+     *                        but never below the initial capacity.
      */
-    public BinaryMinHeap(final int initialCapacity)
+    public BinaryMinHeap(final int initialCapacity, final boolean shrinkOnDrain)
     {
         if (initialCapacity < 1) {
             throw new InvalidInitialCapacityException();
         }
         this.array = new int[initialCapacity];
         this.tail = -1;
+        this.minimumCapacity = initialCapacity;
+        this.shrinkOnDrain = shrinkOnDrain;
+    }
+
+    /**
+     * Construct the binary heap with given initial capacity, which never shrinks.
+     *
+     * @param initialCapacity Initial capacity of the underlying array.
+     */
+    public BinaryMinHeap(final int initialCapacity)
+    {
+        this(initialCapacity, false);
     }
 
     public BinaryMinHeap()
@@ -44,6 +79,23 @@ public class BinaryMinHeap implements MinHeap
         this(128);
     }
 
+    /**
+     * Construct the binary heap from the given values in linear time.
+     * The values are copied into the underlying array and the heap property
+     * is restored with a single bottom-up (Floyd's) heapify, which is cheaper
+     * than pushing the values one by one.
+     *
+     * @param values Values to be stored in the heap. The array is not modified.
+     */
+    public BinaryMinHeap(final int[] values)
+    {
+        this.array = Arrays.copyOf(values, Math.max(values.length, 1));
+        this.tail = values.length - 1;
+        this.minimumCapacity = 1;
+        this.shrinkOnDrain = false;
+        heapify(0);
+    }
+
     /**
      * @inheritDoc
      */
@@ -68,6 +120,9 @@ public class BinaryMinHeap implements MinHeap
         array[0] = array[tail];
         --tail;
         bubbleDown(0);
+        if (shrinkOnDrain) {
+            shrinkIfDrained();
+        }
 
         return min;
     }
@@ -79,61 +134,350 @@ public class BinaryMinHeap implements MinHeap
     {
         ++tail;
         if (tail >= array.length) {
-            // Resize the array by factor of 2
-            int newSize = array.length << 1;
-            if (newSize < 0) {
-                throw new OutOfMemoryError();
-            }
-            array = Arrays.copyOf(array, newSize);
+            ensureCapacity(tail + 1);
         }
 
         array[tail] = value;
         bubbleUp(tail);
     }
 
+    /**
+     * Inserts all values from the given range of the array to the heap.
+     * The values are appended in bulk and the heap property is restored
+     * bottom-up only for the ancestors of the appended values, which takes
+     * linear time in the number of inserted values.
+     *
+     * @param values Source array. The array is not modified.
+     * @param off    Index of the first value to insert.
+     * @param len    Number of values to insert.
+     */
+    public void pushAll(final int[] values, final int off, final int len)
+    {
+        if (off < 0 || len < 0 || off > values.length - len) {
+            throw new ArrayIndexOutOfBoundsException(String.format("Range [%d, %d) out of bounds for length %d", off, off + len, values.length));
+        }
+        if (len == 0) {
+            return;
+        }
+        int first = size();
+        ensureCapacity(first + len);
+        System.arraycopy(values, off, array, first, len);
+        tail += len;
+        heapify(first);
+    }
+
+    /**
+     * Inserts all values from the given array to the heap.
+     *
+     * @param values Source array. The array is not modified.
+     * @see #pushAll(int[], int, int)
+     */
+    public void pushAll(final int[] values)
+    {
+        pushAll(values, 0, values.length);
+    }
+
     /**
      * Merges elements of the other heap into this heap.
+     * The elements are appended in bulk and the heap is restored in a single
+     * bottom-up pass, so the merge takes linear time. The other heap is not modified.
      *
-     * @param other
+     * @param other The heap whose elements will be added to this heap.
      */
     public void merge(final BinaryMinHeap other)
     {
-        int requiredSize = size() + other.size();
-        int newSize = array.length;
-        while (requiredSize > newSize) {
+        pushAll(other.array, 0, other.size());
+    }
+
+    /**
+     * @inheritDoc
+     */
+    public int size()
+    {
+        return tail + 1;
+    }
+
+    /**
+     * Pops up to k values from the heap in ascending order.
+     * The emptiness of the heap is checked only once for the whole batch
+     * and the values are removed by the cheaper bottom-up sift.
+     *
+     * @inheritDoc
+     */
+    @Override
+    public int popN(final int k, final int[] dst, final int off)
+    {
+        if (k < 0) {
+            throw new IllegalArgumentException(String.format("Cannot pop %d values.", k));
+        }
+        int count = Math.min(k, size());
+        if (off < 0 || off > dst.length - count) {
+            throw new ArrayIndexOutOfBoundsException(String.format("Range [%d, %d) out of bounds for length %d", off, off + count, dst.length));
+        }
+        for (int i = off; i < off + count; i++) {
+            dst[i] = array[0];
+            removeRoot();
+        }
+        if (shrinkOnDrain) {
+            shrinkIfDrained();
+        }
+        return count;
+    }
+
+    /**
+     * Returns number of elements the heap can hold without resizing.
+     *
+     * @return Length of the underlying array.
+     */
+    public int capacity()
+    {
+        return array.length;
+    }
+
+    /**
+     * Shrinks the underlying array to the number of elements (but at least one),
+     * e.g. after a large drain.
+     */
+    public void trimToSize()
+    {
+        int newSize = Math.max(size(), 1);
+        if (newSize != array.length) {
+            resize(newSize);
+        }
+    }
+
+    /**
+     * Sorts the elements in ascending order by an in-place heapsort and hands the underlying
+     * array over to the caller, so draining the whole heap allocates nothing.
+     * The heap is left empty and allocates a new array when a value is pushed again.
+     *
+     * @return The former underlying array, whose first {@link #size()} (before the call)
+     * elements are sorted in ascending order. The rest of the array is undefined.
+     */
+    public int[] drainSorted()
+    {
+        int[] sorted = array;
+        int count = size();
+        // Each popped minimum goes to the slot freed at the end of the shrinking heap
+        while (tail > 0) {
+            int min = array[0];
+            removeRoot();
+            array[tail + 1] = min;
+        }
+        tail = -1;
+        // The array is sorted in descending order now
+        for (int i = 0, j = count - 1; i < j; i++, j--) {
+            int temp = sorted[i];
+            sorted[i] = sorted[j];
+            sorted[j] = temp;
+        }
+        array = EMPTY;
+        return sorted;
+    }
+
+    /**
+     * Writes the elements of the heap to the file, which can be restored by {@link #restore(Path)}.
+     * The underlying array is written as it is through a memory-mapped file, with a header
+     * holding the number of elements and a checksum.
+     *
+     * @param file The snapshot file, replaced if it exists.
+     * @throws IOException If the file cannot be written.
+     */
+    public void snapshot(final Path file) throws IOException
+    {
+        HeapSnapshot.write(file, 2, size(), 0, array);
+    }
+
+    /**
+     * Restores the heap written by {@link #snapshot(Path)}. The elements are copied
+     * from the memory-mapped file into the underlying array without heapifying,
+     * so the restore takes as long as reading the file.
+     *
+     * @param file The snapshot file.
+     * @return The restored heap, whose capacity is the number of elements (but at least one).
+     * @throws IOException                                                       If the file cannot be read.
+     * @throws cz.filipklimes.edu.datastructure.exception.InvalidSnapshotException If the file is not a valid snapshot of a binary heap.
+     */
+    public static BinaryMinHeap restore(final Path file) throws IOException
+    {
+        int size = (int) HeapSnapshot.size(file, 2, Integer.MAX_VALUE - 8);
+        BinaryMinHeap heap = new BinaryMinHeap(Math.max(size, 1));
+        HeapSnapshot.read(file, size, 0, heap.array);
+        heap.tail = size - 1;
+        return heap;
+    }
+
+    /**
+     * Returns an iterator which pops the values from the heap in ascending order.
+     * The heap must not be modified otherwise while the iterator is in use.
+     *
+     * @return The consuming iterator.
+     */
+    public PrimitiveIterator.OfInt drainingIterator()
+    {
+        return new PrimitiveIterator.OfInt()
+        {
+            @Override
+            public boolean hasNext()
+            {
+                return tail >= 0;
+            }
+
+            @Override
+            public int nextInt()
+            {
+                if (tail < 0) {
+                    throw new NoSuchElementException();
+                }
+                return pop();
+            }
+        };
+    }
+
+    /**
+     * Returns a sequential stream which pops the values from the heap in ascending order
+     * as it is consumed.
+     *
+     * @return The consuming stream.
+     */
+    public IntStream drainingStream()
+    {
+        Spliterator.OfInt spliterator = Spliterators.spliterator(
+            drainingIterator(),
+            size(),
+            Spliterator.ORDERED | Spliterator.SORTED | Spliterator.NONNULL
+        );
+        return StreamSupport.intStream(spliterator, false);
+    }
+
+    void setMetrics(final HeapMetrics metrics)
+    {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Grows the underlying array by the factor of 2 until it can hold the required number of elements.
+     *
+     * @param requiredCapacity Number of elements the array must be able to hold.
+     */
+    private void ensureCapacity(final int requiredCapacity)
+    {
+        if (requiredCapacity < 0) {
+            throw new OutOfMemoryError();
+        }
+        int newSize = Math.max(array.length, 1);
+        while (requiredCapacity > newSize) {
             newSize = newSize << 1;
             if (newSize < 0) {
                 throw new OutOfMemoryError();
             }
         }
+        if (newSize != array.length) {
+            resize(newSize);
+        }
+    }
+
+    private void resize(final int newSize)
+    {
+        if (HeapMetrics.ENABLED && metrics != null) {
+            metrics.recordResize(this, (long) array.length << 2, (long) newSize << 2);
+        }
         array = Arrays.copyOf(array, newSize);
+    }
 
-        for (int i = 0; i <= other.tail; i++) {
-            push(other.array[i]);
+    /**
+     * Halves the underlying array until at least a quarter of it is used.
+     * Shrinking at a quarter rather than at a half keeps the amortized cost constant
+     * even when pushes and pops alternate around the boundary.
+     */
+    private void shrinkIfDrained()
+    {
+        int newSize = array.length;
+        while (size() < newSize >> 2 && newSize >> 1 >= minimumCapacity) {
+            newSize = newSize >> 1;
+        }
+        if (newSize != array.length) {
+            resize(newSize);
         }
     }
 
     /**
-     * @inheritDoc
+     * Restores the heap property after the elements starting at the given index were appended
+     * to the end of the array without bubbling them up (Floyd's bottom-up heapify).
+     * Only the ancestors of the appended elements are visited, level by level, so the whole
+     * pass finishes in O(k + log(n)) time, where k is the number of appended elements.
+     *
+     * @param first Index of the first appended element.
      */
-    public int size()
+    private void heapify(final int first)
     {
-        return tail + 1;
+        if (tail < 1) {
+            return;
+        }
+        int from = first > 0 ? parent(first) : 0;
+        int to = parent(tail);
+        while (true) {
+            for (int i = to; i >= from; i--) {
+                bubbleDown(i);
+            }
+            if (from == 0) {
+                break;
+            }
+            // Nodes from the parent range which are not smaller than from were already visited
+            to = Math.min(parent(to), from - 1);
+            from = parent(from);
+        }
     }
 
     private int leftChild(int index)
     {
-        return index << 1;
+        return (index << 1) + 1;
     }
 
     private int rightChild(int index)
     {
-        return (index << 1) + 1;
+        return (index << 1) + 2;
     }
 
     private int parent(int index)
     {
-        return index >> 1;
+        return (index - 1) >> 1;
+    }
+
+    /**
+     * Removes the root of a non-empty heap (bottom-up heapsort step).
+     * The hole left by the root is moved down to a leaf along the smaller children,
+     * which takes one comparison per level instead of two, then the last element is
+     * placed into the hole and bubbled up, which usually stops after a step or two.
+     */
+    private void removeRoot()
+    {
+        int last = array[tail];
+        --tail;
+        if (tail < 0) {
+            return;
+        }
+        int index = 0;
+        int half = (tail + 1) >>> 1; // Nodes from this index on are leaves
+        int comparisons = 0;
+        int moves = 0;
+        while (index < half) {
+            int child = leftChild(index);
+            if (child < tail) {
+                ++comparisons;
+                if (array[child + 1] < array[child]) {
+                    ++child;
+                }
+            }
+            array[index] = array[child];
+            index = child;
+            ++moves;
+        }
+        array[index] = last;
+        if (HeapMetrics.ENABLED && metrics != null) {
+            metrics.recordSift(comparisons, moves);
+        }
+        bubbleUp(index);
     }
 
     /**
@@ -144,6 +488,8 @@ public class BinaryMinHeap implements MinHeap
      */
     private void bubbleDown(int index)
     {
+        int comparisons = 0;
+        int swaps = 0;
         while (index <= tail) {
             int leftChildIndex = leftChild(index);
             int rightChildIndex = rightChild(index);
@@ -153,17 +499,25 @@ public class BinaryMinHeap implements MinHeap
             }
             if (rightChildIndex > tail) {
                 // This element has no right child, check heap property with left and then exit
+                ++comparisons;
                 if (array[leftChildIndex] < array[index]) {
                     swap(leftChildIndex, index);
+                    ++swaps;
                 }
                 break;
             }
 
-            if (array[index] < array[leftChildIndex] && array[index] < array[rightChildIndex]) {
-                // Heap property is held
-                break;
+            ++comparisons;
+            if (array[index] <= array[leftChildIndex]) {
+                ++comparisons;
+                if (array[index] <= array[rightChildIndex]) {
+                    // Heap property is held
+                    break;
+                }
             }
 
+            ++comparisons;
+            ++swaps;
             if (array[leftChildIndex] < array[rightChildIndex]) {
                 swap(leftChildIndex, index);
                 index = leftChildIndex;
@@ -172,6 +526,9 @@ public class BinaryMinHeap implements MinHeap
                 index = rightChildIndex;
             }
         }
+        if (HeapMetrics.ENABLED && metrics != null) {
+            metrics.recordSift(comparisons, swaps);
+        }
     }
 
     /**
@@ -182,15 +539,23 @@ public class BinaryMinHeap implements MinHeap
      */
     private void bubbleUp(int index)
     {
+        int comparisons = 0;
+        int swaps = 0;
         while (index >= 1) { // When index is 0, we are in root
             int parentIndex = parent(index);
-            if (array[parentIndex] > array[index]) {
-                // Swap with parent if heap property is broken
-                swap(parentIndex, index);
+            ++comparisons;
+            if (array[parentIndex] <= array[index]) {
+                break; // Heap property is held
             }
+            // Swap with parent if heap property is broken
+            swap(parentIndex, index);
+            ++swaps;
             // Continue to the parent
             index = parentIndex;
         }
+        if (HeapMetrics.ENABLED && metrics != null) {
+            metrics.recordSift(comparisons, swaps);
+        }
     }
 
     private void swap(int from, int to)
@@ -0,0 +1,231 @@
+package cz.filipklimes.edu.datastructure;
+
+import cz.filipklimes.edu.datastructure.exception.EmptyHeapException;
+import cz.filipklimes.edu.datastructure.exception.InvalidArityException;
+import cz.filipklimes.edu.datastructure.exception.InvalidInitialCapacityException;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Implementation of MinHeap (a priority queue) as a d-ary heap.
+ * Each node has up to d children instead of two, which makes the tree
+ * log2(d)-times shallower. The children of a node are stored next to each
+ * other and the array is padded by d - 1 unused slots at the beginning,
+ * so every group of siblings starts at an index divisible by d. With 16 children
+ * of 4 bytes each, one sift step reads a single 64-byte cache line
+ * (as far as the JVM aligns the array data; it does not guarantee it).
+ * The array is resized to 2-times it's current size when it overflows.
+ * WARNING: This data structure is not thread-safe.
+ */
+public class DAryMinHeap implements MinHeap
+{
+
+    private final int arity;
+
+    /**
+     * Binary logarithm of the arity, children are addressed by shifting.
+     */
+    private final int shift;
+
+    /**
+     * Index of the root, the slots before it are padding.
+     */
+    private final int root;
+
+    private int[] array;
+
+    /**
+     * Points to the last element of the heap.
+     */
+    private int tail;
+
+    /**
+     * Construct the d-ary heap with given arity and initial capacity.
+     * Everytime the underlying array is not sufficient to store
+     * the elements, it is grown by the factor of 2.
+     *
+     * @param arity           Number of children of each node, one of 2, 4, 8 or 16.
+     * @param initialCapacity Initial number of elements the heap can hold without resizing.
+     */
+    public DAryMinHeap(final int arity, final int initialCapacity)
+    {
+        if (arity != 2 && arity != 4 && arity != 8 && arity != 16) {
+            throw new InvalidArityException();
+        }
+        if (initialCapacity < 1) {
+            throw new InvalidInitialCapacityException();
+        }
+        this.arity = arity;
+        this.shift = Integer.numberOfTrailingZeros(arity);
+        this.root = arity - 1;
+        this.array = new int[root + initialCapacity];
+        this.tail = root - 1;
+    }
+
+    public DAryMinHeap(final int arity)
+    {
+        this(arity, 128);
+    }
+
+    public int getArity()
+    {
+        return arity;
+    }
+
+    /**
+     * @inheritDoc
+     */
+    public int peek()
+    {
+        if (tail < root) {
+            throw new EmptyHeapException();
+        }
+        return array[root];
+    }
+
+    /**
+     * @inheritDoc
+     */
+    public int pop()
+    {
+        if (tail < root) {
+            throw new EmptyHeapException();
+        }
+        int min = array[root];
+
+        int last = array[tail];
+        --tail;
+        if (tail >= root) {
+            bubbleDown(root, last);
+        }
+
+        return min;
+    }
+
+    /**
+     * @inheritDoc
+     */
+    public void push(final int value)
+    {
+        ++tail;
+        if (tail >= array.length) {
+            // Resize the array by factor of 2
+            int newSize = array.length << 1;
+            if (newSize < 0) {
+                throw new OutOfMemoryError();
+            }
+            array = Arrays.copyOf(array, newSize);
+        }
+
+        bubbleUp(tail, value);
+    }
+
+    /**
+     * @inheritDoc
+     */
+    public int size()
+    {
+        return tail - root + 1;
+    }
+
+    /**
+     * Writes the elements of the heap to the file, which can be restored by {@link #restore(Path, int)}.
+     * The elements are written in the standard d-ary layout (children of node i at d * i + 1
+     * to d * i + d), without the padding before the root.
+     *
+     * @param file The snapshot file, replaced if it exists.
+     * @throws IOException If the file cannot be written.
+     * @see BinaryMinHeap#snapshot(Path)
+     */
+    public void snapshot(final Path file) throws IOException
+    {
+        HeapSnapshot.write(file, arity, size(), root, array);
+    }
+
+    /**
+     * Restores the heap written by {@link #snapshot(Path)} without heapifying.
+     *
+     * @param file  The snapshot file.
+     * @param arity Arity of the heap in the snapshot.
+     * @return The restored heap, whose capacity is the number of elements (but at least one).
+     * @throws IOException                                                       If the file cannot be read.
+     * @throws cz.filipklimes.edu.datastructure.exception.InvalidSnapshotException If the file is not a valid snapshot of a heap of the given arity.
+     */
+    public static DAryMinHeap restore(final Path file, final int arity) throws IOException
+    {
+        DAryMinHeap heap = new DAryMinHeap(arity, 1); // Checks the arity
+        int size = (int) HeapSnapshot.size(file, arity, Integer.MAX_VALUE - 8 - heap.root);
+        heap.array = new int[heap.root + Math.max(size, 1)];
+        HeapSnapshot.read(file, size, heap.root, heap.array);
+        heap.tail = heap.root + size - 1;
+        return heap;
+    }
+
+    private int firstChild(int index)
+    {
+        return (index - root + 1) << shift;
+    }
+
+    private int parent(int index)
+    {
+        return ((index - root - 1) >> shift) + root;
+    }
+
+    /**
+     * Moves the hole at the given index down until the value can be placed into it
+     * without breaking the heap property. Each step scans one group of siblings.
+     * Finishes in log_d(n) steps, where n is the number of elements.
+     *
+     * @param index Index of the hole from which to bubble down.
+     * @param value Value to be placed into the heap.
+     */
+    private void bubbleDown(int index, final int value)
+    {
+        final int[] array = this.array;
+        final int tail = this.tail;
+        final int lastParent = parent(tail);
+        while (index <= lastParent) {
+            int child = firstChild(index);
+            int lastChild = Math.min(child + arity - 1, tail);
+            int minIndex = child;
+            int min = array[child];
+            for (int i = child + 1; i <= lastChild; i++) {
+                if (array[i] < min) {
+                    min = array[i];
+                    minIndex = i;
+                }
+            }
+            if (value <= min) {
+                break; // Heap property is held
+            }
+            array[index] = min;
+            index = minIndex;
+        }
+        array[index] = value;
+    }
+
+    /**
+     * Moves the hole at the given index up until the value can be placed into it
+     * without breaking the heap property.
+     * Finishes in log_d(n) steps, where n is the number of elements.
+     *
+     * @param index Index of the hole from which to bubble up.
+     * @param value Value to be placed into the heap.
+     */
+    private void bubbleUp(int index, final int value)
+    {
+        final int[] array = this.array;
+        while (index > root) {
+            int parentIndex = parent(index);
+            if (array[parentIndex] <= value) {
+                break; // Heap property is held
+            }
+            array[index] = array[parentIndex];
+            index = parentIndex;
+        }
+        array[index] = value;
+    }
+
+}
@@ -0,0 +1,235 @@
+package cz.filipklimes.edu.datastructure;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Operation metrics of a heap collected by {@link InstrumentedMinHeap}: counts of pushes,
+ * pops and peeks, comparisons and swaps of every sift, resizes of the underlying array
+ * with their byte counts, the size high-water mark and sampled latency histograms.
+ * Resizes and slow operations are also emitted as JFR events, so they show up in a flight recording.
+ * The metrics are collected only when the JVM is started with
+ * -Dcz.filipklimes.edu.heap.metrics=true. Otherwise {@link #ENABLED} is a false constant
+ * and the JIT compiler removes all the probes, so the instrumentation can stay in production code.
+ * The metrics can be shared by heaps used by several threads.
+ */
+public final class HeapMetrics
+{
+
+    /**
+     * Whether the metrics are collected, read once when the class is loaded.
+     */
+    public static final boolean ENABLED = Boolean.getBoolean("cz.filipklimes.edu.heap.metrics");
+
+    private final LongAdder pushes = new LongAdder();
+
+    private final LongAdder pops = new LongAdder();
+
+    private final LongAdder peeks = new LongAdder();
+
+    private final LongAdder sifts = new LongAdder();
+
+    private final LongAdder comparisons = new LongAdder();
+
+    private final LongAdder swaps = new LongAdder();
+
+    private final LongAdder resizes = new LongAdder();
+
+    private final LongAdder resizedBytes = new LongAdder();
+
+    private final LongAccumulator highWaterMark = new LongAccumulator(Math::max, 0);
+
+    private final LatencyHistogram pushLatency = new LatencyHistogram();
+
+    private final LatencyHistogram popLatency = new LatencyHistogram();
+
+    private final LatencyHistogram peekLatency = new LatencyHistogram();
+
+    public long getPushes()
+    {
+        return pushes.sum();
+    }
+
+    public long getPops()
+    {
+        return pops.sum();
+    }
+
+    public long getPeeks()
+    {
+        return peeks.sum();
+    }
+
+    /**
+     * Returns number of sifts (bubbling up or down) of the instrumented BinaryMinHeap.
+     *
+     * @return Number of sifts.
+     */
+    public long getSifts()
+    {
+        return sifts.sum();
+    }
+
+    /**
+     * Returns number of comparisons of the values done by all sifts.
+     *
+     * @return Number of comparisons.
+     */
+    public long getComparisons()
+    {
+        return comparisons.sum();
+    }
+
+    /**
+     * Returns number of values moved by all sifts.
+     *
+     * @return Number of swaps.
+     */
+    public long getSwaps()
+    {
+        return swaps.sum();
+    }
+
+    /**
+     * Returns number of times the underlying array was grown or shrunk.
+     *
+     * @return Number of resizes.
+     */
+    public long getResizes()
+    {
+        return resizes.sum();
+    }
+
+    /**
+     * Returns number of bytes allocated by all resizes.
+     *
+     * @return Number of allocated bytes.
+     */
+    public long getResizedBytes()
+    {
+        return resizedBytes.sum();
+    }
+
+    /**
+     * Returns the maximum size the heap has reached.
+     *
+     * @return The high-water mark.
+     */
+    public long getHighWaterMark()
+    {
+        return highWaterMark.get();
+    }
+
+    public LatencyHistogram getPushLatency()
+    {
+        return pushLatency;
+    }
+
+    public LatencyHistogram getPopLatency()
+    {
+        return popLatency;
+    }
+
+    public LatencyHistogram getPeekLatency()
+    {
+        return peekLatency;
+    }
+
+    /**
+     * Resets all counters and histograms, e.g. at the start of a reporting period.
+     * The high-water mark is reset as well.
+     */
+    public void reset()
+    {
+        pushes.reset();
+        pops.reset();
+        peeks.reset();
+        sifts.reset();
+        comparisons.reset();
+        swaps.reset();
+        resizes.reset();
+        resizedBytes.reset();
+        highWaterMark.reset();
+        pushLatency.reset();
+        popLatency.reset();
+        peekLatency.reset();
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format(
+            "pushes=%d, pops=%d, peeks=%d, sifts=%d, comparisons=%d, swaps=%d, resizes=%d (%d B), high-water mark=%d, "
+                + "push p99=%dns, pop p99=%dns, peek p99=%dns",
+            getPushes(), getPops(), getPeeks(), getSifts(), getComparisons(), getSwaps(), getResizes(), getResizedBytes(),
+            getHighWaterMark(), pushLatency.percentile(0.99), popLatency.percentile(0.99), peekLatency.percentile(0.99)
+        );
+    }
+
+    void recordPush(final int size)
+    {
+        pushes.increment();
+        highWaterMark.accumulate(size);
+    }
+
+    void recordPop()
+    {
+        pops.increment();
+    }
+
+    void recordPeek()
+    {
+        peeks.increment();
+    }
+
+    void recordSift(final int comparisons, final int swaps)
+    {
+        sifts.increment();
+        this.comparisons.add(comparisons);
+        this.swaps.add(swaps);
+    }
+
+    /**
+     * Records a resize of the underlying array and emits it as a JFR event.
+     *
+     * @param heap     The resized heap.
+     * @param oldBytes Size of the old array in bytes.
+     * @param newBytes Size of the new array in bytes.
+     */
+    void recordResize(final Object heap, final long oldBytes, final long newBytes)
+    {
+        resizes.increment();
+        resizedBytes.add(newBytes);
+        HeapResizeEvent event = new HeapResizeEvent();
+        if (event.shouldCommit()) {
+            event.heapClass = heap.getClass().getName();
+            event.oldBytes = oldBytes;
+            event.newBytes = newBytes;
+            event.commit();
+        }
+    }
+
+    /**
+     * Records the latency of a sampled operation and emits a JFR event if it is slow.
+     *
+     * @param operation          Name of the operation.
+     * @param histogram          Histogram of the operation.
+     * @param nanos              Latency of the operation.
+     * @param slowOperationNanos Latency from which the operation is slow.
+     * @param size               Size of the heap after the operation.
+     */
+    void recordLatency(final String operation, final LatencyHistogram histogram, final long nanos, final long slowOperationNanos, final int size)
+    {
+        histogram.record(nanos);
+        if (nanos >= slowOperationNanos) {
+            SlowHeapOperationEvent event = new SlowHeapOperationEvent();
+            if (event.shouldCommit()) {
+                event.operation = operation;
+                event.latency = nanos;
+                event.size = size;
+                event.commit();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,26 @@
+package cz.filipklimes.edu.datastructure;
+
+import jdk.jfr.*;
+
+/**
+ * JFR event emitted when an instrumented heap grows or shrinks its underlying array.
+ */
+@Name("cz.filipklimes.edu.HeapResize")
+@Label("Heap Resize")
+@Category({"Data Structures", "Heap"})
+@Description("The underlying array of a heap was copied to a bigger or smaller one")
+final class HeapResizeEvent extends Event
+{
+
+    @Label("Heap Class")
+    String heapClass;
+
+    @Label("Old Size")
+    @DataAmount
+    long oldBytes;
+
+    @Label("New Size")
+    @DataAmount
+    long newBytes;
+
+}
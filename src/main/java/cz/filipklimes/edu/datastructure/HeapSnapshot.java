@@ -0,0 +1,223 @@
+package cz.filipklimes.edu.datastructure;
+
+import cz.filipklimes.edu.datastructure.exception.InvalidSnapshotException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Writes and reads snapshots of the arrays backing the heaps through memory-mapped files.
+ * The array of a heap is a valid heap already, so it is stored as it is and restored
+ * without heapifying, in time given by the disk bandwidth.
+ * A snapshot is a 32-byte header followed by the elements, all little-endian:
+ * <pre>
+ *  0  int   magic "HEAP"
+ *  4  int   format version
+ *  8  int   arity of the heap
+ * 12  int   bytes per element
+ * 16  long  number of elements
+ * 24  long  CRC32 of the elements and of the header bytes 0-23
+ * </pre>
+ * The file is mapped in regions of at most 1 GiB, since a mapped buffer is limited to 2 GiB.
+ * The snapshot is written into a temporary file, which replaces the target file only when complete.
+ */
+final class HeapSnapshot
+{
+
+    private static final int MAGIC = 0x50414548; // "HEAP" in little-endian
+
+    private static final int VERSION = 1;
+
+    private static final int HEADER_BYTES = 32;
+
+    private static final int CHECKSUM_OFFSET = 24;
+
+    private static final long REGION_BYTES = 1L << 30;
+
+    private HeapSnapshot()
+    {
+    }
+
+    /**
+     * Writes the elements of the heap, which are the given number of elements of the chunks
+     * concatenated, starting from the offset in the first chunk.
+     *
+     * @param file   The snapshot file, replaced if it exists.
+     * @param arity  Arity of the heap.
+     * @param size   Number of elements.
+     * @param offset Index of the first element in the first chunk.
+     * @param chunks Arrays holding the elements.
+     * @throws IOException If the file cannot be written, the temporary file is deleted then.
+     */
+    static void write(final Path file, final int arity, final long size, final int offset, final int[]... chunks) throws IOException
+    {
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            writeTemporary(temporary, arity, size, offset, chunks);
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException | Error e) {
+            try {
+                Files.deleteIfExists(temporary);
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+    }
+
+    private static void writeTemporary(final Path temporary, final int arity, final long size, final int offset, final int[]... chunks) throws IOException
+    {
+        CRC32 checksum = new CRC32();
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            int chunk = 0;
+            int index = offset;
+            long position = HEADER_BYTES;
+            long remaining = size;
+            while (remaining > 0) {
+                int count = (int) Math.min(remaining, REGION_BYTES >> 2);
+                MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_WRITE, position, (long) count << 2);
+                IntBuffer ints = region.order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+                while (ints.hasRemaining()) {
+                    if (index == chunks[chunk].length) {
+                        ++chunk;
+                        index = 0;
+                    }
+                    int length = Math.min(ints.remaining(), chunks[chunk].length - index);
+                    ints.put(chunks[chunk], index, length);
+                    index += length;
+                }
+                region.force();
+                checksum.update(region);
+                position += (long) count << 2;
+                remaining -= count;
+            }
+
+            ByteBuffer header = header(arity, size);
+            checksum.update(header.array(), 0, CHECKSUM_OFFSET);
+            header.putLong(CHECKSUM_OFFSET, checksum.getValue());
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Reads the header of the snapshot and checks it.
+     *
+     * @param file    The snapshot file.
+     * @param arity   The expected arity of the heap.
+     * @param maxSize Maximum number of elements the heap can hold.
+     * @return Number of elements in the snapshot.
+     * @throws IOException              If the file cannot be read.
+     * @throws InvalidSnapshotException If the file is not a snapshot of a heap of the given arity.
+     */
+    static long size(final Path file, final int arity, final long maxSize) throws IOException
+    {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = readHeader(file, channel);
+            if (header.getInt(0) != MAGIC) {
+                throw new InvalidSnapshotException(file, "not a heap snapshot");
+            }
+            if (header.getInt(4) != VERSION) {
+                throw new InvalidSnapshotException(file, String.format("unsupported version %d", header.getInt(4)));
+            }
+            if (header.getInt(8) != arity) {
+                throw new InvalidSnapshotException(file, String.format("holds a %d-ary heap, expected a %d-ary heap", header.getInt(8), arity));
+            }
+            if (header.getInt(12) != Integer.BYTES) {
+                throw new InvalidSnapshotException(file, String.format("holds %d-byte elements, expected int elements", header.getInt(12)));
+            }
+            long size = header.getLong(16);
+            if (size < 0 || size > Long.MAX_VALUE >> 3 || channel.size() != HEADER_BYTES + (size << 2)) {
+                throw new InvalidSnapshotException(file, String.format("file size %d does not match %d elements", channel.size(), size));
+            }
+            if (size > maxSize) {
+                throw new InvalidSnapshotException(file, String.format("%d elements do not fit into the heap", size));
+            }
+            return size;
+        }
+    }
+
+    /**
+     * Reads the elements of the snapshot into the chunks, which must be large enough
+     * to hold the number of elements returned by {@link #size(Path, int, long)}.
+     * The file is checked again, since it may have been replaced in the meantime.
+     *
+     * @param file   The snapshot file.
+     * @param size   Number of elements returned by {@link #size(Path, int, long)}.
+     * @param offset Index in the first chunk where the first element is stored.
+     * @param chunks Arrays receiving the elements.
+     * @throws IOException              If the file cannot be read.
+     * @throws InvalidSnapshotException If the file no longer holds the given number of elements
+     *                                  or if the checksum does not match.
+     */
+    static void read(final Path file, final long size, final int offset, final int[]... chunks) throws IOException
+    {
+        CRC32 checksum = new CRC32();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = readHeader(file, channel);
+            if (header.getLong(16) != size || channel.size() != HEADER_BYTES + (size << 2)) {
+                throw new InvalidSnapshotException(file, String.format("the file changed, it no longer holds %d elements", size));
+            }
+            int chunk = 0;
+            int index = offset;
+            long position = HEADER_BYTES;
+            long remaining = size;
+            while (remaining > 0) {
+                int count = (int) Math.min(remaining, REGION_BYTES >> 2);
+                MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, position, (long) count << 2);
+                IntBuffer ints = region.order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+                while (ints.hasRemaining()) {
+                    if (index == chunks[chunk].length) {
+                        ++chunk;
+                        index = 0;
+                    }
+                    int length = Math.min(ints.remaining(), chunks[chunk].length - index);
+                    ints.get(chunks[chunk], index, length);
+                    index += length;
+                }
+                checksum.update(region);
+                position += (long) count << 2;
+                remaining -= count;
+            }
+            checksum.update(header.array(), 0, CHECKSUM_OFFSET);
+            if (checksum.getValue() != header.getLong(CHECKSUM_OFFSET)) {
+                throw new InvalidSnapshotException(file, "checksum mismatch");
+            }
+        }
+    }
+
+    private static ByteBuffer readHeader(final Path file, final FileChannel channel) throws IOException
+    {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        while (header.hasRemaining()) {
+            if (channel.read(header, header.position()) < 0) {
+                throw new InvalidSnapshotException(file, "the header is truncated");
+            }
+        }
+        return header;
+    }
+
+    private static ByteBuffer header(final int arity, final long size)
+    {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(0, MAGIC);
+        header.putInt(4, VERSION);
+        header.putInt(8, arity);
+        header.putInt(12, Integer.BYTES);
+        header.putLong(16, size);
+        return header;
+    }
+
+}
@@ -0,0 +1,337 @@
+package cz.filipklimes.edu.datastructure;
+
+import cz.filipklimes.edu.datastructure.exception.DuplicateHandleException;
+import cz.filipklimes.edu.datastructure.exception.EmptyHeapException;
+import cz.filipklimes.edu.datastructure.exception.InvalidHandleException;
+import cz.filipklimes.edu.datastructure.exception.InvalidInitialCapacityException;
+
+import java.util.*;
+
+/**
+ * Implementation of an indexed min heap (a priority queue with changeable priorities)
+ * as a binary heap of integer handles ordered by their integer keys.
+ * Handles are integers from 0 to capacity - 1 chosen by the caller,
+ * e.g. indices of graph vertices or task ids. Each handle can be present
+ * in the heap at most once. Besides the heap itself, the position of every
+ * handle within the heap is tracked, so the key of a queued handle can be changed
+ * and the handle can be removed in log(n) time.
+ * Handles with equal keys are popped in ascending order of the handles.
+ * All arrays are allocated at construction, no operation allocates memory.
+ * WARNING: This data structure is not thread-safe.
+ */
+public class IndexedMinHeap
+{
+
+    /**
+     * Key of every handle, valid only for handles present in the heap.
+     */
+    private final int[] keys;
+
+    /**
+     * Handles ordered as a binary heap.
+     */
+    private final int[] heap;
+
+    /**
+     * Position of every handle within the heap, -1 if the handle is not present.
+     */
+    private final int[] positions;
+
+    private int size;
+
+    /**
+     * Construct the indexed heap for handles from 0 to capacity - 1.
+     *
+     * @param capacity Number of distinct handles, which is also the maximum number of elements.
+     */
+    public IndexedMinHeap(final int capacity)
+    {
+        if (capacity < 1) {
+            throw new InvalidInitialCapacityException();
+        }
+        this.keys = new int[capacity];
+        this.heap = new int[capacity];
+        this.positions = new int[capacity];
+        Arrays.fill(positions, -1);
+        this.size = 0;
+    }
+
+    /**
+     * Returns the handle which would be popped next.
+     *
+     * @return The handle with the minimum key.
+     * @throws EmptyHeapException If the heap is empty.
+     */
+    public int peek()
+    {
+        if (size == 0) {
+            throw new EmptyHeapException();
+        }
+        return heap[0];
+    }
+
+    /**
+     * Returns the minimum key within the heap.
+     *
+     * @return The key of the handle which would be popped next.
+     * @throws EmptyHeapException If the heap is empty.
+     */
+    public int peekKey()
+    {
+        if (size == 0) {
+            throw new EmptyHeapException();
+        }
+        return keys[heap[0]];
+    }
+
+    /**
+     * Pops the handle with the minimum key from the heap.
+     * The handle will no longer be present within the heap and can be pushed again.
+     *
+     * @return The handle with the minimum key.
+     * @throws EmptyHeapException If the heap is empty.
+     */
+    public int pop()
+    {
+        if (size == 0) {
+            throw new EmptyHeapException();
+        }
+        int min = heap[0];
+        removeAt(0);
+        return min;
+    }
+
+    /**
+     * Inserts the given handle to the heap with the given key.
+     *
+     * @param handle The handle, from 0 to capacity - 1.
+     * @param key    The key. Can be negative.
+     * @throws DuplicateHandleException If the handle is already present in the heap.
+     */
+    public void push(final int handle, final int key)
+    {
+        checkRange(handle);
+        if (positions[handle] >= 0) {
+            throw new DuplicateHandleException(handle);
+        }
+        keys[handle] = key;
+        bubbleUp(size++, handle);
+    }
+
+    /**
+     * Returns the key of the given handle.
+     *
+     * @param handle The handle.
+     * @return The key of the handle.
+     * @throws InvalidHandleException If the handle is not present in the heap.
+     */
+    public int keyOf(final int handle)
+    {
+        checkPresent(handle);
+        return keys[handle];
+    }
+
+    /**
+     * Decreases the key of a handle present in the heap.
+     *
+     * @param handle The handle.
+     * @param key    The new key, which must not be greater than the current one.
+     * @throws InvalidHandleException If the handle is not present in the heap.
+     */
+    public void decreaseKey(final int handle, final int key)
+    {
+        checkPresent(handle);
+        if (key > keys[handle]) {
+            throw new IllegalArgumentException(String.format("Key %d is greater than the current key %d.", key, keys[handle]));
+        }
+        keys[handle] = key;
+        bubbleUp(positions[handle], handle);
+    }
+
+    /**
+     * Increases the key of a handle present in the heap.
+     *
+     * @param handle The handle.
+     * @param key    The new key, which must not be less than the current one.
+     * @throws InvalidHandleException If the handle is not present in the heap.
+     */
+    public void increaseKey(final int handle, final int key)
+    {
+        checkPresent(handle);
+        if (key < keys[handle]) {
+            throw new IllegalArgumentException(String.format("Key %d is less than the current key %d.", key, keys[handle]));
+        }
+        keys[handle] = key;
+        bubbleDown(positions[handle], handle);
+    }
+
+    /**
+     * Changes the key of a handle present in the heap in either direction.
+     *
+     * @param handle The handle.
+     * @param key    The new key.
+     * @throws InvalidHandleException If the handle is not present in the heap.
+     */
+    public void changeKey(final int handle, final int key)
+    {
+        if (key < keyOf(handle)) {
+            decreaseKey(handle, key);
+        } else {
+            increaseKey(handle, key);
+        }
+    }
+
+    /**
+     * Removes the given handle from the heap.
+     *
+     * @param handle The handle.
+     * @throws InvalidHandleException If the handle is not present in the heap.
+     */
+    public void remove(final int handle)
+    {
+        checkPresent(handle);
+        removeAt(positions[handle]);
+    }
+
+    /**
+     * Tells whether the given handle is present in the heap.
+     *
+     * @param handle The handle, handles out of range are never present.
+     * @return True if the handle is present.
+     */
+    public boolean contains(final int handle)
+    {
+        return handle >= 0 && handle < positions.length && positions[handle] >= 0;
+    }
+
+    /**
+     * Returns number of handles stored in the heap.
+     *
+     * @return Number of stored handles.
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Returns number of distinct handles the heap accepts.
+     *
+     * @return The capacity given at construction.
+     */
+    public int capacity()
+    {
+        return positions.length;
+    }
+
+    /**
+     * Removes all handles from the heap in O(n) time.
+     */
+    public void clear()
+    {
+        for (int i = 0; i < size; i++) {
+            positions[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    private void checkRange(final int handle)
+    {
+        if (handle < 0 || handle >= positions.length) {
+            throw new IndexOutOfBoundsException(String.format("Handle %d out of range [0, %d)", handle, positions.length));
+        }
+    }
+
+    private void checkPresent(final int handle)
+    {
+        if (!contains(handle)) {
+            throw new InvalidHandleException(handle);
+        }
+    }
+
+    /**
+     * Removes the handle at the given position and fills the hole with the last handle.
+     *
+     * @param index Position of the removed handle.
+     */
+    private void removeAt(final int index)
+    {
+        positions[heap[index]] = -1;
+        int last = heap[--size];
+        if (index == size) {
+            return;
+        }
+        if (index > 0 && less(last, heap[parent(index)])) {
+            bubbleUp(index, last);
+        } else {
+            bubbleDown(index, last);
+        }
+    }
+
+    private int parent(int index)
+    {
+        return (index - 1) >> 1;
+    }
+
+    /**
+     * Compares the handles by their keys, ties are broken by the handles themselves.
+     */
+    private boolean less(final int handle, final int other)
+    {
+        int key = keys[handle];
+        int otherKey = keys[other];
+        return key < otherKey || (key == otherKey && handle < other);
+    }
+
+    /**
+     * Moves the hole at the given index down until the handle can be placed into it
+     * without breaking the heap property.
+     * Finishes in log(n) time, where n is the number of elements.
+     *
+     * @param index  Index of the hole from which to bubble down.
+     * @param handle Handle to be placed into the heap.
+     */
+    private void bubbleDown(int index, final int handle)
+    {
+        int half = size >>> 1; // Nodes from this index on are leaves
+        while (index < half) {
+            int child = (index << 1) + 1;
+            int right = child + 1;
+            if (right < size && less(heap[right], heap[child])) {
+                child = right;
+            }
+            if (!less(heap[child], handle)) {
+                break; // Heap property is held
+            }
+            heap[index] = heap[child];
+            positions[heap[index]] = index;
+            index = child;
+        }
+        heap[index] = handle;
+        positions[handle] = index;
+    }
+
+    /**
+     * Moves the hole at the given index up until the handle can be placed into it
+     * without breaking the heap property.
+     * Finishes in log(n) time, where n is the number of elements.
+     *
+     * @param index  Index of the hole from which to bubble up.
+     * @param handle Handle to be placed into the heap.
+     */
+    private void bubbleUp(int index, final int handle)
+    {
+        while (index > 0) {
+            int parentIndex = parent(index);
+            if (!less(handle, heap[parentIndex])) {
+                break; // Heap property is held
+            }
+            heap[index] = heap[parentIndex];
+            positions[heap[index]] = index;
+            index = parentIndex;
+        }
+        heap[index] = handle;
+        positions[handle] = index;
+    }
+
+}
@@ -0,0 +1,137 @@
+package cz.filipklimes.edu.datastructure;
+
+/**
+ * Decorator of MinHeap which records the operations into {@link HeapMetrics}.
+ * Every operation is counted, and one in sampleInterval operations is timed into the latency
+ * histograms, so the clock does not slow down every operation. A timed operation slower
+ * than the threshold is emitted as a JFR event. A decorated BinaryMinHeap additionally
+ * reports its sifts and resizes.
+ * When the metrics are disabled, {@link #wrap(MinHeap, HeapMetrics)} returns the heap itself,
+ * and the decorator only delegates.
+ * WARNING: This data structure is not thread-safe, not even when the decorated heap is,
+ * since the operations are counted without synchronization.
+ */
+public class InstrumentedMinHeap implements MinHeap
+{
+
+    private final MinHeap heap;
+
+    private final HeapMetrics metrics;
+
+    private final int sampleMask;
+
+    private final long slowOperationNanos;
+
+    /**
+     * Counts the operations to choose the sampled ones.
+     */
+    private long operations;
+
+    /**
+     * Construct the decorator.
+     *
+     * @param heap               The decorated heap.
+     * @param metrics            Where to record the operations, can be shared by several heaps.
+     * @param sampleInterval     One in this many operations is timed, a power of two.
+     * @param slowOperationNanos Timed operations taking at least this many nanoseconds emit a JFR event.
+     */
+    public InstrumentedMinHeap(final MinHeap heap, final HeapMetrics metrics, final int sampleInterval, final long slowOperationNanos)
+    {
+        if (sampleInterval < 1 || Integer.bitCount(sampleInterval) != 1) {
+            throw new IllegalArgumentException(String.format("Sample interval %d is not a power of two.", sampleInterval));
+        }
+        this.heap = heap;
+        this.metrics = metrics;
+        this.sampleMask = sampleInterval - 1;
+        this.slowOperationNanos = slowOperationNanos;
+        if (HeapMetrics.ENABLED && heap instanceof BinaryMinHeap) {
+            ((BinaryMinHeap) heap).setMetrics(metrics);
+        }
+    }
+
+    /**
+     * Decorates the heap if the metrics are enabled, timing one in 1024 operations
+     * and reporting those taking at least 1ms.
+     *
+     * @param heap    The heap.
+     * @param metrics Where to record the operations.
+     * @return The decorated heap, or the heap itself if the metrics are disabled.
+     */
+    public static MinHeap wrap(final MinHeap heap, final HeapMetrics metrics)
+    {
+        return HeapMetrics.ENABLED ? new InstrumentedMinHeap(heap, metrics, 1024, 1_000_000) : heap;
+    }
+
+    public HeapMetrics getMetrics()
+    {
+        return metrics;
+    }
+
+    /**
+     * @inheritDoc
+     */
+    public int peek()
+    {
+        if (!HeapMetrics.ENABLED) {
+            return heap.peek();
+        }
+        int value;
+        if ((operations++ & sampleMask) != 0) {
+            value = heap.peek();
+        } else {
+            long start = System.nanoTime();
+            value = heap.peek();
+            metrics.recordLatency("peek", metrics.getPeekLatency(), System.nanoTime() - start, slowOperationNanos, heap.size());
+        }
+        metrics.recordPeek();
+        return value;
+    }
+
+    /**
+     * @inheritDoc
+     */
+    public int pop()
+    {
+        if (!HeapMetrics.ENABLED) {
+            return heap.pop();
+        }
+        int value;
+        if ((operations++ & sampleMask) != 0) {
+            value = heap.pop();
+        } else {
+            long start = System.nanoTime();
+            value = heap.pop();
+            metrics.recordLatency("pop", metrics.getPopLatency(), System.nanoTime() - start, slowOperationNanos, heap.size());
+        }
+        metrics.recordPop();
+        return value;
+    }
+
+    /**
+     * @inheritDoc
+     */
+    public void push(final int value)
+    {
+        if (!HeapMetrics.ENABLED) {
+            heap.push(value);
+            return;
+        }
+        if ((operations++ & sampleMask) != 0) {
+            heap.push(value);
+        } else {
+            long start = System.nanoTime();
+            heap.push(value);
+            metrics.recordLatency("push", metrics.getPushLatency(), System.nanoTime() - start, slowOperationNanos, heap.size());
+        }
+        metrics.recordPush(heap.size());
+    }
+
+    /**
+     * @inheritDoc
+     */
+    public int size()
+    {
+        return heap.size();
+    }
+
+}
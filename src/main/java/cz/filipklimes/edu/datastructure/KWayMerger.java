@@ -0,0 +1,383 @@
+package cz.filipklimes.edu.datastructure;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Merges k runs of integers sorted in ascending order into one sorted sequence
+ * using a loser tree (a tournament tree). The internal nodes of the tree keep the run
+ * which lost the match at that node, so when the winner is taken, only the path from its leaf
+ * to the root is replayed against the stored losers: about log2(k) comparisons per element,
+ * half of what a binary heap of the run heads needs for its pop and push.
+ * The head of every run is kept as a long, and an exhausted run is represented
+ * by {@link Long#MAX_VALUE}, which loses every match, so the tree needs no special cases.
+ * The runs are either int arrays or primitive iterators, nothing is boxed.
+ * Sorted arrays can also be merged on all cores by {@link #parallelMerge(int[][])}.
+ * WARNING: This data structure is not thread-safe.
+ */
+public class KWayMerger implements PrimitiveIterator.OfInt
+{
+
+    /**
+     * Key of an exhausted run, greater than any int.
+     */
+    private static final long EXHAUSTED = Long.MAX_VALUE;
+
+    /**
+     * Minimum number of elements merged by one fork-join task.
+     */
+    private static final int PARALLEL_CHUNK = 1 << 16;
+
+    /**
+     * Number of samples taken from every run per part to choose the splitters.
+     */
+    private static final int SAMPLES_PER_PART = 8;
+
+    private final int k;
+
+    /**
+     * Iterators of the runs, null when merging arrays.
+     */
+    private final PrimitiveIterator.OfInt[] iterators;
+
+    /**
+     * Arrays of the runs with the position of the next element and the end of every run,
+     * null when merging iterators.
+     */
+    private final int[][] arrays;
+    private final int[] positions;
+    private final int[] ends;
+
+    /**
+     * The current head of every run.
+     */
+    private final long[] keys;
+
+    /**
+     * Internal node n (1 to k - 1) holds the run which lost the match at the node.
+     * The leaf of run i is the node k + i, so the children of node n are the nodes 2n and 2n + 1.
+     */
+    private final int[] losers;
+
+    private int winner;
+
+    /**
+     * Construct the merger of sorted arrays.
+     *
+     * @param runs Arrays sorted in ascending order. The arrays are not modified.
+     */
+    public KWayMerger(final int[][] runs)
+    {
+        this(runs, new int[runs.length], lengths(runs));
+    }
+
+    /**
+     * Construct the merger of sorted iterators.
+     *
+     * @param runs Iterators returning values in ascending order.
+     */
+    public KWayMerger(final List<PrimitiveIterator.OfInt> runs)
+    {
+        this.k = runs.size();
+        this.iterators = runs.toArray(new PrimitiveIterator.OfInt[0]);
+        this.arrays = null;
+        this.positions = null;
+        this.ends = null;
+        this.keys = new long[k];
+        this.losers = new int[Math.max(k, 1)];
+        build();
+    }
+
+    /**
+     * Construct the merger of the given ranges of sorted arrays.
+     */
+    private KWayMerger(final int[][] runs, final int[] starts, final int[] ends)
+    {
+        this.k = runs.length;
+        this.iterators = null;
+        this.arrays = runs;
+        this.positions = Arrays.copyOf(starts, k);
+        this.ends = ends;
+        this.keys = new long[k];
+        this.losers = new int[Math.max(k, 1)];
+        build();
+    }
+
+    /**
+     * Merges the sorted arrays using all cores of the common fork-join pool.
+     * Splitter keys are chosen from a sample of the runs, every run is split
+     * at the splitters by a binary search and the parts between two splitters
+     * are merged independently into their place in the output.
+     *
+     * @param runs Arrays sorted in ascending order. The arrays are not modified.
+     * @return New array with all values of the runs in ascending order.
+     */
+    public static int[] parallelMerge(final int[][] runs)
+    {
+        long total = 0;
+        for (int[] run : runs) {
+            total += run.length;
+        }
+        if (total > Integer.MAX_VALUE - 8) {
+            throw new OutOfMemoryError();
+        }
+        int[] dst = new int[(int) total];
+        int parts = (int) Math.max(1, Math.min(ForkJoinPool.getCommonPoolParallelism() * 4L, total / PARALLEL_CHUNK));
+        int[] splitters = splitters(runs, parts, total);
+
+        // bounds[j][i] is the index of the first value of run i which belongs to part j
+        int[][] bounds = new int[parts + 1][];
+        bounds[0] = new int[runs.length];
+        for (int j = 1; j < parts; j++) {
+            bounds[j] = new int[runs.length];
+            for (int i = 0; i < runs.length; i++) {
+                bounds[j][i] = lowerBound(runs[i], bounds[j - 1][i], splitters[j - 1]);
+            }
+        }
+        bounds[parts] = lengths(runs);
+
+        ForkJoinPool.commonPool().invoke(new MergeTask(runs, bounds, dst, 0, parts));
+        return dst;
+    }
+
+    /**
+     * Returns whether any of the runs has a value left.
+     *
+     * @return True if there is a value left.
+     */
+    @Override
+    public boolean hasNext()
+    {
+        return k > 0 && keys[winner] != EXHAUSTED;
+    }
+
+    /**
+     * Returns the smallest value left in the runs.
+     *
+     * @return The next value of the merged sequence.
+     * @throws NoSuchElementException If all runs are exhausted.
+     */
+    @Override
+    public int nextInt()
+    {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        int value = (int) keys[winner];
+        replay();
+        return value;
+    }
+
+    /**
+     * Merges all values left in the runs into the destination array.
+     *
+     * @param dst Destination array, large enough for all values left.
+     * @param off Index in the destination array where the first value is stored.
+     * @return Number of merged values.
+     */
+    public int mergeTo(final int[] dst, final int off)
+    {
+        int index = off;
+        while (hasNext()) {
+            dst[index++] = (int) keys[winner];
+            replay();
+        }
+        return index - off;
+    }
+
+    /**
+     * Returns a sequential stream of the merged values, which advances the merger as it is consumed.
+     *
+     * @return The stream.
+     */
+    public IntStream stream()
+    {
+        Spliterator.OfInt spliterator = Spliterators.spliteratorUnknownSize(
+            this,
+            Spliterator.ORDERED | Spliterator.SORTED | Spliterator.NONNULL
+        );
+        return StreamSupport.intStream(spliterator, false);
+    }
+
+    /**
+     * Loads the heads of all runs and plays the whole tournament bottom-up.
+     */
+    private void build()
+    {
+        for (int i = 0; i < k; i++) {
+            keys[i] = advance(i);
+        }
+        if (k < 2) {
+            winner = 0;
+            return;
+        }
+        int[] winners = new int[k << 1];
+        for (int i = 0; i < k; i++) {
+            winners[k + i] = i;
+        }
+        for (int node = k - 1; node > 0; node--) {
+            int left = winners[node << 1];
+            int right = winners[(node << 1) + 1];
+            if (keys[right] < keys[left]) {
+                winners[node] = right;
+                losers[node] = left;
+            } else {
+                winners[node] = left;
+                losers[node] = right;
+            }
+        }
+        winner = winners[1];
+    }
+
+    /**
+     * Replaces the head of the winning run by its next value and replays the matches
+     * on the path from its leaf to the root.
+     */
+    private void replay()
+    {
+        final long[] keys = this.keys;
+        final int[] losers = this.losers;
+        int winner = this.winner;
+        long key = advance(winner);
+        keys[winner] = key;
+        for (int node = (winner + k) >>> 1; node > 0; node >>>= 1) {
+            int loser = losers[node];
+            long loserKey = keys[loser];
+            if (loserKey < key) {
+                losers[node] = winner;
+                winner = loser;
+                key = loserKey;
+            }
+        }
+        this.winner = winner;
+    }
+
+    /**
+     * Takes the next value of the run.
+     *
+     * @return The value, or {@link #EXHAUSTED} if the run has no more values.
+     */
+    private long advance(final int run)
+    {
+        if (arrays != null) {
+            int position = positions[run];
+            if (position == ends[run]) {
+                return EXHAUSTED;
+            }
+            positions[run] = position + 1;
+            return arrays[run][position];
+        }
+        PrimitiveIterator.OfInt iterator = iterators[run];
+        return iterator.hasNext() ? iterator.nextInt() : EXHAUSTED;
+    }
+
+    private static int[] lengths(final int[][] runs)
+    {
+        int[] lengths = new int[runs.length];
+        for (int i = 0; i < runs.length; i++) {
+            lengths[i] = runs[i].length;
+        }
+        return lengths;
+    }
+
+    /**
+     * Chooses parts - 1 splitters in ascending order, which split the merged sequence
+     * into parts of about the same size. Every run is sampled evenly and every sample
+     * stands for the same fraction of its run, the splitters are the weighted quantiles of the samples.
+     */
+    private static int[] splitters(final int[][] runs, final int parts, final long total)
+    {
+        int samplesPerRun = parts * SAMPLES_PER_PART;
+        long[] samples = new long[runs.length * samplesPerRun];
+        int count = 0;
+        for (int i = 0; i < runs.length; i++) {
+            int length = runs[i].length;
+            for (int s = 0; s < samplesPerRun && length > 0; s++) {
+                int value = runs[i][(int) ((2L * s + 1) * length / (2L * samplesPerRun))];
+                samples[count++] = ((long) value << 32) | i; // Sorted by the value
+            }
+        }
+        Arrays.sort(samples, 0, count);
+
+        int[] splitters = new int[parts - 1];
+        double seen = 0;
+        int next = 0;
+        for (int s = 0; s < count && next < splitters.length; s++) {
+            seen += (double) runs[(int) samples[s]].length / samplesPerRun;
+            while (next < splitters.length && seen >= (double) total * (next + 1) / parts) {
+                splitters[next++] = (int) (samples[s] >> 32);
+            }
+        }
+        while (next < splitters.length) {
+            splitters[next++] = Integer.MAX_VALUE;
+        }
+        return splitters;
+    }
+
+    /**
+     * Finds the first value of the run not less than the key.
+     *
+     * @param run  Sorted array.
+     * @param from Index from which to search.
+     * @param key  The key.
+     * @return Index of the value, or the length of the run if all values are less than the key.
+     */
+    private static int lowerBound(final int[] run, int from, final int key)
+    {
+        int to = run.length;
+        while (from < to) {
+            int middle = (from + to) >>> 1;
+            if (run[middle] < key) {
+                from = middle + 1;
+            } else {
+                to = middle;
+            }
+        }
+        return from;
+    }
+
+    /**
+     * Splits the parts in halves until a single part is left, then merges it.
+     */
+    private static final class MergeTask extends RecursiveAction
+    {
+
+        private final int[][] runs;
+        private final int[][] bounds;
+        private final int[] dst;
+        private final int fromPart;
+        private final int toPart;
+
+        private MergeTask(final int[][] runs, final int[][] bounds, final int[] dst, final int fromPart, final int toPart)
+        {
+            this.runs = runs;
+            this.bounds = bounds;
+            this.dst = dst;
+            this.fromPart = fromPart;
+            this.toPart = toPart;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if (toPart - fromPart == 1) {
+                int off = 0;
+                for (int start : bounds[fromPart]) {
+                    off += start; // The smaller values of all runs precede the part
+                }
+                new KWayMerger(runs, bounds[fromPart], bounds[toPart]).mergeTo(dst, off);
+                return;
+            }
+            int middle = (fromPart + toPart) >>> 1;
+            MergeTask left = new MergeTask(runs, bounds, dst, fromPart, middle);
+            left.fork();
+            new MergeTask(runs, bounds, dst, middle, toPart).compute();
+            left.join();
+        }
+
+    }
+
+}
@@ -0,0 +1,90 @@
+package cz.filipklimes.edu.datastructure;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histogram of latencies in nanoseconds with power-of-two buckets:
+ * bucket i counts the latencies from 2^(i-1) (inclusive) to 2^i (exclusive), bucket 0 counts zeros.
+ * Recording is a single atomic increment, the percentiles are accurate within a factor of 2.
+ * This data structure is thread-safe.
+ */
+public final class LatencyHistogram
+{
+
+    private static final int BUCKETS = 64;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+    /**
+     * Records the latency.
+     *
+     * @param nanos The latency in nanoseconds, negative values are recorded as zero.
+     */
+    public void record(final long nanos)
+    {
+        buckets.incrementAndGet(nanos <= 0 ? 0 : 64 - Long.numberOfLeadingZeros(nanos));
+    }
+
+    /**
+     * Returns number of recorded latencies.
+     *
+     * @return Number of recorded latencies.
+     */
+    public long count()
+    {
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            count += buckets.get(i);
+        }
+        return count;
+    }
+
+    /**
+     * Returns the count of the given bucket.
+     *
+     * @param bucket Index of the bucket, from 0 to 63.
+     * @return Number of latencies from 2^(bucket-1) to 2^bucket nanoseconds.
+     */
+    public long bucketCount(final int bucket)
+    {
+        return buckets.get(bucket);
+    }
+
+    /**
+     * Returns the upper bound of the bucket holding the given percentile.
+     *
+     * @param quantile The percentile as a number from 0 to 1, e.g. 0.99.
+     * @return The latency in nanoseconds which at least the given fraction
+     * of recorded latencies does not exceed, or 0 if nothing was recorded.
+     */
+    public long percentile(final double quantile)
+    {
+        if (quantile < 0 || quantile > 1) {
+            throw new IllegalArgumentException(String.format("Percentile %f is not between 0 and 1.", quantile));
+        }
+        long count = count();
+        if (count == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(quantile * count);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += buckets.get(i);
+            if (seen >= rank && seen > 0) {
+                return i == 0 ? 0 : i == BUCKETS - 1 ? Long.MAX_VALUE : (1L << i) - 1;
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * Clears the histogram. Latencies recorded concurrently may be lost.
+     */
+    public void reset()
+    {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets.set(i, 0);
+        }
+    }
+
+}
@@ -0,0 +1,319 @@
+package cz.filipklimes.edu.datastructure;
+
+import cz.filipklimes.edu.datastructure.exception.EmptyHeapException;
+import cz.filipklimes.edu.datastructure.exception.InvalidInitialCapacityException;
+
+import java.util.*;
+
+/**
+ * Implementation of a min heap (a priority queue) of long values as a binary heap.
+ * This is the long counterpart of {@link BinaryMinHeap}.
+ * A long can also carry a pair of a 32-bit priority and a 32-bit payload (e.g. an id)
+ * packed by {@link #pack(int, int)}. Packed values are ordered by the priority first
+ * and by the unsigned payload second, so a pop returns both of them
+ * without allocating a wrapper object.
+ * WARNING: This data structure is not thread-safe.
+ */
+public class LongMinHeap
+{
+
+    private long[] array;
+
+    /**
+     * Points to the last element of the heap.
+     */
+    private int tail;
+
+    /**
+     * Construct the binary heap with given initial capacity.
+     * Everytime the underlying array is not sufficient to store
+     * the elements, it is grown by the factor of 2.
+     *
+     * @param initialCapacity Initial capacity of the underlying array.
+     */
+    public LongMinHeap(final int initialCapacity)
+    {
+        if (initialCapacity < 1) {
+            throw new InvalidInitialCapacityException();
+        }
+        this.array = new long[initialCapacity];
+        this.tail = -1;
+    }
+
+    public LongMinHeap()
+    {
+        this(128);
+    }
+
+    /**
+     * Construct the binary heap from the given values in linear time.
+     *
+     * @param values Values to be stored in the heap. The array is not modified.
+     */
+    public LongMinHeap(final long[] values)
+    {
+        this.array = Arrays.copyOf(values, Math.max(values.length, 1));
+        this.tail = values.length - 1;
+        heapify(0);
+    }
+
+    /**
+     * Packs the priority and the payload into a single long value,
+     * which is ordered by the priority first and by the unsigned payload second.
+     *
+     * @param priority The priority, stored in the high 32 bits. Can be negative.
+     * @param payload  The payload, stored in the low 32 bits.
+     * @return The packed value.
+     */
+    public static long pack(final int priority, final int payload)
+    {
+        return ((long) priority << 32) | (payload & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Returns the priority of a value packed by {@link #pack(int, int)}.
+     *
+     * @param packed The packed value.
+     * @return The priority.
+     */
+    public static int priority(final long packed)
+    {
+        return (int) (packed >> 32);
+    }
+
+    /**
+     * Returns the payload of a value packed by {@link #pack(int, int)}.
+     *
+     * @param packed The packed value.
+     * @return The payload.
+     */
+    public static int payload(final long packed)
+    {
+        return (int) packed;
+    }
+
+    /**
+     * Returns the value which would be popped next.
+     * The value remains in the heap.
+     *
+     * @return The minimum value within the heap.
+     * @throws EmptyHeapException If the heap is empty.
+     */
+    public long peek()
+    {
+        if (tail < 0) {
+            throw new EmptyHeapException();
+        }
+        return array[0];
+    }
+
+    /**
+     * Pops the minimum value from the heap and returns its value.
+     * The value will no longer be present within the heap.
+     *
+     * @return The minimum value within the heap.
+     * @throws EmptyHeapException If the heap is empty.
+     */
+    public long pop()
+    {
+        if (tail < 0) {
+            throw new EmptyHeapException();
+        }
+        long min = array[0];
+
+        long last = array[tail];
+        --tail;
+        if (tail >= 0) {
+            bubbleDown(0, last);
+        }
+
+        return min;
+    }
+
+    /**
+     * Inserts the given value to the heap.
+     *
+     * @param value The value. Can be negative.
+     */
+    public void push(final long value)
+    {
+        ++tail;
+        if (tail >= array.length) {
+            ensureCapacity(tail + 1);
+        }
+
+        bubbleUp(tail, value);
+    }
+
+    /**
+     * Inserts the priority and the payload packed into a single value.
+     *
+     * @param priority The priority. Can be negative.
+     * @param payload  The payload.
+     * @see #pack(int, int)
+     */
+    public void push(final int priority, final int payload)
+    {
+        push(pack(priority, payload));
+    }
+
+    /**
+     * Inserts all values from the given range of the array to the heap
+     * in linear time in the number of inserted values.
+     *
+     * @param values Source array. The array is not modified.
+     * @param off    Index of the first value to insert.
+     * @param len    Number of values to insert.
+     * @see BinaryMinHeap#pushAll(int[], int, int)
+     */
+    public void pushAll(final long[] values, final int off, final int len)
+    {
+        if (off < 0 || len < 0 || off > values.length - len) {
+            throw new ArrayIndexOutOfBoundsException(String.format("Range [%d, %d) out of bounds for length %d", off, off + len, values.length));
+        }
+        if (len == 0) {
+            return;
+        }
+        int first = size();
+        ensureCapacity(first + len);
+        System.arraycopy(values, off, array, first, len);
+        tail += len;
+        heapify(first);
+    }
+
+    /**
+     * Merges elements of the other heap into this heap in linear time.
+     * The other heap is not modified.
+     *
+     * @param other The heap whose elements will be added to this heap.
+     */
+    public void merge(final LongMinHeap other)
+    {
+        pushAll(other.array, 0, other.size());
+    }
+
+    /**
+     * Returns number of elements stored in the heap.
+     *
+     * @return Number of stored elements.
+     */
+    public int size()
+    {
+        return tail + 1;
+    }
+
+    /**
+     * Removes all elements from the heap, the underlying array is kept.
+     */
+    public void clear()
+    {
+        tail = -1;
+    }
+
+    /**
+     * Grows the underlying array by the factor of 2 until it can hold the required number of elements.
+     *
+     * @param requiredCapacity Number of elements the array must be able to hold.
+     */
+    private void ensureCapacity(final int requiredCapacity)
+    {
+        if (requiredCapacity < 0) {
+            throw new OutOfMemoryError();
+        }
+        int newSize = array.length;
+        while (requiredCapacity > newSize) {
+            newSize = newSize << 1;
+            if (newSize < 0) {
+                throw new OutOfMemoryError();
+            }
+        }
+        if (newSize != array.length) {
+            array = Arrays.copyOf(array, newSize);
+        }
+    }
+
+    /**
+     * Restores the heap property after the elements starting at the given index were appended
+     * to the end of the array without bubbling them up (Floyd's bottom-up heapify).
+     *
+     * @param first Index of the first appended element.
+     * @see BinaryMinHeap
+     */
+    private void heapify(final int first)
+    {
+        if (tail < 1) {
+            return;
+        }
+        int from = first > 0 ? parent(first) : 0;
+        int to = parent(tail);
+        while (true) {
+            for (int i = to; i >= from; i--) {
+                bubbleDown(i, array[i]);
+            }
+            if (from == 0) {
+                break;
+            }
+            // Nodes from the parent range which are not smaller than from were already visited
+            to = Math.min(parent(to), from - 1);
+            from = parent(from);
+        }
+    }
+
+    private int parent(int index)
+    {
+        return (index - 1) >> 1;
+    }
+
+    /**
+     * Moves the hole at the given index down until the value can be placed into it
+     * without breaking the heap property.
+     * Finishes in log(n) time, where n is the number of elements.
+     *
+     * @param index Index of the hole from which to bubble down.
+     * @param value Value to be placed into the heap.
+     */
+    private void bubbleDown(int index, final long value)
+    {
+        final long[] array = this.array;
+        final int size = tail + 1;
+        final int half = size >>> 1; // Nodes from this index on are leaves
+        while (index < half) {
+            int child = (index << 1) + 1;
+            long min = array[child];
+            int right = child + 1;
+            if (right < size && array[right] < min) {
+                min = array[right];
+                child = right;
+            }
+            if (value <= min) {
+                break; // Heap property is held
+            }
+            array[index] = min;
+            index = child;
+        }
+        array[index] = value;
+    }
+
+    /**
+     * Moves the hole at the given index up until the value can be placed into it
+     * without breaking the heap property.
+     * Finishes in log(n) time, where n is the number of elements.
+     *
+     * @param index Index of the hole from which to bubble up.
+     * @param value Value to be placed into the heap.
+     */
+    private void bubbleUp(int index, final long value)
+    {
+        final long[] array = this.array;
+        while (index > 0) {
+            int parentIndex = parent(index);
+            if (array[parentIndex] <= value) {
+                break; // Heap property is held
+            }
+            array[index] = array[parentIndex];
+            index = parentIndex;
+        }
+        array[index] = value;
+    }
+
+}
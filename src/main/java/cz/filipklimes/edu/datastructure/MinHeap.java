@@ -38,4 +38,40 @@ public interface MinHeap
      */
     int size();
 
+    /**
+     * Pops up to k values from the heap and stores them into the destination array
+     * in the order in which they were popped.
+     *
+     * @param k   Maximum number of values to pop.
+     * @param dst Destination array.
+     * @param off Index in the destination array where the first popped value is stored.
+     * @return Number of popped values, which is less than k only if the heap ran out of values.
+     */
+    default int popN(final int k, final int[] dst, final int off)
+    {
+        if (k < 0) {
+            throw new IllegalArgumentException(String.format("Cannot pop %d values.", k));
+        }
+        int count = Math.min(k, size());
+        if (off < 0 || off > dst.length - count) {
+            throw new ArrayIndexOutOfBoundsException(String.format("Range [%d, %d) out of bounds for length %d", off, off + count, dst.length));
+        }
+        for (int i = 0; i < count; i++) {
+            dst[off + i] = pop();
+        }
+        return count;
+    }
+
+    /**
+     * Pops all values from the heap and stores them into the destination array
+     * in the order in which they were popped.
+     *
+     * @param dst Destination array, at least as big as the heap.
+     * @return Number of popped values.
+     */
+    default int drainTo(final int[] dst)
+    {
+        return popN(size(), dst, 0);
+    }
+
 }
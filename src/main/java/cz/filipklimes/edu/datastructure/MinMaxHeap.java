@@ -0,0 +1,387 @@
+package cz.filipklimes.edu.datastructure;
+
+import cz.filipklimes.edu.datastructure.exception.EmptyHeapException;
+import cz.filipklimes.edu.datastructure.exception.InvalidInitialCapacityException;
+
+import java.util.*;
+
+/**
+ * Implementation of a double-ended priority queue as a min-max heap (Atkinson et al.).
+ * It is a binary heap in a single array, whose even levels (starting with the root)
+ * are min levels and odd levels are max levels: a node on a min level is not greater than
+ * any of its descendants and a node on a max level is not less than any of its descendants.
+ * The minimum is the root and the maximum is one of its children, so both are accessed
+ * in O(1) time and removed in O(log n) time, with half the memory and work
+ * of two heaps kept in sync. As a MinHeap, it pops the minimum.
+ * WARNING: This data structure is not thread-safe.
+ */
+public class MinMaxHeap implements MinHeap
+{
+
+    private int[] array;
+
+    /**
+     * Points to the last element of the heap.
+     */
+    private int tail;
+
+    /**
+     * Construct the min-max heap with given initial capacity.
+     * Everytime the underlying array is not sufficient to store
+     * the elements, it is grown by the factor of 2.
+     *
+     * @param initialCapacity Initial capacity of the underlying array.
+     */
+    public MinMaxHeap(final int initialCapacity)
+    {
+        if (initialCapacity < 1) {
+            throw new InvalidInitialCapacityException();
+        }
+        this.array = new int[initialCapacity];
+        this.tail = -1;
+    }
+
+    public MinMaxHeap()
+    {
+        this(128);
+    }
+
+    /**
+     * Construct the min-max heap from the given values in linear time
+     * by trickling down every inner node, from the last one to the root.
+     *
+     * @param values Values to be stored in the heap. The array is not modified.
+     */
+    public MinMaxHeap(final int[] values)
+    {
+        this.array = Arrays.copyOf(values, Math.max(values.length, 1));
+        this.tail = values.length - 1;
+        for (int i = (tail - 1) >> 1; i >= 0; i--) {
+            trickleDown(i);
+        }
+    }
+
+    /**
+     * @inheritDoc
+     */
+    public int peek()
+    {
+        return peekMin();
+    }
+
+    /**
+     * @inheritDoc
+     */
+    public int pop()
+    {
+        return popMin();
+    }
+
+    /**
+     * Returns the minimum value within the heap, which remains in the heap.
+     *
+     * @return The minimum value.
+     * @throws EmptyHeapException If the heap is empty.
+     */
+    public int peekMin()
+    {
+        if (tail < 0) {
+            throw new EmptyHeapException();
+        }
+        return array[0];
+    }
+
+    /**
+     * Returns the maximum value within the heap, which remains in the heap.
+     *
+     * @return The maximum value.
+     * @throws EmptyHeapException If the heap is empty.
+     */
+    public int peekMax()
+    {
+        if (tail < 0) {
+            throw new EmptyHeapException();
+        }
+        return array[maxIndex()];
+    }
+
+    /**
+     * Pops the minimum value from the heap.
+     *
+     * @return The minimum value.
+     * @throws EmptyHeapException If the heap is empty.
+     */
+    public int popMin()
+    {
+        if (tail < 0) {
+            throw new EmptyHeapException();
+        }
+        return removeAt(0);
+    }
+
+    /**
+     * Pops the maximum value from the heap.
+     *
+     * @return The maximum value.
+     * @throws EmptyHeapException If the heap is empty.
+     */
+    public int popMax()
+    {
+        if (tail < 0) {
+            throw new EmptyHeapException();
+        }
+        return removeAt(maxIndex());
+    }
+
+    /**
+     * @inheritDoc
+     */
+    public void push(final int value)
+    {
+        ++tail;
+        if (tail >= array.length) {
+            grow();
+        }
+
+        array[tail] = value;
+        bubbleUp(tail);
+    }
+
+    /**
+     * @inheritDoc
+     */
+    public int size()
+    {
+        return tail + 1;
+    }
+
+    /**
+     * Returns the index of the maximum: the root if it is the only element,
+     * otherwise the greater of its children.
+     */
+    private int maxIndex()
+    {
+        if (tail < 2) {
+            return tail;
+        }
+        return array[2] > array[1] ? 2 : 1;
+    }
+
+    /**
+     * Replaces the element at the index (the root or one of its children) by the last element
+     * and trickles it down.
+     */
+    private int removeAt(final int index)
+    {
+        int value = array[index];
+        array[index] = array[tail];
+        --tail;
+        if (index <= tail) {
+            trickleDown(index);
+        }
+        return value;
+    }
+
+    private void grow()
+    {
+        int newSize = array.length << 1;
+        if (newSize < 0) {
+            throw new OutOfMemoryError();
+        }
+        array = Arrays.copyOf(array, newSize);
+    }
+
+    /**
+     * Returns whether the node at the index is on a min level, i.e. on an even level.
+     */
+    private static boolean isMinLevel(final int index)
+    {
+        return (Integer.numberOfLeadingZeros(index + 1) & 1) == 1;
+    }
+
+    private void trickleDown(final int index)
+    {
+        if (isMinLevel(index)) {
+            trickleDownMin(index);
+        } else {
+            trickleDownMax(index);
+        }
+    }
+
+    /**
+     * Moves the element down through the min levels until it is not greater than
+     * any of its descendants. Finishes in log(n) time, where n is the number of elements.
+     *
+     * @param index Index of the element on a min level.
+     */
+    private void trickleDownMin(int index)
+    {
+        while (true) {
+            int child = (index << 1) + 1;
+            if (child > tail) {
+                return; // We have nowhere to go, we are done
+            }
+            // The smallest of the children and the grandchildren
+            int min = smallestDescendant(child);
+            if (min <= child + 1) {
+                // A child on a max level is not less than its descendants, so none of them is smaller
+                if (array[min] < array[index]) {
+                    swap(min, index);
+                }
+                return;
+            }
+            if (array[min] >= array[index]) {
+                return; // Heap property is held
+            }
+            swap(min, index);
+            int parent = (min - 1) >> 1;
+            if (array[min] > array[parent]) {
+                swap(min, parent); // The element is greater than the max level above it
+            }
+            index = min;
+        }
+    }
+
+    /**
+     * Moves the element down through the max levels until it is not less than
+     * any of its descendants. Finishes in log(n) time, where n is the number of elements.
+     *
+     * @param index Index of the element on a max level.
+     */
+    private void trickleDownMax(int index)
+    {
+        while (true) {
+            int child = (index << 1) + 1;
+            if (child > tail) {
+                return; // We have nowhere to go, we are done
+            }
+            // The greatest of the children and the grandchildren
+            int max = greatestDescendant(child);
+            if (max <= child + 1) {
+                // A child on a min level is not greater than its descendants, so none of them is greater
+                if (array[max] > array[index]) {
+                    swap(max, index);
+                }
+                return;
+            }
+            if (array[max] <= array[index]) {
+                return; // Heap property is held
+            }
+            swap(max, index);
+            int parent = (max - 1) >> 1;
+            if (array[max] < array[parent]) {
+                swap(max, parent); // The element is less than the min level above it
+            }
+            index = max;
+        }
+    }
+
+    /**
+     * Finds the smallest of the children starting at the given index and of their children.
+     * A grandchild is returned only if it is strictly smaller than the children.
+     *
+     * @param child Index of the first child.
+     * @return Index of the smallest element.
+     */
+    private int smallestDescendant(final int child)
+    {
+        final int[] array = this.array;
+        final int tail = this.tail;
+        int best = child;
+        if (child < tail && array[child + 1] < array[best]) {
+            best = child + 1;
+        }
+        int lastGrandchild = Math.min((child << 1) + 4, tail);
+        for (int i = (child << 1) + 1; i <= lastGrandchild; i++) {
+            if (array[i] < array[best]) {
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Finds the greatest of the children starting at the given index and of their children.
+     * A grandchild is returned only if it is strictly greater than the children.
+     *
+     * @param child Index of the first child.
+     * @return Index of the greatest element.
+     */
+    private int greatestDescendant(final int child)
+    {
+        final int[] array = this.array;
+        final int tail = this.tail;
+        int best = child;
+        if (child < tail && array[child + 1] > array[best]) {
+            best = child + 1;
+        }
+        int lastGrandchild = Math.min((child << 1) + 4, tail);
+        for (int i = (child << 1) + 1; i <= lastGrandchild; i++) {
+            if (array[i] > array[best]) {
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Moves the last element up through the min or the max levels, depending on
+     * how it compares with its parent. Finishes in log(n) time, where n is the number of elements.
+     *
+     * @param index Index of the element.
+     */
+    private void bubbleUp(int index)
+    {
+        if (index == 0) {
+            return;
+        }
+        int parent = (index - 1) >> 1;
+        if (isMinLevel(index)) {
+            if (array[index] > array[parent]) {
+                swap(index, parent);
+                bubbleUpMax(parent);
+            } else {
+                bubbleUpMin(index);
+            }
+        } else {
+            if (array[index] < array[parent]) {
+                swap(index, parent);
+                bubbleUpMin(parent);
+            } else {
+                bubbleUpMax(index);
+            }
+        }
+    }
+
+    private void bubbleUpMin(int index)
+    {
+        while (index > 2) { // The node has a grandparent
+            int grandparent = (((index - 1) >> 1) - 1) >> 1;
+            if (array[grandparent] <= array[index]) {
+                break; // Heap property is held
+            }
+            swap(grandparent, index);
+            index = grandparent;
+        }
+    }
+
+    private void bubbleUpMax(int index)
+    {
+        while (index > 2) { // The node has a grandparent
+            int grandparent = (((index - 1) >> 1) - 1) >> 1;
+            if (array[grandparent] >= array[index]) {
+                break; // Heap property is held
+            }
+            swap(grandparent, index);
+            index = grandparent;
+        }
+    }
+
+    private void swap(int from, int to)
+    {
+        int temp = array[to];
+        array[to] = array[from];
+        array[from] = temp;
+    }
+
+}
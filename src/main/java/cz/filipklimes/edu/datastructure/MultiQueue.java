@@ -0,0 +1,281 @@
+package cz.filipklimes.edu.datastructure;
+
+import cz.filipklimes.edu.datastructure.exception.EmptyHeapException;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Implementation of MinHeap as a concurrent relaxed priority queue (a MultiQueue).
+ * The elements are spread over c * P binary heaps, each guarded by its own lock,
+ * where P is the number of threads and c a small constant. A push inserts the value
+ * into a random heap whose lock is free. A pop looks at the minimums of two
+ * random heaps and pops from the one with the smaller minimum. The threads
+ * therefore rarely contend for the same lock, but a pop returns only a value close
+ * to the minimum: its rank is O(c * P) in expectation.
+ * In the strict mode, pop and peek lock all heaps and return the true minimum,
+ * which is linearizable, but does not scale beyond a few threads.
+ * This data structure is thread-safe.
+ */
+public class MultiQueue implements MinHeap
+{
+
+    /**
+     * Cached minimum of an empty heap, greater than any int.
+     */
+    private static final long EMPTY = Long.MAX_VALUE;
+
+    /**
+     * Cached minimums are stored one cache line (8 longs) apart to prevent false sharing.
+     */
+    private static final int STRIDE = 8;
+
+    private final BinaryMinHeap[] queues;
+
+    private final ReentrantLock[] locks;
+
+    /**
+     * Minimum of every heap, read without locking to choose the heap to pop from.
+     */
+    private final AtomicLongArray minimums;
+
+    private final LongAdder size;
+
+    private final boolean strict;
+
+    /**
+     * Construct the MultiQueue.
+     *
+     * @param queuesPerThread Number of heaps per thread, 2 is a good default.
+     * @param threads         Number of threads expected to access the queue concurrently.
+     * @param strict          True to make pop and peek return the true minimum.
+     */
+    public MultiQueue(final int queuesPerThread, final int threads, final boolean strict)
+    {
+        if (queuesPerThread < 1 || threads < 1) {
+            throw new IllegalArgumentException("Number of threads and queues per thread must be at least 1.");
+        }
+        int count = queuesPerThread * threads;
+        this.queues = new BinaryMinHeap[count];
+        this.locks = new ReentrantLock[count];
+        this.minimums = new AtomicLongArray(count * STRIDE);
+        for (int i = 0; i < count; i++) {
+            queues[i] = new BinaryMinHeap();
+            locks[i] = new ReentrantLock();
+            minimums.set(i * STRIDE, EMPTY);
+        }
+        this.size = new LongAdder();
+        this.strict = strict;
+    }
+
+    /**
+     * Construct the relaxed MultiQueue with 2 heaps per available processor.
+     */
+    public MultiQueue()
+    {
+        this(2, Runtime.getRuntime().availableProcessors(), false);
+    }
+
+    public boolean isStrict()
+    {
+        return strict;
+    }
+
+    /**
+     * Returns the minimum value within the heap. In the relaxed mode, the value is only
+     * the smallest of the cached minimums, which may already be popped by another thread.
+     *
+     * @return The minimum value within the heap.
+     * @throws EmptyHeapException If the heap is empty.
+     */
+    public int peek()
+    {
+        if (strict) {
+            lockAll();
+            try {
+                return queues[minimumQueue()].peek();
+            } finally {
+                unlockAll();
+            }
+        }
+        long min = EMPTY;
+        for (int i = 0; i < queues.length; i++) {
+            min = Math.min(min, minimums.get(i * STRIDE));
+        }
+        if (min == EMPTY) {
+            throw new EmptyHeapException();
+        }
+        return (int) min;
+    }
+
+    /**
+     * Pops a value from the heap. In the relaxed mode, the value is the minimum
+     * of one of two randomly chosen heaps, not necessarily the global minimum.
+     *
+     * @return The popped value.
+     * @throws EmptyHeapException If all heaps were found empty.
+     */
+    public int pop()
+    {
+        if (strict) {
+            return popStrict();
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int misses = 0;
+        while (true) {
+            int first = random.nextInt(queues.length);
+            int second = random.nextInt(queues.length);
+            long firstMin = minimums.get(first * STRIDE);
+            long secondMin = minimums.get(second * STRIDE);
+            int index = secondMin < firstMin ? second : first;
+            if (Math.min(firstMin, secondMin) == EMPTY) {
+                if (++misses > queues.length) {
+                    return popAny();
+                }
+                continue;
+            }
+
+            ReentrantLock lock = locks[index];
+            if (!lock.tryLock()) {
+                continue;
+            }
+            try {
+                BinaryMinHeap queue = queues[index];
+                if (queue.size() == 0) {
+                    continue; // Another thread emptied the heap in the meantime
+                }
+                int value = queue.pop();
+                updateMinimum(index);
+                size.decrement();
+                return value;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Inserts the given value to a random heap whose lock is free.
+     *
+     * @param value The value. Can be negative.
+     */
+    public void push(final int value)
+    {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (true) {
+            int index = random.nextInt(queues.length);
+            ReentrantLock lock = locks[index];
+            if (strict) {
+                lock.lock(); // Spinning would only burn cycles while a strict pop holds all locks
+            } else if (!lock.tryLock()) {
+                continue;
+            }
+            try {
+                queues[index].push(value);
+                updateMinimum(index);
+            } finally {
+                lock.unlock();
+            }
+            size.increment();
+            return;
+        }
+    }
+
+    /**
+     * Returns number of elements stored in the heap. When other threads modify
+     * the heap concurrently, the result is only an estimate.
+     *
+     * @return Number of stored elements.
+     */
+    public int size()
+    {
+        return (int) Math.max(0, Math.min(size.sum(), Integer.MAX_VALUE));
+    }
+
+    /**
+     * Pops the true minimum while holding the locks of all heaps.
+     */
+    private int popStrict()
+    {
+        lockAll();
+        try {
+            int index = minimumQueue();
+            int value = queues[index].pop();
+            updateMinimum(index);
+            size.decrement();
+            return value;
+        } finally {
+            unlockAll();
+        }
+    }
+
+    /**
+     * Pops from the first non-empty heap, visiting them one by one.
+     * Used when the random choices keep hitting empty heaps.
+     */
+    private int popAny()
+    {
+        for (int i = 0; i < queues.length; i++) {
+            ReentrantLock lock = locks[i];
+            lock.lock();
+            try {
+                if (queues[i].size() > 0) {
+                    int value = queues[i].pop();
+                    updateMinimum(i);
+                    size.decrement();
+                    return value;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        throw new EmptyHeapException();
+    }
+
+    /**
+     * Finds the heap with the smallest minimum, all locks must be held.
+     *
+     * @return Index of the heap.
+     * @throws EmptyHeapException If all heaps are empty.
+     */
+    private int minimumQueue()
+    {
+        int index = -1;
+        for (int i = 0; i < queues.length; i++) {
+            if (queues[i].size() > 0 && (index < 0 || queues[i].peek() < queues[index].peek())) {
+                index = i;
+            }
+        }
+        if (index < 0) {
+            throw new EmptyHeapException();
+        }
+        return index;
+    }
+
+    /**
+     * Publishes the minimum of the heap, its lock must be held.
+     */
+    private void updateMinimum(final int index)
+    {
+        BinaryMinHeap queue = queues[index];
+        minimums.set(index * STRIDE, queue.size() > 0 ? queue.peek() : EMPTY);
+    }
+
+    private void lockAll()
+    {
+        // Always in the same order, so two strict operations cannot deadlock
+        for (ReentrantLock lock : locks) {
+            lock.lock();
+        }
+    }
+
+    private void unlockAll()
+    {
+        for (int i = locks.length - 1; i >= 0; i--) {
+            locks[i].unlock();
+        }
+    }
+
+}
@@ -0,0 +1,258 @@
+package cz.filipklimes.edu.datastructure;
+
+import cz.filipklimes.edu.datastructure.exception.EmptyHeapException;
+import cz.filipklimes.edu.datastructure.exception.InvalidInitialCapacityException;
+
+import java.util.*;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Implementation of a min heap (a priority queue) of objects ordered by a primitive key.
+ * The key of an object is extracted once when it is pushed and stored in an array
+ * parallel to the array of the objects. The sifts compare only the primitive keys
+ * and move the object references without dereferencing them, so unlike
+ * java.util.PriorityQueue there are no Comparable wrappers, no compareTo calls
+ * and no pointer chasing. The key of an object must not change while it is in the heap.
+ * Objects with equal keys are popped in an unspecified order.
+ * WARNING: This data structure is not thread-safe.
+ *
+ * @param <T> Type of the objects.
+ */
+public class ObjectMinHeap<T>
+{
+
+    private final ToLongFunction<? super T> keyExtractor;
+
+    private long[] keys;
+
+    private Object[] values;
+
+    /**
+     * Points to the last element of the heap.
+     */
+    private int tail;
+
+    private ObjectMinHeap(final ToLongFunction<? super T> keyExtractor, final int initialCapacity)
+    {
+        if (initialCapacity < 1) {
+            throw new InvalidInitialCapacityException();
+        }
+        this.keyExtractor = Objects.requireNonNull(keyExtractor);
+        this.keys = new long[initialCapacity];
+        this.values = new Object[initialCapacity];
+        this.tail = -1;
+    }
+
+    /**
+     * Creates a heap ordering the objects by an int key.
+     *
+     * @param keyExtractor    Function returning the key of an object.
+     * @param initialCapacity Initial capacity of the underlying arrays.
+     * @param <T>             Type of the objects.
+     * @return The empty heap.
+     */
+    public static <T> ObjectMinHeap<T> byInt(final ToIntFunction<? super T> keyExtractor, final int initialCapacity)
+    {
+        Objects.requireNonNull(keyExtractor);
+        return new ObjectMinHeap<>(keyExtractor::applyAsInt, initialCapacity);
+    }
+
+    /**
+     * Creates a heap ordering the objects by an int key with the initial capacity of 128.
+     *
+     * @see #byInt(ToIntFunction, int)
+     */
+    public static <T> ObjectMinHeap<T> byInt(final ToIntFunction<? super T> keyExtractor)
+    {
+        return byInt(keyExtractor, 128);
+    }
+
+    /**
+     * Creates a heap ordering the objects by a long key.
+     *
+     * @param keyExtractor    Function returning the key of an object.
+     * @param initialCapacity Initial capacity of the underlying arrays.
+     * @param <T>             Type of the objects.
+     * @return The empty heap.
+     */
+    public static <T> ObjectMinHeap<T> byLong(final ToLongFunction<? super T> keyExtractor, final int initialCapacity)
+    {
+        return new ObjectMinHeap<>(keyExtractor, initialCapacity);
+    }
+
+    /**
+     * Creates a heap ordering the objects by a long key with the initial capacity of 128.
+     *
+     * @see #byLong(ToLongFunction, int)
+     */
+    public static <T> ObjectMinHeap<T> byLong(final ToLongFunction<? super T> keyExtractor)
+    {
+        return byLong(keyExtractor, 128);
+    }
+
+    /**
+     * Returns the object which would be popped next.
+     * The object remains in the heap.
+     *
+     * @return The object with the minimum key.
+     * @throws EmptyHeapException If the heap is empty.
+     */
+    @SuppressWarnings("unchecked")
+    public T peek()
+    {
+        if (tail < 0) {
+            throw new EmptyHeapException();
+        }
+        return (T) values[0];
+    }
+
+    /**
+     * Returns the minimum key within the heap.
+     *
+     * @return Key of the object which would be popped next.
+     * @throws EmptyHeapException If the heap is empty.
+     */
+    public long peekKey()
+    {
+        if (tail < 0) {
+            throw new EmptyHeapException();
+        }
+        return keys[0];
+    }
+
+    /**
+     * Pops the object with the minimum key from the heap.
+     * The object will no longer be present within the heap.
+     *
+     * @return The object with the minimum key.
+     * @throws EmptyHeapException If the heap is empty.
+     */
+    @SuppressWarnings("unchecked")
+    public T pop()
+    {
+        if (tail < 0) {
+            throw new EmptyHeapException();
+        }
+        T min = (T) values[0];
+
+        long lastKey = keys[tail];
+        Object lastValue = values[tail];
+        values[tail] = null; // Let the object be collected once popped
+        --tail;
+        if (tail >= 0) {
+            bubbleDown(0, lastKey, lastValue);
+        }
+
+        return min;
+    }
+
+    /**
+     * Inserts the given object to the heap, its key is extracted once.
+     *
+     * @param value The object.
+     */
+    public void push(final T value)
+    {
+        long key = keyExtractor.applyAsLong(value);
+        ++tail;
+        if (tail >= keys.length) {
+            grow();
+        }
+
+        bubbleUp(tail, key, value);
+    }
+
+    /**
+     * Returns number of objects stored in the heap.
+     *
+     * @return Number of stored objects.
+     */
+    public int size()
+    {
+        return tail + 1;
+    }
+
+    /**
+     * Removes all objects from the heap, the underlying arrays are kept.
+     */
+    public void clear()
+    {
+        Arrays.fill(values, 0, tail + 1, null);
+        tail = -1;
+    }
+
+    /**
+     * Grows the underlying arrays by the factor of 2.
+     */
+    private void grow()
+    {
+        int newSize = keys.length << 1;
+        if (newSize < 0) {
+            throw new OutOfMemoryError();
+        }
+        keys = Arrays.copyOf(keys, newSize);
+        values = Arrays.copyOf(values, newSize);
+    }
+
+    /**
+     * Moves the hole at the given index down until the object can be placed into it
+     * without breaking the heap property.
+     * Finishes in log(n) time, where n is the number of elements.
+     *
+     * @param index Index of the hole from which to bubble down.
+     * @param key   Key of the object to be placed into the heap.
+     * @param value The object to be placed into the heap.
+     */
+    private void bubbleDown(int index, final long key, final Object value)
+    {
+        final long[] keys = this.keys;
+        final Object[] values = this.values;
+        final int size = tail + 1;
+        final int half = size >>> 1; // Nodes from this index on are leaves
+        while (index < half) {
+            int child = (index << 1) + 1;
+            long min = keys[child];
+            int right = child + 1;
+            if (right < size && keys[right] < min) {
+                min = keys[right];
+                child = right;
+            }
+            if (key <= min) {
+                break; // Heap property is held
+            }
+            keys[index] = min;
+            values[index] = values[child];
+            index = child;
+        }
+        keys[index] = key;
+        values[index] = value;
+    }
+
+    /**
+     * Moves the hole at the given index up until the object can be placed into it
+     * without breaking the heap property.
+     * Finishes in log(n) time, where n is the number of elements.
+     *
+     * @param index Index of the hole from which to bubble up.
+     * @param key   Key of the object to be placed into the heap.
+     * @param value The object to be placed into the heap.
+     */
+    private void bubbleUp(int index, final long key, final Object value)
+    {
+        final long[] keys = this.keys;
+        final Object[] values = this.values;
+        while (index > 0) {
+            int parentIndex = (index - 1) >> 1;
+            if (keys[parentIndex] <= key) {
+                break; // Heap property is held
+            }
+            keys[index] = keys[parentIndex];
+            values[index] = values[parentIndex];
+            index = parentIndex;
+        }
+        keys[index] = key;
+        values[index] = value;
+    }
+
+}
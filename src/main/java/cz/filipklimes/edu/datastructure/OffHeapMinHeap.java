@@ -0,0 +1,340 @@
+package cz.filipklimes.edu.datastructure;
+
+import cz.filipklimes.edu.datastructure.exception.EmptyHeapException;
+import cz.filipklimes.edu.datastructure.exception.InvalidInitialCapacityException;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.*;
+
+/**
+ * Implementation of MinHeap (a priority queue) as a binary heap stored
+ * outside of the Java heap, so it can hold more than 2^31 elements and the
+ * garbage collector never has to copy or scan it.
+ * The elements are stored in fixed-size pages of native memory, direct buffers
+ * addressed by a long index. When the heap is full, a new page is allocated and the existing
+ * pages stay where they are, so growing never copies the elements.
+ * The native memory counts against the limit of direct buffers, -XX:MaxDirectMemorySize,
+ * which is the maximum Java heap size by default.
+ * The native memory is freed by {@link #close()} at once, not when the garbage collector
+ * collects the buffers, the heap must not be used afterwards.
+ * WARNING: This data structure is not thread-safe.
+ */
+public class OffHeapMinHeap implements MinHeap, AutoCloseable
+{
+
+    /**
+     * Binary logarithm of the number of elements in one page (4 MiB of ints).
+     */
+    private static final int PAGE_SHIFT = 20;
+
+    private static final long PAGE_SIZE = 1L << PAGE_SHIFT;
+
+    private static final long PAGE_MASK = PAGE_SIZE - 1;
+
+    /**
+     * The allocated pages, direct buffers freed by {@link #close()}.
+     */
+    private ByteBuffer[] buffers;
+
+    /**
+     * Int views of the pages in the native byte order.
+     */
+    private IntBuffer[] pages;
+
+    private int pageCount;
+
+    /**
+     * Number of elements in the heap.
+     */
+    private long size;
+
+    private boolean closed;
+
+    /**
+     * Construct the off-heap binary heap and allocate enough pages for the given number of elements.
+     *
+     * @param initialCapacity Number of elements the heap can hold without allocating more pages.
+     */
+    public OffHeapMinHeap(final long initialCapacity)
+    {
+        if (initialCapacity < 1) {
+            throw new InvalidInitialCapacityException();
+        }
+        this.buffers = new ByteBuffer[16];
+        this.pages = new IntBuffer[16];
+        this.pageCount = 0;
+        this.size = 0;
+        try {
+            while (capacity() < initialCapacity) {
+                addPage();
+            }
+        } catch (OutOfMemoryError e) {
+            close();
+            throw e;
+        }
+    }
+
+    public OffHeapMinHeap()
+    {
+        this(PAGE_SIZE);
+    }
+
+    /**
+     * @inheritDoc
+     */
+    public int peek()
+    {
+        if (size == 0) {
+            checkOpen();
+            throw new EmptyHeapException();
+        }
+        return get(0);
+    }
+
+    /**
+     * @inheritDoc
+     */
+    public int pop()
+    {
+        if (size == 0) {
+            checkOpen();
+            throw new EmptyHeapException();
+        }
+        int min = get(0);
+
+        --size;
+        if (size > 0) {
+            bubbleDown(0, get(size));
+        }
+
+        return min;
+    }
+
+    /**
+     * @inheritDoc
+     */
+    public void push(final int value)
+    {
+        if (size == capacity()) {
+            checkOpen();
+            addPage();
+        }
+
+        bubbleUp(size++, value);
+    }
+
+    /**
+     * Returns number of elements stored in the heap, saturated to Integer.MAX_VALUE.
+     *
+     * @return Number of stored elements.
+     * @see #longSize()
+     */
+    public int size()
+    {
+        return (int) Math.min(size, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns number of elements stored in the heap.
+     *
+     * @return Number of stored elements.
+     */
+    public long longSize()
+    {
+        return size;
+    }
+
+    /**
+     * Returns number of elements the heap can hold without allocating more pages.
+     *
+     * @return Number of elements in all allocated pages.
+     */
+    public long capacity()
+    {
+        return (long) pageCount << PAGE_SHIFT;
+    }
+
+    /**
+     * Frees all native memory held by the heap.
+     * Closing an already closed heap has no effect.
+     */
+    @Override
+    public void close()
+    {
+        if (closed) {
+            return;
+        }
+        // The views must not be used once the memory is freed
+        pages = new IntBuffer[0];
+        for (int i = 0; i < pageCount; i++) {
+            DirectMemory.free(buffers[i]);
+        }
+        buffers = new ByteBuffer[0];
+        pageCount = 0;
+        size = 0;
+        closed = true;
+    }
+
+    private void checkOpen()
+    {
+        if (closed) {
+            throw new IllegalStateException("The heap has already been closed.");
+        }
+    }
+
+    private void addPage()
+    {
+        if (pageCount == pages.length) {
+            buffers = Arrays.copyOf(buffers, pageCount << 1);
+            pages = Arrays.copyOf(pages, pageCount << 1);
+        }
+        buffers[pageCount] = ByteBuffer.allocateDirect((int) PAGE_SIZE << 2);
+        pages[pageCount] = buffers[pageCount].order(ByteOrder.nativeOrder()).asIntBuffer();
+        ++pageCount;
+    }
+
+    private int get(final long index)
+    {
+        return pages[(int) (index >>> PAGE_SHIFT)].get((int) (index & PAGE_MASK));
+    }
+
+    private void set(final long index, final int value)
+    {
+        pages[(int) (index >>> PAGE_SHIFT)].put((int) (index & PAGE_MASK), value);
+    }
+
+    /**
+     * Moves the hole at the given index down until the value can be placed into it
+     * without breaking the heap property.
+     * Finishes in log(n) time, where n is the number of elements.
+     *
+     * @param index Index of the hole from which to bubble down.
+     * @param value Value to be placed into the heap.
+     */
+    private void bubbleDown(long index, final int value)
+    {
+        long half = size >>> 1; // Nodes from this index on are leaves
+        while (index < half) {
+            long child = (index << 1) + 1;
+            int min = get(child);
+            if (child + 1 < size) {
+                int right = get(child + 1);
+                if (right < min) {
+                    min = right;
+                    ++child;
+                }
+            }
+            if (value <= min) {
+                break; // Heap property is held
+            }
+            set(index, min);
+            index = child;
+        }
+        set(index, value);
+    }
+
+    /**
+     * Moves the hole at the given index up until the value can be placed into it
+     * without breaking the heap property.
+     * Finishes in log(n) time, where n is the number of elements.
+     *
+     * @param index Index of the hole from which to bubble up.
+     * @param value Value to be placed into the heap.
+     */
+    private void bubbleUp(long index, final int value)
+    {
+        while (index > 0) {
+            long parentIndex = (index - 1) >>> 1;
+            int parent = get(parentIndex);
+            if (parent <= value) {
+                break; // Heap property is held
+            }
+            set(index, parent);
+            index = parentIndex;
+        }
+        set(index, value);
+    }
+
+    /**
+     * Frees the native memory of direct buffers at once, by Unsafe.invokeCleaner on Java 9 and later,
+     * or by the cleaner of the buffer on Java 8. Both are internal APIs, so they are looked up
+     * by reflection, which compiles without warnings. A JVM without either of them frees
+     * the memory when the garbage collector collects the buffers.
+     */
+    private static final class DirectMemory
+    {
+
+        /**
+         * Unsafe.invokeCleaner(ByteBuffer) and the Unsafe instance, Java 9 and later.
+         */
+        private static final Method INVOKE_CLEANER;
+
+        private static final Object UNSAFE;
+
+        /**
+         * DirectBuffer.cleaner() and Cleaner.clean(), Java 8.
+         */
+        private static final Method CLEANER;
+
+        private static final Method CLEAN;
+
+        static {
+            Method invokeCleaner = null;
+            Object unsafe = null;
+            Method cleaner = null;
+            Method clean = null;
+            try {
+                Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+                invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+                Field field = unsafeClass.getDeclaredField("theUnsafe");
+                field.setAccessible(true);
+                unsafe = field.get(null);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                invokeCleaner = null;
+                try {
+                    cleaner = ByteBuffer.allocateDirect(1).getClass().getMethod("cleaner");
+                    cleaner.setAccessible(true);
+                    clean = cleaner.getReturnType().getMethod("clean");
+                } catch (ReflectiveOperationException | RuntimeException ignored) {
+                    cleaner = null;
+                }
+            }
+            INVOKE_CLEANER = invokeCleaner;
+            UNSAFE = unsafe;
+            CLEANER = cleaner;
+            CLEAN = clean;
+        }
+
+        private DirectMemory()
+        {
+        }
+
+        /**
+         * Frees the memory of the buffer, which must not be used afterwards.
+         *
+         * @param buffer A direct buffer allocated by ByteBuffer.allocateDirect, not a view of one.
+         */
+        static void free(final ByteBuffer buffer)
+        {
+            try {
+                if (INVOKE_CLEANER != null) {
+                    INVOKE_CLEANER.invoke(UNSAFE, buffer);
+                } else if (CLEANER != null) {
+                    Object cleaner = CLEANER.invoke(buffer);
+                    if (cleaner != null) {
+                        CLEAN.invoke(cleaner);
+                    }
+                }
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                throw new IllegalStateException("Cannot free a direct buffer.", e);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,555 @@
+package cz.filipklimes.edu.datastructure;
+
+import cz.filipklimes.edu.datastructure.exception.EmptyHeapException;
+import cz.filipklimes.edu.datastructure.exception.InvalidHandleException;
+import cz.filipklimes.edu.datastructure.exception.InvalidInitialCapacityException;
+
+import java.util.*;
+
+/**
+ * Implementation of MinHeap as a pairing heap, a meldable priority queue.
+ * The heap is a tree whose every node is not greater than its children, the children
+ * of a node are kept in a doubly linked list. Two trees are linked by making the root
+ * with the greater key the first child of the other one, so a push, a meld of two heaps
+ * and a decrease of a key take O(1) time. A pop removes the root and links its children
+ * in two passes (pairs from left to right, then the pairs from right to left),
+ * which takes amortized O(log n) time.
+ * The nodes are not objects, they are indices into the primitive arrays of a {@link NodePool}.
+ * Heaps sharing a pool can be melded in O(1) time, heaps with different pools
+ * are melded by moving the elements one by one.
+ * The index of a node is its handle, returned by {@link #insert(int)}, which can be used
+ * to decrease the key of the node until it is popped. Then the handle is reused by the pool.
+ * Every node records the heap it belongs to, so a handle of another heap of the same pool
+ * is rejected. The owners are kept in a union-find over the ids of the heaps, a meld unites
+ * the ids of the two heaps, so it stays O(1).
+ * WARNING: This data structure is not thread-safe, neither is the pool,
+ * so all heaps sharing a pool must be used by one thread at a time.
+ */
+public class PairingHeap implements MinHeap
+{
+
+    /**
+     * No node, e.g. the child of a leaf.
+     */
+    private static final int NIL = -1;
+
+    /**
+     * Marks the previous node of a node in the free list of the pool.
+     */
+    private static final int FREE = -2;
+
+    private final NodePool pool;
+
+    private int root;
+
+    private int size;
+
+    /**
+     * Owner id of the nodes of this heap in the pool, {@link #NIL} while the heap is empty.
+     */
+    private int id;
+
+    /**
+     * Construct the pairing heap storing its nodes in the given pool.
+     *
+     * @param pool The pool, which can be shared with other heaps.
+     */
+    public PairingHeap(final NodePool pool)
+    {
+        this.pool = Objects.requireNonNull(pool);
+        this.root = NIL;
+        this.size = 0;
+        this.id = NIL;
+    }
+
+    /**
+     * Construct the pairing heap with its own pool.
+     *
+     * @param initialCapacity Initial number of nodes of the pool.
+     */
+    public PairingHeap(final int initialCapacity)
+    {
+        this(new NodePool(initialCapacity));
+    }
+
+    public PairingHeap()
+    {
+        this(128);
+    }
+
+    /**
+     * @inheritDoc
+     */
+    public int peek()
+    {
+        if (size == 0) {
+            throw new EmptyHeapException();
+        }
+        return pool.keys[root];
+    }
+
+    /**
+     * @inheritDoc
+     */
+    public int pop()
+    {
+        if (size == 0) {
+            throw new EmptyHeapException();
+        }
+        int min = pool.keys[root];
+        int first = pool.child[root];
+        pool.free(root);
+        root = combine(first);
+        if (--size == 0) {
+            pool.releaseOwner(id);
+            id = NIL;
+        }
+        return min;
+    }
+
+    /**
+     * @inheritDoc
+     */
+    public void push(final int value)
+    {
+        insert(value);
+    }
+
+    /**
+     * Inserts the given value to the heap.
+     *
+     * @param value The value. Can be negative.
+     * @return Handle of the node holding the value, valid until the value is popped.
+     */
+    public int insert(final int value)
+    {
+        if (id == NIL) {
+            id = pool.newOwner();
+        }
+        int node = pool.allocate(value, id);
+        root = root == NIL ? node : link(root, node);
+        ++size;
+        return node;
+    }
+
+    /**
+     * Moves all elements of the other heap into this heap, leaving the other heap empty.
+     * If both heaps share the pool, the roots are linked in O(1) time and the handles
+     * of the moved elements remain valid. Otherwise the elements are moved one by one
+     * in linear time and their handles are invalidated.
+     *
+     * @param other The heap whose elements will be moved to this heap.
+     */
+    public void meld(final PairingHeap other)
+    {
+        if (other == this) {
+            throw new IllegalArgumentException("Cannot meld a heap with itself.");
+        }
+        if (other.size == 0) {
+            return;
+        }
+        if (other.pool != pool) {
+            other.release(this);
+            return;
+        }
+        if (id == NIL) {
+            id = other.id;
+        } else {
+            pool.uniteOwners(other.id, id);
+        }
+        root = root == NIL ? other.root : link(root, other.root);
+        size += other.size;
+        other.root = NIL;
+        other.size = 0;
+        other.id = NIL;
+    }
+
+    /**
+     * Decreases the key of the node with the given handle.
+     * The node is cut from its parent together with its subtree and linked with the root.
+     *
+     * @param handle Handle of a node of this heap returned by {@link #insert(int)}.
+     * @param key    The new key, which must not be greater than the current one.
+     * @throws InvalidHandleException If the handle does not belong to a node of this heap, nothing is changed then.
+     */
+    public void decreaseKey(final int handle, final int key)
+    {
+        int current = keyOf(handle);
+        if (key > current) {
+            throw new IllegalArgumentException(String.format("Key %d is greater than the current key %d.", key, current));
+        }
+        final NodePool pool = this.pool;
+        pool.keys[handle] = key;
+        if (handle == root) {
+            return;
+        }
+        int previous = pool.prev[handle];
+        int next = pool.sibling[handle];
+        if (pool.child[previous] == handle) {
+            pool.child[previous] = next; // The node is the first child of the previous node
+        } else {
+            pool.sibling[previous] = next;
+        }
+        if (next != NIL) {
+            pool.prev[next] = previous;
+        }
+        pool.sibling[handle] = NIL;
+        pool.prev[handle] = NIL;
+        root = link(root, handle);
+    }
+
+    /**
+     * Returns the key of the node with the given handle.
+     *
+     * @param handle Handle returned by {@link #insert(int)}.
+     * @return The key.
+     * @throws InvalidHandleException If the handle does not belong to a node of this heap.
+     */
+    public int keyOf(final int handle)
+    {
+        if (id == NIL || !pool.isAllocated(handle) || pool.ownerOf(handle) != id) {
+            throw new InvalidHandleException(handle);
+        }
+        return pool.keys[handle];
+    }
+
+    /**
+     * @inheritDoc
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Removes all elements from the heap and returns their nodes to the pool in linear time.
+     */
+    public void clear()
+    {
+        release(null);
+    }
+
+    public NodePool pool()
+    {
+        return pool;
+    }
+
+    /**
+     * Links two roots, the one with the greater key becomes the first child of the other one.
+     *
+     * @return The root of the linked tree.
+     */
+    private int link(int first, int second)
+    {
+        final NodePool pool = this.pool;
+        if (pool.keys[second] < pool.keys[first]) {
+            int temp = first;
+            first = second;
+            second = temp;
+        }
+        int child = pool.child[first];
+        pool.sibling[second] = child;
+        if (child != NIL) {
+            pool.prev[child] = second;
+        }
+        pool.prev[second] = first;
+        pool.child[first] = second;
+        return first;
+    }
+
+    /**
+     * Links the list of siblings into a single tree by the two-pass pairing:
+     * the first pass links the siblings in pairs from left to right and pushes
+     * the results to a stack threaded through the sibling pointers, the second pass
+     * links the pairs from right to left into one tree.
+     *
+     * @param first The first node of the list.
+     * @return The root of the tree.
+     */
+    private int combine(final int first)
+    {
+        if (first == NIL) {
+            return NIL;
+        }
+        final NodePool pool = this.pool;
+        int stack = NIL;
+        int node = first;
+        while (node != NIL) {
+            int pair = pool.sibling[node];
+            if (pair == NIL) {
+                pool.sibling[node] = stack;
+                stack = node;
+                break;
+            }
+            int next = pool.sibling[pair];
+            int linked = link(node, pair);
+            pool.sibling[linked] = stack;
+            stack = linked;
+            node = next;
+        }
+
+        int result = stack;
+        stack = pool.sibling[stack];
+        while (stack != NIL) {
+            int next = pool.sibling[stack];
+            result = link(result, stack);
+            stack = next;
+        }
+        pool.sibling[result] = NIL;
+        pool.prev[result] = NIL;
+        return result;
+    }
+
+    /**
+     * Returns all nodes of the heap to the pool, visiting them without recursion:
+     * the children of a visited node are prepended to the list of nodes to visit.
+     *
+     * @param target Heap to insert the keys of the nodes into, or null to drop them.
+     */
+    private void release(final PairingHeap target)
+    {
+        final NodePool pool = this.pool;
+        int list = root;
+        while (list != NIL) {
+            int node = list;
+            list = pool.sibling[node];
+            int child = pool.child[node];
+            if (child != NIL) {
+                int last = child;
+                while (pool.sibling[last] != NIL) {
+                    last = pool.sibling[last];
+                }
+                pool.sibling[last] = list;
+                list = child;
+            }
+            if (target != null) {
+                target.insert(pool.keys[node]);
+            }
+            pool.free(node);
+        }
+        if (id != NIL) {
+            pool.releaseOwner(id);
+        }
+        root = NIL;
+        size = 0;
+        id = NIL;
+    }
+
+    /**
+     * Storage of the nodes of pairing heaps in primitive arrays indexed by the nodes.
+     * The nodes of popped elements are kept in a free list and reused, the arrays
+     * are grown by the factor of 2 when all nodes are in use.
+     * WARNING: This data structure is not thread-safe.
+     */
+    public static final class NodePool
+    {
+
+        private int[] keys;
+
+        /**
+         * First child of every node.
+         */
+        private int[] child;
+
+        /**
+         * Next sibling of every node, or the next node of the free list.
+         */
+        private int[] sibling;
+
+        /**
+         * Previous sibling of every node, or its parent for the first child,
+         * {@link #NIL} for a root and {@link #FREE} for a node in the free list.
+         */
+        private int[] prev;
+
+        /**
+         * Owner id of every node, resolved to the id of its heap by {@link #ownerOf(int)}.
+         */
+        private int[] owners;
+
+        /**
+         * Parent of every owner id in the union-find, an id of a nonempty heap is a root.
+         */
+        private int[] ownerParents;
+
+        /**
+         * Next id in the circular list of the ids united into one set,
+         * or the next id of the free list of ids.
+         */
+        private int[] ownerNext;
+
+        private int usedOwners;
+
+        private int freeOwners;
+
+        /**
+         * Number of nodes ever allocated, the nodes from this index on were never used.
+         */
+        private int used;
+
+        private int freeList;
+
+        private int allocated;
+
+        /**
+         * Construct the pool.
+         *
+         * @param initialCapacity Initial number of nodes.
+         */
+        public NodePool(final int initialCapacity)
+        {
+            if (initialCapacity < 1) {
+                throw new InvalidInitialCapacityException();
+            }
+            this.keys = new int[initialCapacity];
+            this.child = new int[initialCapacity];
+            this.sibling = new int[initialCapacity];
+            this.prev = new int[initialCapacity];
+            this.owners = new int[initialCapacity];
+            this.ownerParents = new int[16];
+            this.ownerNext = new int[16];
+            this.usedOwners = 0;
+            this.freeOwners = NIL;
+            this.used = 0;
+            this.freeList = NIL;
+            this.allocated = 0;
+        }
+
+        public NodePool()
+        {
+            this(128);
+        }
+
+        /**
+         * Returns number of nodes in use by all heaps of the pool.
+         *
+         * @return Number of allocated nodes.
+         */
+        public int allocated()
+        {
+            return allocated;
+        }
+
+        /**
+         * Returns number of nodes the pool can hold without growing.
+         *
+         * @return Length of the node arrays.
+         */
+        public int capacity()
+        {
+            return keys.length;
+        }
+
+        private boolean isAllocated(final int node)
+        {
+            return node >= 0 && node < used && prev[node] != FREE;
+        }
+
+        private int allocate(final int key, final int owner)
+        {
+            int node = freeList;
+            if (node != NIL) {
+                freeList = sibling[node];
+            } else {
+                if (used == keys.length) {
+                    grow();
+                }
+                node = used++;
+            }
+            keys[node] = key;
+            owners[node] = owner;
+            child[node] = NIL;
+            sibling[node] = NIL;
+            prev[node] = NIL;
+            ++allocated;
+            return node;
+        }
+
+        private void free(final int node)
+        {
+            prev[node] = FREE;
+            sibling[node] = freeList;
+            freeList = node;
+            --allocated;
+        }
+
+        private void grow()
+        {
+            int newSize = keys.length << 1;
+            if (newSize < 0) {
+                throw new OutOfMemoryError();
+            }
+            keys = Arrays.copyOf(keys, newSize);
+            child = Arrays.copyOf(child, newSize);
+            sibling = Arrays.copyOf(sibling, newSize);
+            prev = Arrays.copyOf(prev, newSize);
+            owners = Arrays.copyOf(owners, newSize);
+        }
+
+        /**
+         * Returns a new owner id for a heap which is no longer empty.
+         */
+        private int newOwner()
+        {
+            int owner = freeOwners;
+            if (owner != NIL) {
+                freeOwners = ownerNext[owner];
+            } else {
+                if (usedOwners == ownerParents.length) {
+                    int newSize = ownerParents.length << 1;
+                    if (newSize < 0) {
+                        throw new OutOfMemoryError();
+                    }
+                    ownerParents = Arrays.copyOf(ownerParents, newSize);
+                    ownerNext = Arrays.copyOf(ownerNext, newSize);
+                }
+                owner = usedOwners++;
+            }
+            ownerParents[owner] = owner;
+            ownerNext[owner] = owner;
+            return owner;
+        }
+
+        /**
+         * Returns the owner id of the heap the node belongs to, halving the path to the root.
+         */
+        private int ownerOf(final int node)
+        {
+            int owner = owners[node];
+            while (ownerParents[owner] != owner) {
+                ownerParents[owner] = ownerParents[ownerParents[owner]];
+                owner = ownerParents[owner];
+            }
+            return owner;
+        }
+
+        /**
+         * Unites the owner ids of two heaps after a meld, the nodes of the first one now belong to the second one.
+         */
+        private void uniteOwners(final int from, final int into)
+        {
+            ownerParents[from] = into;
+            // Splice the circular lists of the two sets
+            int next = ownerNext[from];
+            ownerNext[from] = ownerNext[into];
+            ownerNext[into] = next;
+        }
+
+        /**
+         * Returns all ids united with the owner id of an emptied heap to the free list,
+         * no allocated node refers to them any more.
+         */
+        private void releaseOwner(final int owner)
+        {
+            int current = owner;
+            do {
+                int next = ownerNext[current];
+                ownerNext[current] = freeOwners;
+                freeOwners = current;
+                current = next;
+            } while (current != owner);
+        }
+
+    }
+
+}
@@ -0,0 +1,186 @@
+package cz.filipklimes.edu.datastructure;
+
+import cz.filipklimes.edu.datastructure.exception.EmptyHeapException;
+import cz.filipklimes.edu.datastructure.exception.InvalidInitialCapacityException;
+import cz.filipklimes.edu.datastructure.exception.NonMonotoneValueException;
+
+import java.util.*;
+
+/**
+ * Implementation of MinHeap as a radix heap, a monotone priority queue.
+ * The heap only accepts values which are not less than the last popped value,
+ * which is the case of event queues ordered by time or of Dijkstra's algorithm.
+ * Pushing a smaller value throws {@link NonMonotoneValueException}.
+ * The values are kept in 33 buckets: bucket 0 holds the values equal to the last
+ * popped one, bucket i holds the values whose highest bit differing from the last popped
+ * value is the bit i - 1. A push is O(1), a pop empties the first non-empty bucket
+ * into the lower ones only when bucket 0 is empty, and each value moves
+ * to a lower bucket at most 32 times, so a pop takes amortized O(log C) time,
+ * where C is the range of the values.
+ * The buckets keep their arrays when emptied, so once they are large enough,
+ * no operation allocates memory.
+ * WARNING: This data structure is not thread-safe.
+ */
+public class RadixMinHeap implements MinHeap
+{
+
+    private static final int BUCKETS = 33;
+
+    /**
+     * The values are stored XORed by the sign bit, which orders them as unsigned ints.
+     */
+    private static final int SIGN = Integer.MIN_VALUE;
+
+    private final int[][] buckets;
+
+    private final int[] bucketSizes;
+
+    /**
+     * Minimum of every bucket (as unsigned int), valid for non-empty buckets only.
+     */
+    private final int[] bucketMinimums;
+
+    /**
+     * Bit i is set when bucket i is not empty.
+     */
+    private long nonEmpty;
+
+    /**
+     * The last popped value (as unsigned int), no smaller value can be pushed.
+     */
+    private int last;
+
+    private int size;
+
+    /**
+     * Construct the radix heap.
+     *
+     * @param initialBucketCapacity Initial capacity of each bucket.
+     */
+    public RadixMinHeap(final int initialBucketCapacity)
+    {
+        if (initialBucketCapacity < 1) {
+            throw new InvalidInitialCapacityException();
+        }
+        this.buckets = new int[BUCKETS][];
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = new int[initialBucketCapacity];
+        }
+        this.bucketSizes = new int[BUCKETS];
+        this.bucketMinimums = new int[BUCKETS];
+        this.nonEmpty = 0;
+        this.last = 0; // Integer.MIN_VALUE, any value can be pushed
+        this.size = 0;
+    }
+
+    public RadixMinHeap()
+    {
+        this(16);
+    }
+
+    /**
+     * @inheritDoc
+     */
+    public int peek()
+    {
+        if (size == 0) {
+            throw new EmptyHeapException();
+        }
+        return bucketMinimums[Long.numberOfTrailingZeros(nonEmpty)] ^ SIGN;
+    }
+
+    /**
+     * @inheritDoc
+     */
+    public int pop()
+    {
+        if (size == 0) {
+            throw new EmptyHeapException();
+        }
+        if (bucketSizes[0] == 0) {
+            redistribute(Long.numberOfTrailingZeros(nonEmpty));
+        }
+        --size;
+        if (--bucketSizes[0] == 0) {
+            nonEmpty &= ~1L;
+        }
+        return last ^ SIGN;
+    }
+
+    /**
+     * Inserts the given value to the heap.
+     *
+     * @param value The value, not less than the last popped value.
+     * @throws NonMonotoneValueException If the value is less than the last popped value.
+     */
+    public void push(final int value)
+    {
+        int unsigned = value ^ SIGN;
+        if (Integer.compareUnsigned(unsigned, last) < 0) {
+            throw new NonMonotoneValueException(value, last ^ SIGN);
+        }
+        add(bucket(unsigned), unsigned);
+        ++size;
+    }
+
+    /**
+     * @inheritDoc
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Returns the last popped value, no smaller value can be pushed.
+     *
+     * @return The last popped value, or Integer.MIN_VALUE if no value has been popped yet.
+     */
+    public int lastPopped()
+    {
+        return last ^ SIGN;
+    }
+
+    /**
+     * Returns the bucket of the value relative to the last popped value.
+     */
+    private int bucket(final int unsigned)
+    {
+        return 32 - Integer.numberOfLeadingZeros(unsigned ^ last);
+    }
+
+    private void add(final int index, final int unsigned)
+    {
+        int bucketSize = bucketSizes[index];
+        int[] bucket = buckets[index];
+        if (bucketSize == bucket.length) {
+            bucket = Arrays.copyOf(bucket, bucketSize << 1);
+            buckets[index] = bucket;
+        }
+        bucket[bucketSize] = unsigned;
+        bucketSizes[index] = bucketSize + 1;
+        if (bucketSize == 0 || Integer.compareUnsigned(unsigned, bucketMinimums[index]) < 0) {
+            bucketMinimums[index] = unsigned;
+        }
+        nonEmpty |= 1L << index;
+    }
+
+    /**
+     * Makes the minimum of the given bucket the last popped value and moves the values
+     * of the bucket to the lower buckets relative to it. The minimum itself moves to bucket 0.
+     *
+     * @param index Index of the first non-empty bucket.
+     */
+    private void redistribute(final int index)
+    {
+        last = bucketMinimums[index];
+        int[] bucket = buckets[index];
+        int bucketSize = bucketSizes[index];
+        bucketSizes[index] = 0;
+        nonEmpty &= ~(1L << index);
+        for (int i = 0; i < bucketSize; i++) {
+            add(bucket(bucket[i]), bucket[i]);
+        }
+    }
+
+}
@@ -0,0 +1,245 @@
+package cz.filipklimes.edu.datastructure;
+
+import cz.filipklimes.edu.datastructure.exception.EmptyHeapException;
+import cz.filipklimes.edu.datastructure.exception.InvalidInitialCapacityException;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Implementation of MinHeap (a priority queue) as a binary heap stored
+ * in fixed-size segments instead of one contiguous array.
+ * When the heap is full, one more segment is allocated and the elements
+ * are never copied, so the latency of a push does not spike at 100M+ elements
+ * and the memory never has to hold the old and the new array at once.
+ * When the heap is drained, the segments which are no longer needed are released,
+ * keeping one spare segment so that a push right after a pop does not allocate.
+ * The price is one more indirection on every access.
+ * WARNING: This data structure is not thread-safe.
+ */
+public class SegmentedMinHeap implements MinHeap
+{
+
+    private final int segmentShift;
+
+    private final int segmentMask;
+
+    private int[][] segments;
+
+    /**
+     * Number of allocated segments, the rest of the segment table is null.
+     */
+    private int segmentCount;
+
+    private int size;
+
+    /**
+     * Construct the segmented heap.
+     *
+     * @param segmentSize Number of elements in one segment, a power of two.
+     */
+    public SegmentedMinHeap(final int segmentSize)
+    {
+        if (segmentSize < 1 || Integer.bitCount(segmentSize) != 1) {
+            throw new InvalidInitialCapacityException();
+        }
+        this.segmentShift = Integer.numberOfTrailingZeros(segmentSize);
+        this.segmentMask = segmentSize - 1;
+        this.segments = new int[8][];
+        this.segmentCount = 0;
+        this.size = 0;
+    }
+
+    public SegmentedMinHeap()
+    {
+        this(1 << 16);
+    }
+
+    /**
+     * @inheritDoc
+     */
+    public int peek()
+    {
+        if (size == 0) {
+            throw new EmptyHeapException();
+        }
+        return segments[0][0];
+    }
+
+    /**
+     * @inheritDoc
+     */
+    public int pop()
+    {
+        if (size == 0) {
+            throw new EmptyHeapException();
+        }
+        int min = segments[0][0];
+
+        --size;
+        if (size > 0) {
+            bubbleDown(0, get(size));
+        }
+        // Release the last segment once the one before it is also empty
+        if (segmentCount > 1 && size <= (segmentCount - 2) << segmentShift) {
+            segments[--segmentCount] = null;
+        }
+
+        return min;
+    }
+
+    /**
+     * @inheritDoc
+     */
+    public void push(final int value)
+    {
+        if (size == capacity()) {
+            addSegment();
+        }
+
+        bubbleUp(size++, value);
+    }
+
+    /**
+     * @inheritDoc
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Returns number of elements the heap can hold without allocating another segment.
+     *
+     * @return Number of elements in all allocated segments.
+     */
+    public int capacity()
+    {
+        return (int) Math.min(Integer.MAX_VALUE, (long) segmentCount << segmentShift);
+    }
+
+    /**
+     * Releases all segments not needed to hold the current elements,
+     * including the spare one, and shrinks the segment table.
+     */
+    public void trimToSize()
+    {
+        int needed = (int) (((long) size + segmentMask) >>> segmentShift);
+        while (segmentCount > needed) {
+            segments[--segmentCount] = null;
+        }
+        segments = Arrays.copyOf(segments, Math.max(segmentCount, 1));
+    }
+
+    /**
+     * Writes the elements of the heap to the file, which can be restored by {@link #restore(Path, int)}
+     * with any segment size. The segments are written one after another as a single binary heap.
+     *
+     * @param file The snapshot file, replaced if it exists.
+     * @throws IOException If the file cannot be written.
+     * @see BinaryMinHeap#snapshot(Path)
+     */
+    public void snapshot(final Path file) throws IOException
+    {
+        HeapSnapshot.write(file, 2, size, 0, segments);
+    }
+
+    /**
+     * Restores the heap written by {@link #snapshot(Path)} or {@link BinaryMinHeap#snapshot(Path)}
+     * without heapifying.
+     *
+     * @param file        The snapshot file.
+     * @param segmentSize Number of elements in one segment of the restored heap, a power of two.
+     * @return The restored heap.
+     * @throws IOException                                                       If the file cannot be read.
+     * @throws cz.filipklimes.edu.datastructure.exception.InvalidSnapshotException If the file is not a valid snapshot of a binary heap.
+     */
+    public static SegmentedMinHeap restore(final Path file, final int segmentSize) throws IOException
+    {
+        SegmentedMinHeap heap = new SegmentedMinHeap(segmentSize);
+        int size = (int) HeapSnapshot.size(file, 2, Integer.MAX_VALUE);
+        while (heap.capacity() < size) {
+            heap.addSegment();
+        }
+        HeapSnapshot.read(file, size, 0, heap.segments);
+        heap.size = size;
+        return heap;
+    }
+
+    private void addSegment()
+    {
+        if (capacity() == Integer.MAX_VALUE) {
+            throw new OutOfMemoryError();
+        }
+        if (segmentCount == segments.length) {
+            // Only the table of references is copied, not the elements
+            segments = Arrays.copyOf(segments, segmentCount << 1);
+        }
+        segments[segmentCount++] = new int[segmentMask + 1];
+    }
+
+    private int get(final int index)
+    {
+        return segments[index >>> segmentShift][index & segmentMask];
+    }
+
+    private void set(final int index, final int value)
+    {
+        segments[index >>> segmentShift][index & segmentMask] = value;
+    }
+
+    /**
+     * Moves the hole at the given index down until the value can be placed into it
+     * without breaking the heap property.
+     * Finishes in log(n) time, where n is the number of elements.
+     *
+     * @param index Index of the hole from which to bubble down.
+     * @param value Value to be placed into the heap.
+     */
+    private void bubbleDown(int index, final int value)
+    {
+        int half = size >>> 1; // Nodes from this index on are leaves
+        while (index < half) {
+            int child = (index << 1) + 1;
+            int min = get(child);
+            int right = child + 1;
+            if (right < size) {
+                int rightValue = get(right);
+                if (rightValue < min) {
+                    min = rightValue;
+                    child = right;
+                }
+            }
+            if (value <= min) {
+                break; // Heap property is held
+            }
+            set(index, min);
+            index = child;
+        }
+        set(index, value);
+    }
+
+    /**
+     * Moves the hole at the given index up until the value can be placed into it
+     * without breaking the heap property.
+     * Finishes in log(n) time, where n is the number of elements.
+     *
+     * @param index Index of the hole from which to bubble up.
+     * @param value Value to be placed into the heap.
+     */
+    private void bubbleUp(int index, final int value)
+    {
+        while (index > 0) {
+            int parentIndex = (index - 1) >> 1;
+            int parent = get(parentIndex);
+            if (parent <= value) {
+                break; // Heap property is held
+            }
+            set(index, parent);
+            index = parentIndex;
+        }
+        set(index, value);
+    }
+
+}
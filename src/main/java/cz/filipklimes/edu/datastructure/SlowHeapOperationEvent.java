@@ -0,0 +1,25 @@
+package cz.filipklimes.edu.datastructure;
+
+import jdk.jfr.*;
+
+/**
+ * JFR event emitted when a sampled operation of an instrumented heap is slower than its threshold.
+ */
+@Name("cz.filipklimes.edu.SlowHeapOperation")
+@Label("Slow Heap Operation")
+@Category({"Data Structures", "Heap"})
+@Description("A sampled push, pop or peek took longer than the slow operation threshold")
+final class SlowHeapOperationEvent extends Event
+{
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Latency")
+    @Timespan
+    long latency;
+
+    @Label("Heap Size")
+    int size;
+
+}
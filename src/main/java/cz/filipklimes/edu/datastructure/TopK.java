@@ -0,0 +1,350 @@
+package cz.filipklimes.edu.datastructure;
+
+import cz.filipklimes.edu.datastructure.exception.EmptyHeapException;
+import cz.filipklimes.edu.datastructure.exception.InvalidInitialCapacityException;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Bounded heap which keeps the K smallest or the K largest values of a stream.
+ * The values are kept in a binary min heap of a fixed capacity K, whose root is the
+ * worst of the kept values (the threshold). A candidate which is not better than the
+ * threshold is rejected by a single comparison, a better one replaces the root in place.
+ * The memory is O(K) regardless of the length of the stream.
+ * To keep the smallest values in a min heap, they are stored bitwise negated (~v),
+ * which reverses their order without overflow.
+ * WARNING: This data structure is not thread-safe, use {@link #parallelSmallest(int[], int)}
+ * or {@link #parallelLargest(int[], int)} to process an array on all cores.
+ */
+public class TopK
+{
+
+    /**
+     * Minimum number of values processed by one fork-join task.
+     */
+    private static final int PARALLEL_CHUNK = 1 << 16;
+
+    /**
+     * Each fork-join task processes at least this many times K values, otherwise
+     * filling and merging the per-task heaps costs more than scanning the values.
+     */
+    private static final int PARALLEL_CHUNK_PER_K = 16;
+
+    /**
+     * Values are XORed by the mask: -1 negates them when keeping the smallest ones.
+     */
+    private final int mask;
+
+    private final int[] heap;
+
+    private int size;
+
+    private TopK(final int k, final boolean largest)
+    {
+        if (k < 1) {
+            throw new InvalidInitialCapacityException();
+        }
+        this.mask = largest ? 0 : -1;
+        this.heap = new int[k];
+        this.size = 0;
+    }
+
+    /**
+     * Creates a heap keeping the k smallest offered values.
+     *
+     * @param k Number of kept values.
+     * @return The empty heap.
+     */
+    public static TopK smallest(final int k)
+    {
+        return new TopK(k, false);
+    }
+
+    /**
+     * Creates a heap keeping the k largest offered values.
+     *
+     * @param k Number of kept values.
+     * @return The empty heap.
+     */
+    public static TopK largest(final int k)
+    {
+        return new TopK(k, true);
+    }
+
+    /**
+     * Finds the k smallest values of the array using all cores of the common fork-join pool.
+     * Every task keeps the k smallest values of its part of the array, the results are merged.
+     *
+     * @param values The values. The array is not modified.
+     * @param k      Number of kept values.
+     * @return The heap with the k smallest values.
+     */
+    public static TopK parallelSmallest(final int[] values, final int k)
+    {
+        return ForkJoinPool.commonPool().invoke(new TopKTask(values, 0, values.length, chunk(values.length, k), k, false));
+    }
+
+    /**
+     * Finds the k largest values of the array using all cores of the common fork-join pool.
+     *
+     * @param values The values. The array is not modified.
+     * @param k      Number of kept values.
+     * @return The heap with the k largest values.
+     * @see #parallelSmallest(int[], int)
+     */
+    public static TopK parallelLargest(final int[] values, final int k)
+    {
+        return ForkJoinPool.commonPool().invoke(new TopKTask(values, 0, values.length, chunk(values.length, k), k, true));
+    }
+
+    /**
+     * Offers the value to the heap.
+     *
+     * @param value The value.
+     * @return True if the value was kept, false if it was rejected.
+     */
+    public boolean offer(final int value)
+    {
+        return offerEncoded(value ^ mask);
+    }
+
+    /**
+     * Offers all values from the given range of the array to the heap.
+     * Until the heap is full, the values are appended and heapified at once,
+     * then the threshold is kept in a local variable and the values which
+     * are not better are skipped without touching the heap.
+     *
+     * @param values Source array. The array is not modified.
+     * @param off    Index of the first value to offer.
+     * @param len    Number of values to offer.
+     */
+    public void offerAll(final int[] values, final int off, final int len)
+    {
+        if (off < 0 || len < 0 || off > values.length - len) {
+            throw new ArrayIndexOutOfBoundsException(String.format("Range [%d, %d) out of bounds for length %d", off, off + len, values.length));
+        }
+        int i = off;
+        int end = off + len;
+        if (size < heap.length) {
+            int fill = Math.min(heap.length - size, len);
+            for (int j = 0; j < fill; j++) {
+                heap[size + j] = values[i + j] ^ mask;
+            }
+            size += fill;
+            i += fill;
+            for (int j = (size >>> 1) - 1; j >= 0; j--) {
+                bubbleDown(j, heap[j]);
+            }
+        }
+
+        final int mask = this.mask;
+        int threshold = heap[0];
+        for (; i < end; i++) {
+            int encoded = values[i] ^ mask;
+            if (encoded > threshold) {
+                bubbleDown(0, encoded);
+                threshold = heap[0];
+            }
+        }
+    }
+
+    /**
+     * Offers all values from the given array to the heap.
+     *
+     * @param values Source array. The array is not modified.
+     * @see #offerAll(int[], int, int)
+     */
+    public void offerAll(final int[] values)
+    {
+        offerAll(values, 0, values.length);
+    }
+
+    /**
+     * Offers all values kept by the other heap to this heap.
+     *
+     * @param other Heap keeping the same kind of values (smallest or largest). It is not modified.
+     */
+    public void merge(final TopK other)
+    {
+        if (other.mask != mask) {
+            throw new IllegalArgumentException("Cannot merge heaps keeping the smallest and the largest values.");
+        }
+        for (int i = 0; i < other.size; i++) {
+            offerEncoded(other.heap[i]);
+        }
+    }
+
+    /**
+     * Returns the worst of the kept values, which is the K-th smallest (or largest)
+     * value once the heap is full. Only better values are kept from now on.
+     *
+     * @return The threshold.
+     * @throws EmptyHeapException If the heap is empty.
+     */
+    public int threshold()
+    {
+        if (size == 0) {
+            throw new EmptyHeapException();
+        }
+        return heap[0] ^ mask;
+    }
+
+    /**
+     * Returns number of kept values, at most K.
+     *
+     * @return Number of kept values.
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Returns the maximum number of kept values.
+     *
+     * @return The K.
+     */
+    public int capacity()
+    {
+        return heap.length;
+    }
+
+    /**
+     * Returns the kept values from the best one, i.e. in ascending order for the smallest values
+     * and in descending order for the largest values. The heap is not modified.
+     *
+     * @return New array with the kept values.
+     */
+    public int[] toSortedArray()
+    {
+        int[] sorted = Arrays.copyOf(heap, size);
+        Arrays.sort(sorted);
+        // Sorted ascending by the encoded values, the best values are at the end
+        for (int i = 0, j = size - 1; i <= j; i++, j--) {
+            int temp = sorted[i] ^ mask;
+            sorted[i] = sorted[j] ^ mask;
+            sorted[j] = temp;
+        }
+        return sorted;
+    }
+
+    /**
+     * Chooses the number of values processed by one task, so there are
+     * a few tasks per core to balance the load, but not many more.
+     */
+    private static int chunk(final int length, final int k)
+    {
+        int perCore = length / (ForkJoinPool.getCommonPoolParallelism() * 4);
+        long perK = (long) k * PARALLEL_CHUNK_PER_K;
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(Math.max(PARALLEL_CHUNK, perCore), perK));
+    }
+
+    private boolean offerEncoded(final int encoded)
+    {
+        if (size < heap.length) {
+            bubbleUp(size++, encoded);
+            return true;
+        }
+        if (encoded <= heap[0]) {
+            return false;
+        }
+        bubbleDown(0, encoded);
+        return true;
+    }
+
+    /**
+     * Moves the hole at the given index down until the value can be placed into it
+     * without breaking the heap property.
+     * Finishes in log(k) time.
+     *
+     * @param index Index of the hole from which to bubble down.
+     * @param value Encoded value to be placed into the heap.
+     */
+    private void bubbleDown(int index, final int value)
+    {
+        final int[] heap = this.heap;
+        final int size = this.size;
+        final int half = size >>> 1; // Nodes from this index on are leaves
+        while (index < half) {
+            int child = (index << 1) + 1;
+            int min = heap[child];
+            int right = child + 1;
+            if (right < size && heap[right] < min) {
+                min = heap[right];
+                child = right;
+            }
+            if (value <= min) {
+                break; // Heap property is held
+            }
+            heap[index] = min;
+            index = child;
+        }
+        heap[index] = value;
+    }
+
+    /**
+     * Moves the hole at the given index up until the value can be placed into it
+     * without breaking the heap property.
+     * Finishes in log(k) time.
+     *
+     * @param index Index of the hole from which to bubble up.
+     * @param value Encoded value to be placed into the heap.
+     */
+    private void bubbleUp(int index, final int value)
+    {
+        while (index > 0) {
+            int parentIndex = (index - 1) >> 1;
+            if (heap[parentIndex] <= value) {
+                break; // Heap property is held
+            }
+            heap[index] = heap[parentIndex];
+            index = parentIndex;
+        }
+        heap[index] = value;
+    }
+
+    /**
+     * Splits the array in halves until the parts are small enough,
+     * then merges the heaps of both halves.
+     */
+    private static final class TopKTask extends RecursiveTask<TopK>
+    {
+
+        private final int[] values;
+        private final int from;
+        private final int to;
+        private final int chunk;
+        private final int k;
+        private final boolean largest;
+
+        private TopKTask(final int[] values, final int from, final int to, final int chunk, final int k, final boolean largest)
+        {
+            this.values = values;
+            this.from = from;
+            this.to = to;
+            this.chunk = chunk;
+            this.k = k;
+            this.largest = largest;
+        }
+
+        @Override
+        protected TopK compute()
+        {
+            if (to - from <= chunk) {
+                TopK result = new TopK(k, largest);
+                result.offerAll(values, from, to - from);
+                return result;
+            }
+            int middle = (from + to) >>> 1;
+            TopKTask left = new TopKTask(values, from, middle, chunk, k, largest);
+            left.fork();
+            TopK result = new TopKTask(values, middle, to, chunk, k, largest).compute();
+            result.merge(left.join());
+            return result;
+        }
+
+    }
+
+}
@@ -0,0 +1,11 @@
+package cz.filipklimes.edu.datastructure.exception;
+
+public class DuplicateHandleException extends RuntimeException
+{
+
+    public DuplicateHandleException(final int handle)
+    {
+        super(String.format("Handle %d is already present in the heap.", handle));
+    }
+
+}
@@ -0,0 +1,11 @@
+package cz.filipklimes.edu.datastructure.exception;
+
+public class InvalidArityException extends RuntimeException
+{
+
+    public InvalidArityException()
+    {
+        super("Arity of the heap must be one of 2, 4, 8 or 16.");
+    }
+
+}
@@ -0,0 +1,11 @@
+package cz.filipklimes.edu.datastructure.exception;
+
+public class InvalidHandleException extends RuntimeException
+{
+
+    public InvalidHandleException(final int handle)
+    {
+        super(String.format("Handle %d is not present in the heap.", handle));
+    }
+
+}
@@ -0,0 +1,13 @@
+package cz.filipklimes.edu.datastructure.exception;
+
+import java.nio.file.Path;
+
+public class InvalidSnapshotException extends RuntimeException
+{
+
+    public InvalidSnapshotException(final Path file, final String reason)
+    {
+        super(String.format("Invalid heap snapshot %s: %s.", file, reason));
+    }
+
+}
@@ -0,0 +1,11 @@
+package cz.filipklimes.edu.datastructure.exception;
+
+public class NonMonotoneValueException extends RuntimeException
+{
+
+    public NonMonotoneValueException(final int value, final int lastPopped)
+    {
+        super(String.format("Value %d is less than the last popped value %d.", value, lastPopped));
+    }
+
+}
@@ -0,0 +1,327 @@
+package cz.filipklimes.edu.scheduling;
+
+import cz.filipklimes.edu.scheduling.exception.InfeasibleScheduleException;
+
+import java.util.*;
+
+/**
+ * Admission control for tasks with hard deadlines on one machine with preemption.
+ * A task is admitted only if the admitted tasks can still all be finished by their deadlines
+ * when they are executed by the earliest deadline first rule.
+ * Tasks are admitted when they are released, so all admitted unfinished tasks are available
+ * at the current time and they are feasible if and only if for every deadline d
+ * the remaining work of the tasks with deadlines up to d fits between the current time and d.
+ * The controller keeps the slack of every deadline, d minus the work up to d, in a segment tree
+ * over the deadlines, so admitting a task is one update of a path from a leaf to the root,
+ * O(log D) where D is the range of the deadlines (32 levels for int deadlines).
+ * The tree is sparse, only the nodes above deadlines with remaining work are allocated,
+ * and a node is reused as soon as the work below it is done.
+ * Tasks without a deadline never make another task miss its deadline under EDF, so they
+ * are always admitted and not kept.
+ * WARNING: This data structure is not thread-safe.
+ */
+public class AdmissionController
+{
+
+    private static final int NIL = -1;
+
+    private static final int ROOT = 0;
+
+    private static final int LEVELS = 32;
+
+    private static final long NO_SLACK_LIMIT = Long.MAX_VALUE;
+
+    /**
+     * Children of every node, the left one at 2 * node and the right one at 2 * node + 1.
+     */
+    private int[] children;
+
+    /**
+     * Remaining work of the tasks with the deadlines under every node.
+     */
+    private long[] work;
+
+    /**
+     * Minimum of deadline minus work up to the deadline over the deadlines under every node,
+     * counting only the work under the node.
+     */
+    private long[] minimums;
+
+    private int[] freeNodes;
+
+    private int freeCount;
+
+    private final int[] path;
+
+    private int time;
+
+    private long admitted;
+
+    /**
+     * Construct the controller.
+     *
+     * @param startTime The current time.
+     */
+    public AdmissionController(final int startTime)
+    {
+        this.children = new int[0];
+        this.work = new long[0];
+        this.minimums = new long[0];
+        this.freeNodes = new int[0];
+        this.freeCount = 0;
+        grow(64);
+        this.path = new int[LEVELS + 1];
+        this.time = startTime;
+        this.admitted = 0;
+        allocate(); // The root
+    }
+
+    public AdmissionController()
+    {
+        this(0);
+    }
+
+    /**
+     * Admits the task if all admitted tasks can still meet their deadlines, in O(log D).
+     *
+     * @param task The task, released at the current time or before.
+     * @throws InfeasibleScheduleException If a deadline would be missed, the task is not admitted then.
+     */
+    public void tryAdmit(final Task task)
+    {
+        int missedDeadline = admit(task, true);
+        if (missedDeadline != Task.NO_DEADLINE) {
+            throw new InfeasibleScheduleException(task, missedDeadline);
+        }
+    }
+
+    /**
+     * Admits the task if all admitted tasks can still meet their deadlines, in O(log D).
+     *
+     * @param task The task, released at the current time or before.
+     * @return Whether the task has been admitted.
+     */
+    public boolean admitIfFeasible(final Task task)
+    {
+        return admit(task, true) == Task.NO_DEADLINE;
+    }
+
+    /**
+     * Returns whether the task could be admitted now, without admitting it, in O(log D).
+     *
+     * @param task The task, released at the current time or before.
+     * @return Whether the task can be admitted.
+     */
+    public boolean canAdmit(final Task task)
+    {
+        return admit(task, false) == Task.NO_DEADLINE;
+    }
+
+    /**
+     * Executes the admitted work by the earliest deadline first rule until the given time,
+     * in O(log D) per deadline whose work is finished.
+     *
+     * @param targetTime The time to advance to, not before the current time.
+     */
+    public void advanceTo(final int targetTime)
+    {
+        if (targetTime < time) {
+            throw new IllegalArgumentException(String.format("Cannot advance to %d, the current time is %d.", targetTime, time));
+        }
+        long remaining = (long) targetTime - time;
+        while (remaining > 0 && work[ROOT] > 0) {
+            // The earliest deadline with remaining work is the leftmost leaf
+            int node = ROOT;
+            int key = 0;
+            for (int level = 0; level < LEVELS; level++) {
+                int left = children[2 * node];
+                int bit = left == NIL ? 1 : 0;
+                node = children[2 * node + bit];
+                key = (key << 1) | bit;
+            }
+            long executed = Math.min(remaining, work[node]);
+            update(key ^ Integer.MIN_VALUE, -executed);
+            remaining -= executed;
+        }
+        time = targetTime;
+    }
+
+    /**
+     * Returns the current time, to which the admitted work has been executed.
+     *
+     * @return The current time.
+     */
+    public int currentTime()
+    {
+        return time;
+    }
+
+    /**
+     * Returns number of admitted tasks, including the finished ones.
+     *
+     * @return Number of admitted tasks.
+     */
+    public long admittedTasks()
+    {
+        return admitted;
+    }
+
+    /**
+     * Returns the remaining work of the admitted tasks with deadlines.
+     *
+     * @return The remaining work.
+     */
+    public long remainingWork()
+    {
+        return work[ROOT];
+    }
+
+    /**
+     * Returns the minimum over the deadlines of the admitted unfinished tasks of the time
+     * between the current time and the deadline not needed by the tasks with deadlines up to it,
+     * i.e. the longest task due by any deadline which could still be admitted.
+     *
+     * @return The slack, or Long.MAX_VALUE if no work with a deadline remains.
+     */
+    public long getSlack()
+    {
+        return work[ROOT] == 0 ? NO_SLACK_LIMIT : minimums[ROOT] - time;
+    }
+
+    /**
+     * Returns number of nodes of the tree, i.e. the maximum number of nodes which have been
+     * allocated at once, rounded up to a power of two.
+     */
+    int capacity()
+    {
+        return work.length;
+    }
+
+    /**
+     * Checks whether the task can be admitted and admits it if feasible and requested.
+     *
+     * @return Task.NO_DEADLINE if the task can be admitted, the earliest missed deadline otherwise.
+     */
+    private int admit(final Task task, final boolean keep)
+    {
+        if (task.getReleaseTime() > time) {
+            throw new IllegalArgumentException(String.format("Task released at %d cannot be admitted before its release, the current time is %d.", task.getReleaseTime(), time));
+        }
+        if (!task.hasDeadline()) {
+            admitted += keep ? 1 : 0;
+            return Task.NO_DEADLINE;
+        }
+        int deadline = task.getDeadline();
+        if ((long) time + task.getProcessingTime() > deadline) {
+            return deadline;
+        }
+        if (task.getProcessingTime() > 0) {
+            update(deadline, task.getProcessingTime());
+            int missedDeadline = minimums[ROOT] < time ? firstMissedDeadline() : Task.NO_DEADLINE;
+            if (missedDeadline != Task.NO_DEADLINE || !keep) {
+                update(deadline, -task.getProcessingTime());
+            }
+            if (missedDeadline != Task.NO_DEADLINE) {
+                return missedDeadline;
+            }
+        }
+        admitted += keep ? 1 : 0;
+        return Task.NO_DEADLINE;
+    }
+
+    /**
+     * Adds the work to the deadline and updates its path to the root.
+     */
+    private void update(final int deadline, final long delta)
+    {
+        int key = deadline ^ Integer.MIN_VALUE;
+        int node = ROOT;
+        path[0] = ROOT;
+        for (int level = 0; level < LEVELS; level++) {
+            int index = 2 * node + ((key >>> (LEVELS - 1 - level)) & 1);
+            if (children[index] == NIL) {
+                int child = allocate();
+                children[index] = child;
+            }
+            node = children[index];
+            path[level + 1] = node;
+        }
+        work[node] += delta;
+        minimums[node] = work[node] == 0 ? NO_SLACK_LIMIT : deadline - work[node];
+
+        for (int level = LEVELS - 1; level >= 0; level--) {
+            node = path[level];
+            // Release the child if no work is left under it, its other descendants have been released before
+            int index = 2 * node + ((key >>> (LEVELS - 1 - level)) & 1);
+            if (work[children[index]] == 0) {
+                release(children[index]);
+                children[index] = NIL;
+            }
+            int left = children[2 * node];
+            int right = children[2 * node + 1];
+            long leftWork = left == NIL ? 0 : work[left];
+            long leftMinimum = left == NIL ? NO_SLACK_LIMIT : minimums[left];
+            long rightMinimum = right == NIL ? NO_SLACK_LIMIT : minimums[right] - leftWork;
+            work[node] = leftWork + (right == NIL ? 0 : work[right]);
+            minimums[node] = Math.min(leftMinimum, rightMinimum);
+        }
+    }
+
+    /**
+     * Finds the earliest deadline by which the work up to it does not fit, the tree must contain one.
+     */
+    private int firstMissedDeadline()
+    {
+        int node = ROOT;
+        int key = 0;
+        long workBefore = 0;
+        for (int level = 0; level < LEVELS; level++) {
+            int left = children[2 * node];
+            if (left != NIL && minimums[left] - workBefore < time) {
+                node = left;
+                key <<= 1;
+            } else {
+                if (left != NIL) {
+                    workBefore += work[left];
+                }
+                node = children[2 * node + 1];
+                key = (key << 1) | 1;
+            }
+        }
+        return key ^ Integer.MIN_VALUE;
+    }
+
+    private int allocate()
+    {
+        if (freeCount == 0) {
+            grow(work.length << 1);
+        }
+        int node = freeNodes[--freeCount];
+        children[2 * node] = NIL;
+        children[2 * node + 1] = NIL;
+        work[node] = 0;
+        minimums[node] = NO_SLACK_LIMIT;
+        return node;
+    }
+
+    private void release(final int node)
+    {
+        freeNodes[freeCount++] = node;
+    }
+
+    private void grow(final int newCapacity)
+    {
+        if (newCapacity < 0) {
+            throw new OutOfMemoryError();
+        }
+        int capacity = work.length;
+        children = Arrays.copyOf(children, 2 * newCapacity);
+        work = Arrays.copyOf(work, newCapacity);
+        minimums = Arrays.copyOf(minimums, newCapacity);
+        freeNodes = Arrays.copyOf(freeNodes, newCapacity);
+        for (int node = newCapacity - 1; node >= capacity; node--) {
+            freeNodes[freeCount++] = node;
+        }
+    }
+
+}
@@ -0,0 +1,154 @@
+package cz.filipklimes.edu.scheduling;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+
+/**
+ * Schedules many independent instances by Horn's algorithm on all cores of a fork-join pool.
+ * Every worker thread gets its own {@link HornsScheduler} for the batch, so its scratch arrays
+ * are allocated once per thread and reused for all instances the thread schedules in the batch.
+ * The arrays grow to the largest instance scheduled by the thread and are dropped when the batch
+ * is finished, so the threads of the pool, which rarely terminate, do not keep them.
+ * The instances are independent, so the throughput grows with the number of cores
+ * as long as the instances fit into the caches.
+ * This class is thread-safe.
+ */
+public class BatchScheduler
+{
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Construct the batch scheduler running in the given pool.
+     *
+     * @param pool The pool.
+     */
+    public BatchScheduler(final ForkJoinPool pool)
+    {
+        this.pool = Objects.requireNonNull(pool);
+    }
+
+    /**
+     * Construct the batch scheduler running in the common fork-join pool.
+     */
+    public BatchScheduler()
+    {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Schedules the instance in the calling thread by a new scheduler.
+     *
+     * @param instance The instance.
+     * @return The schedule.
+     */
+    public CompactSchedule schedule(final SchedulingInstance instance)
+    {
+        return new HornsScheduler(instance.getNumberOfTasks()).scheduleCompact(instance);
+    }
+
+    /**
+     * Schedules all instances concurrently and returns the schedules in the order of the instances.
+     * The list is split in halves until the parts have a few instances per thread of the pool.
+     *
+     * @param instances The instances.
+     * @return The schedule of every instance.
+     */
+    public List<CompactSchedule> scheduleAll(final List<SchedulingInstance> instances)
+    {
+        SchedulingInstance[] array = instances.toArray(new SchedulingInstance[0]);
+        CompactSchedule[] schedules = new CompactSchedule[array.length];
+        int chunk = Math.max(1, array.length / (pool.getParallelism() * 8));
+        pool.invoke(new BatchTask(new ConcurrentHashMap<>(), array, schedules, 0, array.length, chunk));
+        return Arrays.asList(schedules);
+    }
+
+    /**
+     * Schedules the instances of the stream concurrently and passes every schedule to the consumer
+     * as soon as it is computed. The consumer is called from the threads of the pool concurrently,
+     * in no particular order. Returns after all instances have been scheduled.
+     *
+     * @param instances The instances, the stream is consumed.
+     * @param consumer  Receives every instance and its schedule.
+     */
+    public void scheduleAll(final Stream<SchedulingInstance> instances, final BiConsumer<SchedulingInstance, CompactSchedule> consumer)
+    {
+        Map<Thread, HornsScheduler> schedulers = new ConcurrentHashMap<>();
+        // A parallel stream runs its tasks in the pool from which its terminal operation is called
+        try {
+            pool.submit(() -> instances.parallel().forEach(instance -> consumer.accept(instance, scheduler(schedulers).scheduleCompact(instance)))).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while scheduling.", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * Returns the scheduler of the current thread for the batch.
+     *
+     * @param schedulers Schedulers of the threads taking part in the batch.
+     * @return The scheduler.
+     */
+    private static HornsScheduler scheduler(final Map<Thread, HornsScheduler> schedulers)
+    {
+        return schedulers.computeIfAbsent(Thread.currentThread(), thread -> new HornsScheduler());
+    }
+
+    /**
+     * Splits the range of instances in halves until the parts are small enough,
+     * then schedules them one by one.
+     */
+    private static final class BatchTask extends RecursiveAction
+    {
+
+        private final Map<Thread, HornsScheduler> schedulers;
+        private final SchedulingInstance[] instances;
+        private final CompactSchedule[] schedules;
+        private final int from;
+        private final int to;
+        private final int chunk;
+
+        private BatchTask(final Map<Thread, HornsScheduler> schedulers, final SchedulingInstance[] instances, final CompactSchedule[] schedules, final int from, final int to, final int chunk)
+        {
+            this.schedulers = schedulers;
+            this.instances = instances;
+            this.schedules = schedules;
+            this.from = from;
+            this.to = to;
+            this.chunk = chunk;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if (to - from <= chunk) {
+                HornsScheduler scheduler = scheduler(schedulers);
+                for (int i = from; i < to; i++) {
+                    schedules[i] = scheduler.scheduleCompact(instances[i]);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(
+                new BatchTask(schedulers, instances, schedules, from, middle, chunk),
+                new BatchTask(schedulers, instances, schedules, middle, to, chunk)
+            );
+        }
+
+    }
+
+}
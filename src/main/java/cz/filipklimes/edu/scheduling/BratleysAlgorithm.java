@@ -0,0 +1,543 @@
+package cz.filipklimes.edu.scheduling;
+
+import cz.filipklimes.edu.scheduling.exception.InfeasibleScheduleException;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Implementation of Bratley's branch and bound algorithm for one-processor scheduling
+ * with release times, due dates and deadlines without preemption, while minimizing
+ * the maximum lateness (1|r,d,~d|Lmax).
+ * A node of the search tree is a sequence of the first tasks, its children append one more task.
+ * A node is pruned if
+ * <ul>
+ * <li>some unscheduled task would miss its deadline even if it was scheduled next,</li>
+ * <li>the maximum lateness of the sequence and of the preemptive schedule of the remaining tasks
+ * by Horn's algorithm, which is a lower bound for any completion of the sequence, is not better
+ * than the best schedule found so far (the incumbent), or</li>
+ * <li>another unscheduled task could be finished before the appended task is released, or</li>
+ * <li>the same tasks were scheduled by another sequence finished no later and with no greater
+ * maximum lateness, whose subtree has already been searched. The visited nodes are remembered
+ * in a fixed-size table per thread and search, where a node replaces the one with a colliding hash.</li>
+ * </ul>
+ * If the preemptive schedule of the remaining tasks happens to preempt no task and to meet all
+ * deadlines, it is an optimal completion of the sequence and the node is not expanded further.
+ * Otherwise the remaining tasks executed without preemption in the order in which they started
+ * in the preemptive schedule are offered as a new incumbent.
+ * The first levels of the tree are expanded into fork-join tasks, so the subtrees are searched
+ * on all cores with work stealing, sharing the incumbent in an atomic reference.
+ * The problem is NP-hard, so the search takes exponential time in the worst case.
+ * This class is thread-safe.
+ */
+public class BratleysAlgorithm
+{
+
+    /**
+     * Maximum number of tasks, the scheduled tasks of a node are a bit set in a long.
+     */
+    public static final int MAX_TASKS = 64;
+
+    /**
+     * Number of levels of the search tree expanded into fork-join tasks.
+     */
+    private static final int SPLIT_DEPTH = 2;
+
+    /**
+     * Number of entries of the table of visited nodes of every thread, a power of two.
+     */
+    private static final int VISITED_TABLE_SIZE = 1 << 16;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Construct the solver searching in the given pool.
+     *
+     * @param pool The pool.
+     */
+    public BratleysAlgorithm(final ForkJoinPool pool)
+    {
+        this.pool = Objects.requireNonNull(pool);
+    }
+
+    /**
+     * Construct the solver searching in the common fork-join pool.
+     */
+    public BratleysAlgorithm()
+    {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Finds a non-preemptive schedule of the instance with the minimum maximum lateness,
+     * which meets the deadlines of all tasks.
+     *
+     * @param instance The instance with at most {@link #MAX_TASKS} tasks.
+     * @return The optimal solution, the empty sequence with the maximum lateness 0 if there are no tasks.
+     * @throws InfeasibleScheduleException If no schedule meets all deadlines.
+     */
+    public Solution solve(final SchedulingInstance instance)
+    {
+        if (instance.getNumberOfTasks() > MAX_TASKS) {
+            throw new IllegalArgumentException(String.format("At most %d tasks can be scheduled, got %d.", MAX_TASKS, instance.getNumberOfTasks()));
+        }
+        if (instance.getNumberOfTasks() == 0) {
+            return new Solution(new int[0], new int[0], 0, 0);
+        }
+        Search search = new Search(instance);
+        search.offerEarliestDueDate();
+        pool.invoke(search.new Node(0L, Integer.MIN_VALUE, Integer.MIN_VALUE, 0, new int[instance.getNumberOfTasks()]));
+
+        Incumbent best = search.best.get();
+        if (best.sequence == null) {
+            throw new InfeasibleScheduleException();
+        }
+        int[] startTimes = new int[best.sequence.length];
+        int time = Integer.MIN_VALUE;
+        for (int task : best.sequence) {
+            startTimes[task] = Math.max(time, instance.getReleaseTimes()[task]);
+            time = startTimes[task] + instance.getProcessingTimes()[task];
+        }
+        return new Solution(best.sequence, startTimes, best.maxLateness, search.nodes.sum());
+    }
+
+    /**
+     * Optimal non-preemptive schedule found by the algorithm.
+     */
+    public static final class Solution
+    {
+
+        private final int[] sequence;
+        private final int[] startTimes;
+        private final int maxLateness;
+        private final long exploredNodes;
+
+        private Solution(final int[] sequence, final int[] startTimes, final int maxLateness, final long exploredNodes)
+        {
+            this.sequence = sequence;
+            this.startTimes = startTimes;
+            this.maxLateness = maxLateness;
+            this.exploredNodes = exploredNodes;
+        }
+
+        /**
+         * Returns the tasks in the order of execution.
+         *
+         * @return Indices of the tasks.
+         */
+        public int[] getSequence()
+        {
+            return sequence.clone();
+        }
+
+        /**
+         * Returns the start time of every task, each task starts as soon as it is released
+         * and the previous task is finished.
+         *
+         * @return Start time of every task, indexed by the tasks.
+         */
+        public int[] getStartTimes()
+        {
+            return startTimes.clone();
+        }
+
+        public int getMaxLateness()
+        {
+            return maxLateness;
+        }
+
+        /**
+         * Returns number of nodes of the search tree which were bounded.
+         *
+         * @return Number of explored nodes.
+         */
+        public long getExploredNodes()
+        {
+            return exploredNodes;
+        }
+
+    }
+
+    /**
+     * Best schedule found so far, replaced as a whole, so the lateness and the sequence are consistent.
+     */
+    private static final class Incumbent
+    {
+
+        private final int maxLateness;
+
+        /**
+         * The tasks in the order of execution, null if no schedule was found yet.
+         */
+        private final int[] sequence;
+
+        private Incumbent(final int maxLateness, final int[] sequence)
+        {
+            this.maxLateness = maxLateness;
+            this.sequence = sequence;
+        }
+
+    }
+
+    /**
+     * State of a single search.
+     */
+    private final class Search
+    {
+
+        private final int numberOfTasks;
+        private final int[] releaseTimes;
+        private final int[] processingTimes;
+        private final int[] dueDates;
+        private final int[] deadlines;
+
+        /**
+         * Tasks ordered by the due dates, the children of a node are visited in this order,
+         * so good schedules are found early.
+         */
+        private final int[] earliestDueDateOrder;
+
+        private final AtomicReference<Incumbent> best = new AtomicReference<>(new Incumbent(Integer.MAX_VALUE, null));
+
+        private final LongAdder nodes = new LongAdder();
+
+        /**
+         * Scratch space of every thread taking part in the search, dropped with the search,
+         * so the threads of the pool do not keep it once the search is finished.
+         */
+        private final Map<Thread, Worker> workers = new ConcurrentHashMap<>();
+
+        private Search(final SchedulingInstance instance)
+        {
+            this.numberOfTasks = instance.getNumberOfTasks();
+            this.releaseTimes = instance.getReleaseTimes();
+            this.processingTimes = instance.getProcessingTimes();
+            this.dueDates = instance.getDueDates();
+            this.deadlines = instance.getDeadlines();
+            long[] packed = new long[numberOfTasks];
+            for (int i = 0; i < numberOfTasks; i++) {
+                packed[i] = ((long) dueDates[i] << 32) | i;
+            }
+            Arrays.sort(packed);
+            this.earliestDueDateOrder = new int[numberOfTasks];
+            for (int i = 0; i < numberOfTasks; i++) {
+                earliestDueDateOrder[i] = (int) packed[i];
+            }
+        }
+
+        /**
+         * Offers the schedule built by the non-preemptive earliest due date rule
+         * as the first incumbent, if it meets the deadlines.
+         */
+        private void offerEarliestDueDate()
+        {
+            int[] sequence = new int[numberOfTasks];
+            long scheduled = 0L;
+            int time = Integer.MIN_VALUE;
+            int maxLateness = Integer.MIN_VALUE;
+            for (int depth = 0; depth < numberOfTasks; depth++) {
+                int earliestRelease = Integer.MAX_VALUE;
+                for (int task = 0; task < numberOfTasks; task++) {
+                    if ((scheduled & (1L << task)) == 0) {
+                        earliestRelease = Math.min(earliestRelease, releaseTimes[task]);
+                    }
+                }
+                time = Math.max(time, earliestRelease);
+                int next = -1;
+                for (int task : earliestDueDateOrder) {
+                    if ((scheduled & (1L << task)) == 0 && releaseTimes[task] <= time) {
+                        next = task;
+                        break;
+                    }
+                }
+                time += processingTimes[next];
+                if (deadlines[next] != Task.NO_DEADLINE && time > deadlines[next]) {
+                    return;
+                }
+                maxLateness = Math.max(maxLateness, time - dueDates[next]);
+                sequence[depth] = next;
+                scheduled |= 1L << next;
+            }
+            offer(maxLateness, sequence, numberOfTasks);
+        }
+
+        private int incumbent()
+        {
+            return best.get().maxLateness;
+        }
+
+        /**
+         * Replaces the incumbent if the schedule is better.
+         *
+         * @param maxLateness Maximum lateness of the schedule.
+         * @param sequence    The tasks in the order of execution.
+         * @param length      Number of tasks in the sequence, the rest of the array is ignored.
+         */
+        private void offer(final int maxLateness, final int[] sequence, final int length)
+        {
+            Incumbent current = best.get();
+            if (maxLateness >= current.maxLateness) {
+                return;
+            }
+            Incumbent candidate = new Incumbent(maxLateness, Arrays.copyOf(sequence, length));
+            while (maxLateness < current.maxLateness && !best.compareAndSet(current, candidate)) {
+                current = best.get();
+            }
+        }
+
+        /**
+         * Bounds the node and tells whether it has to be expanded.
+         *
+         * @param worker      Scratch space of the current thread.
+         * @param scheduled   Bit set of the scheduled tasks.
+         * @param time        Completion time of the scheduled tasks.
+         * @param maxLateness Maximum lateness of the scheduled tasks.
+         * @param depth       Number of scheduled tasks.
+         * @param sequence    The scheduled tasks in the order of execution.
+         * @return True if the children of the node have to be visited.
+         */
+        private boolean bound(final Worker worker, final long scheduled, final int time, final int maxLateness, final int depth, final int[] sequence)
+        {
+            nodes.increment();
+            if (depth == numberOfTasks) {
+                offer(maxLateness, sequence, depth);
+                return false;
+            }
+            for (int task = 0; task < numberOfTasks; task++) {
+                if ((scheduled & (1L << task)) == 0 && deadlines[task] != Task.NO_DEADLINE
+                    && (long) Math.max(time, releaseTimes[task]) + processingTimes[task] > deadlines[task]) {
+                    return false;
+                }
+            }
+
+            worker.schedule(this, scheduled, time);
+            int lowerBound = Math.max(maxLateness, worker.maxLateness);
+            if (lowerBound >= incumbent()) {
+                return false;
+            }
+            for (int i = 0; i < worker.remaining; i++) {
+                sequence[depth + i] = worker.ids[worker.order[i]];
+            }
+            if (!worker.preempted && worker.deadlinesMet) {
+                // The preemptive schedule is a non-preemptive one, so it is an optimal completion
+                offer(lowerBound, sequence, numberOfTasks);
+                return false;
+            }
+            offerCompletion(time, maxLateness, depth, sequence);
+            return true;
+        }
+
+        /**
+         * Offers the sequence completed by the remaining tasks in the order in which they started
+         * in the preemptive schedule, executed without preemption, so that good incumbents
+         * are found early.
+         */
+        private void offerCompletion(int time, int maxLateness, final int depth, final int[] sequence)
+        {
+            for (int i = depth; i < numberOfTasks; i++) {
+                int task = sequence[i];
+                time = Math.max(time, releaseTimes[task]) + processingTimes[task];
+                if (deadlines[task] != Task.NO_DEADLINE && time > deadlines[task]) {
+                    return;
+                }
+                maxLateness = Math.max(maxLateness, time - dueDates[task]);
+            }
+            offer(maxLateness, sequence, numberOfTasks);
+        }
+
+        /**
+         * Tells whether appending the task to the sequence is dominated: another unscheduled task
+         * can be finished before the task can be started, so it can be inserted before the task
+         * without delaying it.
+         */
+        private boolean dominated(final long scheduled, final int time, final int task)
+        {
+            int start = Math.max(time, releaseTimes[task]);
+            for (int other = 0; other < numberOfTasks; other++) {
+                if (other != task && (scheduled & (1L << other)) == 0
+                    && (long) Math.max(time, releaseTimes[other]) + processingTimes[other] < start) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Searches the subtree of the node depth first in the current thread.
+         */
+        private void search(final Worker worker, final long scheduled, final int time, final int maxLateness, final int depth, final int[] sequence)
+        {
+            if (worker.visited(scheduled, time, maxLateness)) {
+                return;
+            }
+            if (!bound(worker, scheduled, time, maxLateness, depth, sequence)) {
+                return;
+            }
+            for (int task : earliestDueDateOrder) {
+                if ((scheduled & (1L << task)) != 0 || dominated(scheduled, time, task)) {
+                    continue;
+                }
+                int completion = Math.max(time, releaseTimes[task]) + processingTimes[task];
+                sequence[depth] = task;
+                search(worker, scheduled | (1L << task), completion, Math.max(maxLateness, completion - dueDates[task]), depth + 1, sequence);
+            }
+        }
+
+        /**
+         * Node of the first levels of the search tree, whose children are searched as fork-join tasks.
+         */
+        private final class Node extends RecursiveAction
+        {
+
+            private final long scheduled;
+            private final int time;
+            private final int maxLateness;
+            private final int depth;
+            private final int[] sequence;
+
+            private Node(final long scheduled, final int time, final int maxLateness, final int depth, final int[] sequence)
+            {
+                this.scheduled = scheduled;
+                this.time = time;
+                this.maxLateness = maxLateness;
+                this.depth = depth;
+                this.sequence = sequence;
+            }
+
+            @Override
+            protected void compute()
+            {
+                Worker worker = workers.computeIfAbsent(Thread.currentThread(), thread -> new Worker());
+                if (depth >= SPLIT_DEPTH) {
+                    search(worker, scheduled, time, maxLateness, depth, sequence);
+                    return;
+                }
+                if (!bound(worker, scheduled, time, maxLateness, depth, sequence)) {
+                    return;
+                }
+                List<Node> children = new ArrayList<>();
+                for (int task : earliestDueDateOrder) {
+                    if ((scheduled & (1L << task)) != 0 || dominated(scheduled, time, task)) {
+                        continue;
+                    }
+                    int completion = Math.max(time, releaseTimes[task]) + processingTimes[task];
+                    int[] childSequence = sequence.clone();
+                    childSequence[depth] = task;
+                    children.add(new Node(scheduled | (1L << task), completion, Math.max(maxLateness, completion - dueDates[task]), depth + 1, childSequence));
+                }
+                invokeAll(children);
+            }
+
+        }
+
+    }
+
+    /**
+     * Scratch space of a thread in a search: the remaining tasks of a node, released no sooner
+     * than the node's completion time, scheduled by Horn's algorithm, and the visited nodes.
+     */
+    private static final class Worker implements IntervalListener
+    {
+
+        private final HornsScheduler scheduler = new HornsScheduler(MAX_TASKS);
+
+        private final int[] ids = new int[MAX_TASKS];
+        private final int[] releaseTimes = new int[MAX_TASKS];
+        private final int[] processingTimes = new int[MAX_TASKS];
+        private final int[] dueDates = new int[MAX_TASKS];
+        private final int[] deadlines = new int[MAX_TASKS];
+
+        /**
+         * Processing time executed so far of every remaining task.
+         */
+        private final int[] executed = new int[MAX_TASKS];
+
+        /**
+         * The remaining tasks in the order in which they started.
+         */
+        private final int[] order = new int[MAX_TASKS];
+
+        /**
+         * Entries without tasks are empty, the nodes looked up in the table have some scheduled tasks.
+         */
+        private final long[] visitedTasks = new long[VISITED_TABLE_SIZE];
+        private final int[] visitedTimes = new int[VISITED_TABLE_SIZE];
+        private final int[] visitedLateness = new int[VISITED_TABLE_SIZE];
+
+        private int remaining;
+        private int started;
+        private int lastTask;
+        private int maxLateness;
+        private boolean preempted;
+        private boolean deadlinesMet;
+
+        /**
+         * Tells whether a node with the same scheduled tasks, finished no later and with no greater
+         * maximum lateness, was visited by the search, otherwise remembers the node.
+         */
+        private boolean visited(final long scheduled, final int time, final int maxLateness)
+        {
+            long hash = scheduled * 0x9E3779B97F4A7C15L;
+            int index = (int) (hash >>> 32) & (VISITED_TABLE_SIZE - 1);
+            if (visitedTasks[index] == scheduled && visitedTimes[index] <= time && visitedLateness[index] <= maxLateness) {
+                return true;
+            }
+            visitedTasks[index] = scheduled;
+            visitedTimes[index] = time;
+            visitedLateness[index] = maxLateness;
+            return false;
+        }
+
+        /**
+         * Schedules the unscheduled tasks of the node by Horn's algorithm
+         * and computes the maximum lateness of the schedule.
+         */
+        private void schedule(final Search search, final long scheduled, final int time)
+        {
+            remaining = 0;
+            for (int task = 0; task < search.numberOfTasks; task++) {
+                if ((scheduled & (1L << task)) == 0) {
+                    ids[remaining] = task;
+                    releaseTimes[remaining] = Math.max(time, search.releaseTimes[task]);
+                    processingTimes[remaining] = search.processingTimes[task];
+                    dueDates[remaining] = search.dueDates[task];
+                    deadlines[remaining] = search.deadlines[task];
+                    executed[remaining] = 0;
+                    ++remaining;
+                }
+            }
+            started = 0;
+            lastTask = -1;
+            maxLateness = Integer.MIN_VALUE;
+            preempted = false;
+            deadlinesMet = true;
+            scheduler.schedule(remaining, releaseTimes, processingTimes, dueDates, this);
+        }
+
+        @Override
+        public void interval(final int task, final int start, final int end)
+        {
+            if (task != lastTask) {
+                if (executed[task] > 0) {
+                    preempted = true; // Another task was executed since the task started
+                } else {
+                    order[started++] = task;
+                }
+                lastTask = task;
+            }
+            executed[task] += end - start;
+            if (executed[task] == processingTimes[task]) {
+                maxLateness = Math.max(maxLateness, end - dueDates[task]);
+                if (deadlines[task] != Task.NO_DEADLINE && end > deadlines[task]) {
+                    deadlinesMet = false;
+                }
+            }
+        }
+
+    }
+
+}
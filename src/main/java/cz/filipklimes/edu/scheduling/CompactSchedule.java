@@ -0,0 +1,337 @@
+package cz.filipklimes.edu.scheduling;
+
+import java.util.*;
+
+/**
+ * Schedule stored in columns: the task, the start and the end of every interval
+ * in flat int arrays in the order of execution, plus an index of the intervals of every task
+ * in the compressed sparse row form (the intervals of task t are at positions
+ * offsets[t] to offsets[t + 1] - 1 of the index).
+ * An interval takes 16 bytes and a task 4 bytes, compared to roughly 30 bytes per interval
+ * and 100 bytes per task of {@link HornsAlgorithm.Schedule}, and there are only a few objects
+ * for the garbage collector regardless of the size. The intervals are read by
+ * {@link IntervalCursor}s or passed to an {@link IntervalListener},
+ * {@link #encode()} compresses them further.
+ * This class is immutable.
+ */
+public final class CompactSchedule
+{
+
+    private final int numberOfTasks;
+    private final int[] releaseTimes;
+    private final int[] processingTimes;
+    private final int[] dueDates;
+    private final int lateness;
+
+    private final int[] tasks;
+    private final int[] starts;
+    private final int[] ends;
+
+    /**
+     * Positions of the intervals in the order of execution grouped by the tasks.
+     */
+    private final int[] taskIntervals;
+
+    /**
+     * Index of the first interval of every task in {@link #taskIntervals}, plus the total count.
+     */
+    private final int[] offsets;
+
+    private CompactSchedule(final int numberOfTasks, final int[] releaseTimes, final int[] processingTimes, final int[] dueDates, final int lateness, final int[] tasks, final int[] starts, final int[] ends)
+    {
+        this.numberOfTasks = numberOfTasks;
+        this.releaseTimes = releaseTimes;
+        this.processingTimes = processingTimes;
+        this.dueDates = dueDates;
+        this.lateness = lateness;
+        this.tasks = tasks;
+        this.starts = starts;
+        this.ends = ends;
+
+        // Counting sort of the intervals by the tasks, stable, so each task keeps the order of execution
+        this.offsets = new int[numberOfTasks + 1];
+        for (int task : tasks) {
+            if (task < 0 || task >= numberOfTasks) {
+                throw new IllegalArgumentException(String.format("Task %d out of range of %d tasks.", task, numberOfTasks));
+            }
+            ++offsets[task + 1];
+        }
+        for (int i = 0; i < numberOfTasks; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+        this.taskIntervals = new int[tasks.length];
+        int[] next = Arrays.copyOf(offsets, numberOfTasks);
+        for (int i = 0; i < tasks.length; i++) {
+            taskIntervals[next[tasks[i]]++] = i;
+        }
+    }
+
+    public int getNumberOfTasks()
+    {
+        return numberOfTasks;
+    }
+
+    public int[] getReleaseTimes()
+    {
+        return releaseTimes;
+    }
+
+    public int[] getProcessingTimes()
+    {
+        return processingTimes;
+    }
+
+    public int[] getDueDates()
+    {
+        return dueDates;
+    }
+
+    public int getLateness()
+    {
+        return lateness;
+    }
+
+    /**
+     * Returns number of intervals of all tasks.
+     *
+     * @return Number of intervals.
+     */
+    public int intervalCount()
+    {
+        return tasks.length;
+    }
+
+    /**
+     * Returns number of intervals in which the task is executed.
+     *
+     * @param task Index of the task.
+     * @return Number of intervals of the task.
+     */
+    public int intervalCount(final int task)
+    {
+        return offsets[task + 1] - offsets[task];
+    }
+
+    /**
+     * Returns the task executed in the interval.
+     *
+     * @param interval Position of the interval in the order of execution.
+     * @return Index of the task.
+     */
+    public int task(final int interval)
+    {
+        return tasks[interval];
+    }
+
+    public int start(final int interval)
+    {
+        return starts[interval];
+    }
+
+    public int end(final int interval)
+    {
+        return ends[interval];
+    }
+
+    /**
+     * Returns a cursor over all intervals in the order of execution.
+     *
+     * @return The cursor.
+     */
+    public IntervalCursor cursor()
+    {
+        return new Cursor(null, 0, tasks.length);
+    }
+
+    /**
+     * Returns a cursor over the intervals of the task in the order of execution.
+     *
+     * @param task Index of the task.
+     * @return The cursor.
+     */
+    public IntervalCursor cursor(final int task)
+    {
+        if (task < 0 || task >= numberOfTasks) {
+            throw new IndexOutOfBoundsException(String.format("Task %d out of range of %d tasks.", task, numberOfTasks));
+        }
+        return new Cursor(taskIntervals, offsets[task], offsets[task + 1]);
+    }
+
+    /**
+     * Passes all intervals to the listener in the order of execution.
+     *
+     * @param listener Receives the intervals.
+     */
+    public void forEach(final IntervalListener listener)
+    {
+        for (int i = 0; i < tasks.length; i++) {
+            listener.interval(tasks[i], starts[i], ends[i]);
+        }
+    }
+
+    /**
+     * Compresses the intervals by the delta encoding, see {@link EncodedSchedule}.
+     *
+     * @return The encoded intervals.
+     */
+    public EncodedSchedule encode()
+    {
+        EncodedSchedule.Encoder encoder = new EncodedSchedule.Encoder((int) Math.min(Integer.MAX_VALUE - 8, tasks.length * 3L));
+        forEach(encoder);
+        return encoder.build(numberOfTasks, lateness);
+    }
+
+    /**
+     * Converts the schedule to the object form with a list of intervals per task.
+     *
+     * @return The schedule.
+     */
+    public HornsAlgorithm.Schedule toSchedule()
+    {
+        HornsAlgorithm.TaskSchedule[] schedules = new HornsAlgorithm.TaskSchedule[numberOfTasks];
+        for (int task = 0; task < numberOfTasks; task++) {
+            schedules[task] = new HornsAlgorithm.TaskSchedule();
+            for (int i = offsets[task]; i < offsets[task + 1]; i++) {
+                int interval = taskIntervals[i];
+                schedules[task].addInterval(HornsAlgorithm.Interval.of(starts[interval], ends[interval]));
+            }
+        }
+        return new HornsAlgorithm.Schedule(numberOfTasks, releaseTimes, processingTimes, dueDates, lateness, schedules);
+    }
+
+    /**
+     * Collects the intervals passed to it into the columns of a CompactSchedule.
+     * The columns grow by the factor of 2 and are trimmed when the schedule is built.
+     * WARNING: This class is not thread-safe.
+     */
+    public static final class Builder implements IntervalListener
+    {
+
+        private int[] tasks;
+        private int[] starts;
+        private int[] ends;
+        private int size;
+
+        /**
+         * Construct the builder.
+         *
+         * @param initialCapacity Expected number of intervals, e.g. the number of tasks.
+         */
+        public Builder(final int initialCapacity)
+        {
+            int capacity = Math.max(initialCapacity, 16);
+            this.tasks = new int[capacity];
+            this.starts = new int[capacity];
+            this.ends = new int[capacity];
+            this.size = 0;
+        }
+
+        /**
+         * @inheritDoc
+         */
+        @Override
+        public void interval(final int task, final int start, final int end)
+        {
+            if (size == tasks.length) {
+                int capacity = size << 1;
+                if (capacity < 0) {
+                    throw new OutOfMemoryError();
+                }
+                tasks = Arrays.copyOf(tasks, capacity);
+                starts = Arrays.copyOf(starts, capacity);
+                ends = Arrays.copyOf(ends, capacity);
+            }
+            tasks[size] = task;
+            starts[size] = start;
+            ends[size] = end;
+            ++size;
+        }
+
+        /**
+         * Builds the schedule of the collected intervals and empties the builder.
+         *
+         * @param numberOfTasks   Number of tasks, the tasks are indexed from 0.
+         * @param releaseTimes    Release time of every task.
+         * @param processingTimes Processing time of every task.
+         * @param dueDates        Due date of every task.
+         * @param lateness        The total lateness.
+         * @return The schedule, which keeps references to the given arrays.
+         */
+        public CompactSchedule build(final int numberOfTasks, final int[] releaseTimes, final int[] processingTimes, final int[] dueDates, final int lateness)
+        {
+            CompactSchedule schedule = new CompactSchedule(
+                numberOfTasks,
+                releaseTimes,
+                processingTimes,
+                dueDates,
+                lateness,
+                Arrays.copyOf(tasks, size),
+                Arrays.copyOf(starts, size),
+                Arrays.copyOf(ends, size)
+            );
+            size = 0;
+            return schedule;
+        }
+
+    }
+
+    private final class Cursor implements IntervalCursor
+    {
+
+        /**
+         * Positions of the visited intervals, null to visit them in the order of execution.
+         */
+        private final int[] order;
+        private final int to;
+        private int index;
+        private int interval;
+
+        private Cursor(final int[] order, final int from, final int to)
+        {
+            this.order = order;
+            this.to = to;
+            this.index = from - 1;
+            this.interval = -1;
+        }
+
+        @Override
+        public boolean next()
+        {
+            if (index + 1 >= to) {
+                index = to;
+                return false;
+            }
+            ++index;
+            interval = order == null ? index : order[index];
+            return true;
+        }
+
+        @Override
+        public int task()
+        {
+            return tasks[checkedInterval()];
+        }
+
+        @Override
+        public int start()
+        {
+            return starts[checkedInterval()];
+        }
+
+        @Override
+        public int end()
+        {
+            return ends[checkedInterval()];
+        }
+
+        private int checkedInterval()
+        {
+            if (interval < 0 || index >= to) {
+                throw new NoSuchElementException();
+            }
+            return interval;
+        }
+
+    }
+
+}
@@ -0,0 +1,248 @@
+package cz.filipklimes.edu.scheduling;
+
+import java.util.*;
+
+/**
+ * Intervals of a schedule in the order of execution compressed by the delta encoding.
+ * Every interval is stored as three variable-length integers (7 bits per byte):
+ * the difference between its task and the task of the previous interval and the gap
+ * between its start and the end of the previous interval, both zigzag-encoded so that
+ * small negative numbers take one byte, and its length. An interval of a busy
+ * machine therefore usually takes 3 to 5 bytes instead of 16.
+ * The intervals can only be read sequentially, by {@link #cursor()} or {@link #forEach(IntervalListener)}.
+ * This class is immutable.
+ */
+public final class EncodedSchedule
+{
+
+    private final int numberOfTasks;
+    private final int lateness;
+    private final int intervalCount;
+    private final byte[] data;
+
+    private EncodedSchedule(final int numberOfTasks, final int lateness, final int intervalCount, final byte[] data)
+    {
+        this.numberOfTasks = numberOfTasks;
+        this.lateness = lateness;
+        this.intervalCount = intervalCount;
+        this.data = data;
+    }
+
+    public int getNumberOfTasks()
+    {
+        return numberOfTasks;
+    }
+
+    public int getLateness()
+    {
+        return lateness;
+    }
+
+    /**
+     * Returns number of intervals of all tasks.
+     *
+     * @return Number of intervals.
+     */
+    public int intervalCount()
+    {
+        return intervalCount;
+    }
+
+    /**
+     * Returns number of bytes of the encoded intervals.
+     *
+     * @return Size of the encoded data.
+     */
+    public int encodedSize()
+    {
+        return data.length;
+    }
+
+    /**
+     * Returns a cursor decoding the intervals in the order of execution.
+     *
+     * @return The cursor.
+     */
+    public IntervalCursor cursor()
+    {
+        return new Cursor();
+    }
+
+    /**
+     * Decodes all intervals and passes them to the listener in the order of execution.
+     *
+     * @param listener Receives the intervals.
+     */
+    public void forEach(final IntervalListener listener)
+    {
+        IntervalCursor cursor = cursor();
+        while (cursor.next()) {
+            listener.interval(cursor.task(), cursor.start(), cursor.end());
+        }
+    }
+
+    /**
+     * Encodes the intervals passed to it in the order of execution, so a schedule can be
+     * compressed while it is being computed, without collecting the intervals first.
+     * WARNING: This class is not thread-safe.
+     */
+    public static final class Encoder implements IntervalListener
+    {
+
+        private byte[] data;
+        private int size;
+        private int count;
+        private int previousTask;
+        private int previousEnd;
+
+        /**
+         * Construct the encoder.
+         *
+         * @param initialCapacity Initial number of bytes of the buffer, which grows by the factor of 2.
+         */
+        public Encoder(final int initialCapacity)
+        {
+            this.data = new byte[Math.max(initialCapacity, 16)];
+            reset();
+        }
+
+        /**
+         * @inheritDoc
+         */
+        @Override
+        public void interval(final int task, final int start, final int end)
+        {
+            if (size > data.length - 15) {
+                int capacity = data.length << 1;
+                if (capacity < 0) {
+                    throw new OutOfMemoryError();
+                }
+                data = Arrays.copyOf(data, capacity);
+            }
+            writeVarInt(zigzag(task - previousTask));
+            writeVarInt(zigzag(start - previousEnd));
+            writeVarInt(end - start);
+            previousTask = task;
+            previousEnd = end;
+            ++count;
+        }
+
+        /**
+         * Builds the encoded schedule of the intervals passed so far and empties the encoder.
+         *
+         * @param numberOfTasks Number of tasks.
+         * @param lateness      The total lateness.
+         * @return The encoded schedule.
+         */
+        public EncodedSchedule build(final int numberOfTasks, final int lateness)
+        {
+            EncodedSchedule schedule = new EncodedSchedule(numberOfTasks, lateness, count, Arrays.copyOf(data, size));
+            reset();
+            return schedule;
+        }
+
+        private void reset()
+        {
+            size = 0;
+            count = 0;
+            previousTask = 0;
+            previousEnd = 0;
+        }
+
+        private static int zigzag(final int value)
+        {
+            return (value << 1) ^ (value >> 31);
+        }
+
+        private void writeVarInt(int value)
+        {
+            while ((value & ~0x7F) != 0) {
+                data[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            data[size++] = (byte) value;
+        }
+
+    }
+
+    private final class Cursor implements IntervalCursor
+    {
+
+        private int position;
+        private int remaining;
+        private int task;
+        private int start;
+        private int end;
+
+        private Cursor()
+        {
+            this.position = 0;
+            this.remaining = intervalCount;
+            this.task = 0;
+            this.start = 0;
+            this.end = 0;
+        }
+
+        @Override
+        public boolean next()
+        {
+            if (remaining <= 0) {
+                remaining = -1;
+                return false;
+            }
+            --remaining;
+            task += unzigzag(readVarInt());
+            start = end + unzigzag(readVarInt());
+            end = start + readVarInt();
+            return true;
+        }
+
+        @Override
+        public int task()
+        {
+            checkCurrent();
+            return task;
+        }
+
+        @Override
+        public int start()
+        {
+            checkCurrent();
+            return start;
+        }
+
+        @Override
+        public int end()
+        {
+            checkCurrent();
+            return end;
+        }
+
+        private void checkCurrent()
+        {
+            if (remaining == intervalCount || remaining < 0) {
+                throw new NoSuchElementException();
+            }
+        }
+
+        private int unzigzag(final int value)
+        {
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        private int readVarInt()
+        {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[position++];
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            return value;
+        }
+
+    }
+
+}
@@ -0,0 +1,341 @@
+package cz.filipklimes.edu.scheduling;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.function.IntFunction;
+
+/**
+ * Renders schedules as Gantt charts and exports their intervals, writing the output
+ * to an {@link Appendable} as it goes, so the output is never held in memory.
+ * Wrap a {@link java.io.Writer} in a {@link java.io.BufferedWriter}, the output is written
+ * one character at a time.
+ * <p>
+ * The text chart has one row per task and one column per time unit up to the horizon,
+ * the later of the last due date and the last interval end. A column is a filled square
+ * if the task is executed in it, - if it is between the release time and the due date of the task
+ * (inclusive) and a space otherwise. If the horizon is longer than the maximum number
+ * of columns, every column stands for a bucket of consecutive time units and it is filled if
+ * the task is executed in any of them, so the output is O(tasks * columns + intervals)
+ * regardless of the horizon. Every row is written in one pass over the intervals of the task
+ * in ascending order of their starts.
+ * <p>
+ * This class is immutable.
+ */
+public final class GanttRenderer
+{
+
+    private static final char EXECUTED = '\u25A4'; // Square with horizontal fill
+
+    private static final char WAITING = '-';
+
+    private static final char IDLE = ' ';
+
+    private static final int SVG_COLUMN_WIDTH = 10;
+
+    private static final int SVG_ROW_HEIGHT = 20;
+
+    private static final int SVG_LABEL_WIDTH = 50;
+
+    private final int maxColumns;
+
+    /**
+     * Construct the renderer with one column per time unit.
+     */
+    public GanttRenderer()
+    {
+        this(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Construct the renderer.
+     *
+     * @param maxColumns Maximum number of columns of the chart, longer horizons are split into buckets.
+     */
+    public GanttRenderer(final int maxColumns)
+    {
+        if (maxColumns <= 0) {
+            throw new IllegalArgumentException(String.format("Maximum number of columns must be positive, %d given.", maxColumns));
+        }
+        this.maxColumns = maxColumns;
+    }
+
+    public int getMaxColumns()
+    {
+        return maxColumns;
+    }
+
+    /**
+     * Returns number of time units per column for the given horizon.
+     *
+     * @param horizon The horizon.
+     * @return Size of a bucket, at least 1.
+     */
+    public int bucketSize(final int horizon)
+    {
+        return (int) Math.max(1, ((long) horizon + maxColumns - 1) / maxColumns);
+    }
+
+    /**
+     * Renders the schedule as a text chart.
+     *
+     * @param schedule The schedule.
+     * @param out      Receives the chart.
+     * @throws IOException If the output cannot be written.
+     */
+    public void render(final HornsAlgorithm.Schedule schedule, final Appendable out) throws IOException
+    {
+        render(
+            schedule.getNumberOfTasks(),
+            schedule.getReleaseTimes(),
+            schedule.getDueDates(),
+            horizon(schedule),
+            task -> new ListCursor(task, schedule.getSchedules()[task].getIntervals()),
+            out
+        );
+    }
+
+    /**
+     * Renders the schedule as a text chart.
+     *
+     * @param schedule The schedule.
+     * @param out      Receives the chart.
+     * @throws IOException If the output cannot be written.
+     */
+    public void render(final CompactSchedule schedule, final Appendable out) throws IOException
+    {
+        render(
+            schedule.getNumberOfTasks(),
+            schedule.getReleaseTimes(),
+            schedule.getDueDates(),
+            horizon(schedule),
+            schedule::cursor,
+            out
+        );
+    }
+
+    /**
+     * Writes the intervals as CSV with the header task,start,end, task by task.
+     * The tasks are indexed from 0.
+     *
+     * @param schedule The schedule.
+     * @param out      Receives the CSV.
+     * @throws IOException If the output cannot be written.
+     */
+    public void writeCsv(final HornsAlgorithm.Schedule schedule, final Appendable out) throws IOException
+    {
+        out.append("task,start,end\n");
+        for (int task = 0; task < schedule.getNumberOfTasks(); task++) {
+            writeCsv(new ListCursor(task, schedule.getSchedules()[task].getIntervals()), out);
+        }
+    }
+
+    /**
+     * Writes the intervals as CSV with the header task,start,end, in the order of execution.
+     * The tasks are indexed from 0.
+     *
+     * @param schedule The schedule.
+     * @param out      Receives the CSV.
+     * @throws IOException If the output cannot be written.
+     */
+    public void writeCsv(final CompactSchedule schedule, final Appendable out) throws IOException
+    {
+        out.append("task,start,end\n");
+        writeCsv(schedule.cursor(), out);
+    }
+
+    /**
+     * Writes the chart as an SVG image with one rectangle per interval, the time between
+     * the release time and the due date of every task is drawn as a grey bar behind it.
+     * A column of the text chart is 10 pixels wide, so the image is scaled down the same way.
+     *
+     * @param schedule The schedule.
+     * @param out      Receives the SVG document.
+     * @throws IOException If the output cannot be written.
+     */
+    public void writeSvg(final HornsAlgorithm.Schedule schedule, final Appendable out) throws IOException
+    {
+        writeSvg(
+            schedule.getNumberOfTasks(),
+            schedule.getReleaseTimes(),
+            schedule.getDueDates(),
+            horizon(schedule),
+            task -> new ListCursor(task, schedule.getSchedules()[task].getIntervals()),
+            out
+        );
+    }
+
+    /**
+     * Writes the chart as an SVG image, see {@link #writeSvg(HornsAlgorithm.Schedule, Appendable)}.
+     *
+     * @param schedule The schedule.
+     * @param out      Receives the SVG document.
+     * @throws IOException If the output cannot be written.
+     */
+    public void writeSvg(final CompactSchedule schedule, final Appendable out) throws IOException
+    {
+        writeSvg(
+            schedule.getNumberOfTasks(),
+            schedule.getReleaseTimes(),
+            schedule.getDueDates(),
+            horizon(schedule),
+            schedule::cursor,
+            out
+        );
+    }
+
+    private void render(final int numberOfTasks, final int[] releaseTimes, final int[] dueDates, final int horizon, final IntFunction<IntervalCursor> cursors, final Appendable out) throws IOException
+    {
+        int bucket = bucketSize(horizon);
+        long columns = ((long) horizon + bucket - 1) / bucket;
+        for (int task = 0; task < numberOfTasks; task++) {
+            out.append('T').append(Integer.toString(task + 1)).append(": ");
+            IntervalCursor cursor = cursors.apply(task);
+            boolean hasInterval = cursor.next();
+            for (long column = 0; column < columns; column++) {
+                long from = column * bucket;
+                long to = Math.min(from + bucket, horizon);
+                while (hasInterval && cursor.end() <= from) {
+                    hasInterval = cursor.next();
+                }
+                if (hasInterval && cursor.start() < to) {
+                    out.append(EXECUTED);
+                } else if (to > releaseTimes[task] && from <= dueDates[task]) {
+                    out.append(WAITING);
+                } else {
+                    out.append(IDLE);
+                }
+            }
+            out.append('\n');
+        }
+    }
+
+    private void writeCsv(final IntervalCursor cursor, final Appendable out) throws IOException
+    {
+        while (cursor.next()) {
+            out.append(Integer.toString(cursor.task())).append(',')
+                .append(Integer.toString(cursor.start())).append(',')
+                .append(Integer.toString(cursor.end())).append('\n');
+        }
+    }
+
+    private void writeSvg(final int numberOfTasks, final int[] releaseTimes, final int[] dueDates, final int horizon, final IntFunction<IntervalCursor> cursors, final Appendable out) throws IOException
+    {
+        double scale = (double) SVG_COLUMN_WIDTH / bucketSize(horizon);
+        out.append(String.format(
+            Locale.ROOT,
+            "<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"%.1f\" height=\"%d\">\n",
+            SVG_LABEL_WIDTH + horizon * scale,
+            numberOfTasks * SVG_ROW_HEIGHT
+        ));
+        for (int task = 0; task < numberOfTasks; task++) {
+            int y = task * SVG_ROW_HEIGHT;
+            out.append(String.format(Locale.ROOT, "<text x=\"0\" y=\"%d\">T%d</text>\n", y + SVG_ROW_HEIGHT - 5, task + 1));
+            int windowEnd = Math.min(dueDates[task], horizon);
+            if (windowEnd > releaseTimes[task]) {
+                writeSvgRectangle(out, releaseTimes[task], windowEnd, y, scale, "#ddd");
+            }
+            IntervalCursor cursor = cursors.apply(task);
+            while (cursor.next()) {
+                writeSvgRectangle(out, cursor.start(), cursor.end(), y, scale, "#4682b4");
+            }
+        }
+        out.append("</svg>\n");
+    }
+
+    private static void writeSvgRectangle(final Appendable out, final int start, final int end, final int y, final double scale, final String fill) throws IOException
+    {
+        out.append(String.format(
+            Locale.ROOT,
+            "<rect x=\"%.1f\" y=\"%d\" width=\"%.1f\" height=\"%d\" fill=\"%s\"/>\n",
+            SVG_LABEL_WIDTH + start * scale,
+            y + 2,
+            (end - start) * scale,
+            SVG_ROW_HEIGHT - 4,
+            fill
+        ));
+    }
+
+    private static int horizon(final HornsAlgorithm.Schedule schedule)
+    {
+        int horizon = 0;
+        for (int task = 0; task < schedule.getNumberOfTasks(); task++) {
+            horizon = Math.max(horizon, schedule.getDueDates()[task]);
+            for (HornsAlgorithm.Interval interval : schedule.getSchedules()[task].getIntervals()) {
+                horizon = Math.max(horizon, interval.getEnd());
+            }
+        }
+        return horizon;
+    }
+
+    private static int horizon(final CompactSchedule schedule)
+    {
+        int horizon = 0;
+        for (int task = 0; task < schedule.getNumberOfTasks(); task++) {
+            horizon = Math.max(horizon, schedule.getDueDates()[task]);
+        }
+        if (schedule.intervalCount() > 0) {
+            // The intervals do not overlap and they are in the order of execution
+            horizon = Math.max(horizon, schedule.end(schedule.intervalCount() - 1));
+        }
+        return horizon;
+    }
+
+    /**
+     * Cursor over the intervals of one task of {@link HornsAlgorithm.TaskSchedule}.
+     */
+    private static final class ListCursor implements IntervalCursor
+    {
+
+        private final int task;
+        private final List<HornsAlgorithm.Interval> intervals;
+        private int index;
+
+        private ListCursor(final int task, final List<HornsAlgorithm.Interval> intervals)
+        {
+            this.task = task;
+            this.intervals = intervals;
+            this.index = -1;
+        }
+
+        @Override
+        public boolean next()
+        {
+            if (index + 1 >= intervals.size()) {
+                index = intervals.size();
+                return false;
+            }
+            ++index;
+            return true;
+        }
+
+        @Override
+        public int task()
+        {
+            checkCurrent();
+            return task;
+        }
+
+        @Override
+        public int start()
+        {
+            checkCurrent();
+            return intervals.get(index).getStart();
+        }
+
+        @Override
+        public int end()
+        {
+            checkCurrent();
+            return intervals.get(index).getEnd();
+        }
+
+        private void checkCurrent()
+        {
+            if (index < 0 || index >= intervals.size()) {
+                throw new NoSuchElementException();
+            }
+        }
+
+    }
+
+}
@@ -1,76 +1,31 @@
 package cz.filipklimes.edu.scheduling;
 
-import sun.jvm.hotspot.utilities.Interval;
-
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.*;
 
 /**
  * Implementation of Horn's algorithm for one-processor scheduling with release
  * times, due dates and preemption, while minimizing lateness (1|r,d|Lmax).
+ * The scheduling itself is done by {@link HornsScheduler}, which can be reused
+ * to schedule many instances without allocating its scratch arrays again.
  */
 public class HornsAlgorithm
 {
 
+    /**
+     * Schedules the tasks by a new {@link HornsScheduler} in O(n log n) time.
+     * Released tasks with equal due dates are executed in ascending order of their indices.
+     *
+     * @param numberOfTasks   Number of tasks, the tasks are indexed from 0.
+     * @param releaseTimes    Release time of every task.
+     * @param processingTimes Processing time of every task.
+     * @param dueDates        Due date of every task.
+     * @return The schedule.
+     */
     public static Schedule schedule(final int numberOfTasks, final int[] releaseTimes, final int[] processingTimes, final int[] dueDates)
     {
-        TaskSchedule[] schedules = new TaskSchedule[numberOfTasks];
-        for (int i = 0; i < numberOfTasks; i++) {
-            schedules[i] = new TaskSchedule();
-        }
-        int[] remainingTime = Arrays.copyOf(processingTimes, processingTimes.length);
-
-        // Build queue
-        Queue<TaskProperty> releaseTimeQueue = new PriorityQueue<>(numberOfTasks);
-        Queue<TaskProperty> dueDateQueue = new PriorityQueue<>(numberOfTasks);
-        for (int i = 0; i < numberOfTasks; i++) {
-            releaseTimeQueue.add(new TaskProperty(i, releaseTimes[i]));
-        }
-
-        int time = 0;
-        int lateness = 0;
-        while (!dueDateQueue.isEmpty() || !releaseTimeQueue.isEmpty()) {
-            if (dueDateQueue.isEmpty() && !releaseTimeQueue.isEmpty()) {
-                time = releaseTimeQueue.peek().property;
-            }
-
-            // Mark all available tasks
-            while (!releaseTimeQueue.isEmpty() && releaseTimeQueue.peek().property <= time) {
-                int id = releaseTimeQueue.poll().id;
-                dueDateQueue.add(new TaskProperty(id, dueDates[id]));
-            }
-
-            // Select available task with earliest due date
-            TaskProperty task = dueDateQueue.poll();
-
-            // Schedule the task until next task becomes available or until it's finished
-            int nextReleaseDate = Integer.MAX_VALUE;
-            for (TaskProperty otherTask : releaseTimeQueue) {
-                int releaseTime = otherTask.property;
-                if (releaseTime > time && releaseTime < nextReleaseDate) {
-                    nextReleaseDate = releaseTime;
-                }
-            }
-
-            int stepSize = remainingTime[task.id];
-            if (time + stepSize > nextReleaseDate) {
-                stepSize = nextReleaseDate - time;
-                dueDateQueue.add(task); // Requeue
-            } else {
-                lateness += (time + stepSize) - dueDates[task.id];
-            }
-            remainingTime[task.id] -= stepSize;
-            schedules[task.id].addInterval(Interval.of(time, time + stepSize));
-            time += stepSize;
-        }
-
-        return new Schedule(
-            numberOfTasks,
-            releaseTimes,
-            processingTimes,
-            dueDates,
-            lateness,
-            schedules
-        );
+        return new HornsScheduler(numberOfTasks).schedule(numberOfTasks, releaseTimes, processingTimes, dueDates);
     }
 
     public static final class Schedule
@@ -123,52 +78,20 @@ public class HornsAlgorithm
             return schedules;
         }
 
+        /**
+         * Renders the schedule as a text chart with one column per time unit, see {@link GanttRenderer}.
+         * Use the renderer directly to write long schedules to a file or to split them into buckets.
+         *
+         * @return The chart.
+         */
         public String visualize()
         {
             StringBuilder sb = new StringBuilder();
-
-            int maxTime = 0;
-            for (int i = 0; i < numberOfTasks; i++) {
-                if (maxTime < dueDates[i]) {
-                    maxTime = dueDates[i];
-                }
-                for (Interval interval : schedules[i].getIntervals()) {
-                    if (maxTime < interval.getEnd()) {
-                        maxTime = interval.getEnd();
-                    }
-                }
-            }
-
-            for (int i = 0; i < numberOfTasks; i++) {
-                sb.append(String.format("T%d: ", i + 1));
-                for (int time = 0; time < maxTime; time++) {
-                    if (time < releaseTimes[i]) {
-                        sb.append(" ");
-                        continue;
-                    }
-
-                    boolean done = false;
-                    for (Interval interval : schedules[i].getIntervals()) {
-                        if (time >= interval.getStart() && time < interval.getEnd()) {
-                            sb.append("▤");
-                            done = true;
-                            break;
-                        }
-                    }
-                    if (done) {
-                        continue;
-                    }
-
-                    if (time > dueDates[i]) {
-                        sb.append(" ");
-                        continue;
-                    }
-
-                    sb.append("-");
-                }
-                sb.append("\n");
+            try {
+                new GanttRenderer().render(this, sb);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e); // StringBuilder does not throw
             }
-
             return sb.toString();
         }
 
@@ -219,24 +142,4 @@ public class HornsAlgorithm
 
     }
 
-    private static final class TaskProperty implements Comparable<TaskProperty>
-    {
-
-        private final int id;
-        private final int property;
-
-        private TaskProperty(final int id, final int property)
-        {
-            this.id = id;
-            this.property = property;
-        }
-
-        @Override
-        public int compareTo(final TaskProperty o)
-        {
-            return Integer.compare(property, o.property);
-        }
-
-    }
-
 }
@@ -0,0 +1,244 @@
+package cz.filipklimes.edu.scheduling;
+
+import cz.filipklimes.edu.datastructure.LongMinHeap;
+
+import java.nio.IntBuffer;
+import java.util.*;
+
+/**
+ * Engine of Horn's algorithm (1|r,d|Lmax with preemption) running in O(n log n) time.
+ * The release times are sorted once as (release time, task) pairs packed into longs,
+ * so the next release is the next element of the array instead of a scan of all
+ * unreleased tasks, and the released tasks wait in a LongMinHeap of (due date, task) pairs.
+ * The scratch arrays are kept by the instance and reused by the next call, so once they
+ * are large enough, scheduling allocates nothing but its output, and nothing at all when
+ * the intervals are passed to an {@link IntervalListener}.
+ * Released tasks with equal due dates are executed in ascending order of their indices.
+ * The total lateness is summed in a long, which the methods passing the intervals to a listener
+ * return, while the schedules hold it as an int like everywhere else, so building a schedule
+ * fails by an ArithmeticException if it does not fit, which may happen from a million tasks
+ * late by thousands of time units each.
+ * WARNING: This class is not thread-safe, use one instance per thread.
+ */
+public class HornsScheduler
+{
+
+    /**
+     * Tasks packed by LongMinHeap.pack(releaseTime, task), sorted by the release times.
+     */
+    private long[] releases;
+
+    private int[] remainingTimes;
+
+    /**
+     * Due dates read from buffers, allocated by the first call scheduling buffers.
+     */
+    private int[] dueDates;
+
+    /**
+     * Released unfinished tasks packed by LongMinHeap.pack(dueDate, task).
+     */
+    private final LongMinHeap available;
+
+    /**
+     * Construct the scheduler.
+     *
+     * @param initialCapacity Number of tasks the scratch arrays are allocated for, they grow when needed.
+     */
+    public HornsScheduler(final int initialCapacity)
+    {
+        int capacity = Math.max(initialCapacity, 1);
+        this.releases = new long[capacity];
+        this.remainingTimes = new int[capacity];
+        this.dueDates = new int[0];
+        this.available = new LongMinHeap(capacity);
+    }
+
+    public HornsScheduler()
+    {
+        this(128);
+    }
+
+    /**
+     * Schedules the tasks and builds the schedule of every task.
+     *
+     * @param numberOfTasks   Number of tasks, the tasks are indexed from 0.
+     * @param releaseTimes    Release time of every task.
+     * @param processingTimes Processing time of every task.
+     * @param dueDates        Due date of every task.
+     * @return The schedule, which keeps references to the given arrays.
+     * @throws ArithmeticException If the total lateness overflows an int.
+     * @see HornsAlgorithm#schedule(int, int[], int[], int[])
+     */
+    public HornsAlgorithm.Schedule schedule(final int numberOfTasks, final int[] releaseTimes, final int[] processingTimes, final int[] dueDates)
+    {
+        checkLengths(numberOfTasks, releaseTimes, processingTimes, dueDates);
+        final HornsAlgorithm.TaskSchedule[] schedules = new HornsAlgorithm.TaskSchedule[numberOfTasks];
+        for (int i = 0; i < numberOfTasks; i++) {
+            schedules[i] = new HornsAlgorithm.TaskSchedule();
+        }
+        int lateness = Math.toIntExact(schedule(numberOfTasks, releaseTimes, processingTimes, dueDates,
+            (task, start, end) -> schedules[task].addInterval(HornsAlgorithm.Interval.of(start, end))));
+
+        return new HornsAlgorithm.Schedule(
+            numberOfTasks,
+            releaseTimes,
+            processingTimes,
+            dueDates,
+            lateness,
+            schedules
+        );
+    }
+
+    /**
+     * Schedules the tasks and builds the schedule in the columnar form.
+     *
+     * @param numberOfTasks   Number of tasks, the tasks are indexed from 0.
+     * @param releaseTimes    Release time of every task.
+     * @param processingTimes Processing time of every task.
+     * @param dueDates        Due date of every task.
+     * @return The schedule, which keeps references to the given arrays.
+     * @throws ArithmeticException If the total lateness overflows an int.
+     */
+    public CompactSchedule scheduleCompact(final int numberOfTasks, final int[] releaseTimes, final int[] processingTimes, final int[] dueDates)
+    {
+        checkLengths(numberOfTasks, releaseTimes, processingTimes, dueDates);
+        CompactSchedule.Builder builder = new CompactSchedule.Builder(numberOfTasks);
+        int lateness = Math.toIntExact(schedule(numberOfTasks, releaseTimes, processingTimes, dueDates, builder));
+        return builder.build(numberOfTasks, releaseTimes, processingTimes, dueDates, lateness);
+    }
+
+    /**
+     * Schedules the tasks of the instance and builds the schedule in the columnar form.
+     * The deadlines are ignored.
+     *
+     * @param instance The instance.
+     * @return The schedule, which keeps references to the arrays of the instance.
+     * @throws ArithmeticException If the total lateness overflows an int.
+     */
+    public CompactSchedule scheduleCompact(final SchedulingInstance instance)
+    {
+        return scheduleCompact(instance.getNumberOfTasks(), instance.getReleaseTimes(), instance.getProcessingTimes(), instance.getDueDates());
+    }
+
+    /**
+     * Schedules the tasks and passes the intervals to the listener in the order of their execution.
+     * A task is preempted whenever another task is released, if it is still the task
+     * with the earliest due date, its execution continues by the next interval.
+     *
+     * @param numberOfTasks   Number of tasks, the tasks are indexed from 0.
+     * @param releaseTimes    Release time of every task.
+     * @param processingTimes Processing time of every task.
+     * @param dueDates        Due date of every task.
+     * @param listener        Receives the intervals.
+     * @return The total lateness, i.e. the sum of completion time minus due date over all tasks.
+     */
+    public long schedule(final int numberOfTasks, final int[] releaseTimes, final int[] processingTimes, final int[] dueDates, final IntervalListener listener)
+    {
+        checkLengths(numberOfTasks, releaseTimes, processingTimes, dueDates);
+        ensureCapacity(numberOfTasks);
+        for (int i = 0; i < numberOfTasks; i++) {
+            releases[i] = LongMinHeap.pack(releaseTimes[i], i);
+            remainingTimes[i] = processingTimes[i];
+        }
+        return run(numberOfTasks, dueDates, listener);
+    }
+
+    /**
+     * Schedules the tasks whose columns are in the buffers, e.g. in a memory-mapped file,
+     * and passes the intervals to the listener in the order of their execution.
+     * The columns are read once, straight into the scratch arrays of the scheduler,
+     * so no int arrays of the instance are needed.
+     *
+     * @param numberOfTasks   Number of tasks, the task i is at the index i of every buffer regardless of its position.
+     * @param releaseTimes    Release time of every task.
+     * @param processingTimes Processing time of every task.
+     * @param dueDates        Due date of every task.
+     * @param listener        Receives the intervals.
+     * @return The total lateness, i.e. the sum of completion time minus due date over all tasks.
+     * @see #schedule(int, int[], int[], int[], IntervalListener)
+     */
+    public long schedule(final int numberOfTasks, final IntBuffer releaseTimes, final IntBuffer processingTimes, final IntBuffer dueDates, final IntervalListener listener)
+    {
+        if (numberOfTasks < 0 || numberOfTasks > releaseTimes.limit() || numberOfTasks > processingTimes.limit() || numberOfTasks > dueDates.limit()) {
+            throw new IllegalArgumentException(String.format("Number of tasks %d does not match the limits of the buffers.", numberOfTasks));
+        }
+        ensureCapacity(numberOfTasks);
+        if (numberOfTasks > this.dueDates.length) {
+            this.dueDates = new int[releases.length];
+        }
+        final long[] releases = this.releases;
+        final int[] remainingTimes = this.remainingTimes;
+        final int[] scratchDueDates = this.dueDates;
+        for (int i = 0; i < numberOfTasks; i++) {
+            releases[i] = LongMinHeap.pack(releaseTimes.get(i), i);
+            remainingTimes[i] = processingTimes.get(i);
+            scratchDueDates[i] = dueDates.get(i);
+        }
+        return run(numberOfTasks, scratchDueDates, listener);
+    }
+
+    /**
+     * Runs the algorithm on the first tasks of the scratch arrays, which are filled
+     * with the packed release times and the processing times.
+     */
+    private long run(final int numberOfTasks, final int[] dueDates, final IntervalListener listener)
+    {
+        final long[] releases = this.releases;
+        final int[] remainingTimes = this.remainingTimes;
+        final LongMinHeap available = this.available;
+        Arrays.sort(releases, 0, numberOfTasks);
+        available.clear();
+
+        int next = 0; // Index of the next task to be released
+        int time = 0;
+        long lateness = 0;
+        while (available.size() > 0 || next < numberOfTasks) {
+            if (available.size() == 0) {
+                time = LongMinHeap.priority(releases[next]);
+            }
+
+            // Mark all available tasks
+            while (next < numberOfTasks && LongMinHeap.priority(releases[next]) <= time) {
+                int id = LongMinHeap.payload(releases[next++]);
+                available.push(dueDates[id], id);
+            }
+
+            // Select available task with earliest due date
+            long task = available.pop();
+            int id = LongMinHeap.payload(task);
+
+            // Schedule the task until next task becomes available or until it's finished
+            int nextReleaseDate = next < numberOfTasks ? LongMinHeap.priority(releases[next]) : Integer.MAX_VALUE;
+            int stepSize = remainingTimes[id];
+            if (time + stepSize > nextReleaseDate) {
+                stepSize = nextReleaseDate - time;
+                available.push(task); // Requeue
+            } else {
+                lateness += (long) (time + stepSize) - dueDates[id];
+            }
+            remainingTimes[id] -= stepSize;
+            listener.interval(id, time, time + stepSize);
+            time += stepSize;
+        }
+
+        return lateness;
+    }
+
+    private static void checkLengths(final int numberOfTasks, final int[] releaseTimes, final int[] processingTimes, final int[] dueDates)
+    {
+        if (numberOfTasks < 0 || numberOfTasks > releaseTimes.length || numberOfTasks > processingTimes.length || numberOfTasks > dueDates.length) {
+            throw new IllegalArgumentException(String.format("Number of tasks %d does not match the lengths of the arrays.", numberOfTasks));
+        }
+    }
+
+    private void ensureCapacity(final int numberOfTasks)
+    {
+        if (numberOfTasks > releases.length) {
+            int capacity = Math.max(numberOfTasks, (int) Math.min(Integer.MAX_VALUE - 8, (long) releases.length << 1));
+            releases = new long[capacity];
+            remainingTimes = new int[capacity];
+        }
+    }
+
+}
@@ -0,0 +1,39 @@
+package cz.filipklimes.edu.scheduling;
+
+/**
+ * Primitive iterator over the intervals of a schedule, which reads the intervals
+ * one by one without allocating an object for each of them.
+ * A new cursor is positioned before the first interval.
+ */
+public interface IntervalCursor
+{
+
+    /**
+     * Moves the cursor to the next interval.
+     *
+     * @return True if there is such an interval, false if the cursor reached the end.
+     */
+    boolean next();
+
+    /**
+     * Returns the task executed in the current interval.
+     *
+     * @return Index of the task.
+     */
+    int task();
+
+    /**
+     * Returns the time the current interval starts.
+     *
+     * @return The start time.
+     */
+    int start();
+
+    /**
+     * Returns the time the current interval ends (exclusive).
+     *
+     * @return The end time.
+     */
+    int end();
+
+}
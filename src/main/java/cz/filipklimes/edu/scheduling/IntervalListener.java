@@ -0,0 +1,19 @@
+package cz.filipklimes.edu.scheduling;
+
+/**
+ * Receives the intervals of a schedule in the order of their execution,
+ * so the schedule can be consumed without building it in memory.
+ */
+public interface IntervalListener
+{
+
+    /**
+     * Called for every interval in which a task is executed.
+     *
+     * @param task  Index of the task.
+     * @param start The time the execution starts.
+     * @param end   The time the execution ends (exclusive).
+     */
+    void interval(int task, int start, int end);
+
+}
@@ -0,0 +1,265 @@
+package cz.filipklimes.edu.scheduling;
+
+import cz.filipklimes.edu.datastructure.LongMinHeap;
+
+import java.util.*;
+
+/**
+ * Online variant of Horn's algorithm (1|r,d|Lmax with preemption) for a stream of tasks.
+ * Tasks are submitted as they arrive and the time is advanced explicitly. While advancing,
+ * the released task with the earliest due date is executed until it finishes, until another
+ * task is released or until the target time is reached, and every executed interval
+ * is passed to the listener right away. Given the same tasks, the intervals are the same
+ * as those of {@link HornsScheduler}, except that an interval is also split at the times
+ * passed to {@link #advanceTo(int)}.
+ * Only the active tasks (submitted and not finished) are kept, each in a slot of primitive
+ * arrays which is reused when the task finishes, so the memory is bounded by the maximum
+ * number of active tasks, not by the length of the stream.
+ * Released tasks with equal due dates are executed in an unspecified order.
+ * WARNING: This class is not thread-safe.
+ */
+public class OnlineHornsScheduler
+{
+
+    /**
+     * Receives the decisions of the scheduler.
+     */
+    public interface Listener
+    {
+
+        /**
+         * Called for every interval in which a task is executed, in the order of execution.
+         *
+         * @param task  The task.
+         * @param start The time the execution starts.
+         * @param end   The time the execution ends (exclusive).
+         */
+        void interval(Task task, int start, int end);
+
+        /**
+         * Called when a task finishes, right after its last interval.
+         *
+         * @param task The task.
+         * @param time The completion time.
+         */
+        default void completed(final Task task, final int time)
+        {
+        }
+
+    }
+
+    private final Listener listener;
+
+    /**
+     * Task of every slot, null for a free slot.
+     */
+    private Task[] tasks;
+
+    private int[] remainingTimes;
+
+    /**
+     * Free slots, used as a stack.
+     */
+    private int[] freeSlots;
+
+    private int freeCount;
+
+    /**
+     * Submitted unreleased tasks packed by LongMinHeap.pack(releaseTime, slot).
+     */
+    private final LongMinHeap pending;
+
+    /**
+     * Released unfinished tasks packed by LongMinHeap.pack(dueDate, slot).
+     */
+    private final LongMinHeap available;
+
+    private int time;
+
+    private long lateness;
+
+    private long maxLateness;
+
+    private long completed;
+
+    /**
+     * Construct the scheduler.
+     *
+     * @param startTime The current time, tasks released before it are released at this time.
+     * @param listener  Receives the executed intervals.
+     */
+    public OnlineHornsScheduler(final int startTime, final Listener listener)
+    {
+        this.listener = Objects.requireNonNull(listener);
+        this.tasks = new Task[16];
+        this.remainingTimes = new int[16];
+        this.freeSlots = new int[16];
+        for (int i = 0; i < 16; i++) {
+            freeSlots[i] = 15 - i;
+        }
+        this.freeCount = 16;
+        this.pending = new LongMinHeap(16);
+        this.available = new LongMinHeap(16);
+        this.time = startTime;
+        this.lateness = 0;
+        this.maxLateness = Long.MIN_VALUE;
+        this.completed = 0;
+    }
+
+    public OnlineHornsScheduler(final Listener listener)
+    {
+        this(0, listener);
+    }
+
+    /**
+     * Submits the task. Nothing is executed until the time is advanced.
+     *
+     * @param task The task, released at its release time or at the current time, whichever is later.
+     */
+    public void submit(final Task task)
+    {
+        if (freeCount == 0) {
+            grow();
+        }
+        int slot = freeSlots[--freeCount];
+        tasks[slot] = task;
+        remainingTimes[slot] = task.getProcessingTime();
+        if (task.getReleaseTime() <= time) {
+            available.push(task.getDueDate(), slot);
+        } else {
+            pending.push(task.getReleaseTime(), slot);
+        }
+    }
+
+    /**
+     * Executes the tasks until the given time and passes the executed intervals to the listener.
+     *
+     * @param targetTime The time to advance to, not before the current time.
+     */
+    public void advanceTo(final int targetTime)
+    {
+        if (targetTime < time) {
+            throw new IllegalArgumentException(String.format("Cannot advance to %d, the current time is %d.", targetTime, time));
+        }
+        while (true) {
+            // Mark all available tasks
+            while (pending.size() > 0 && LongMinHeap.priority(pending.peek()) <= time) {
+                int slot = LongMinHeap.payload(pending.pop());
+                available.push(tasks[slot].getDueDate(), slot);
+            }
+            int nextReleaseDate = pending.size() > 0 ? LongMinHeap.priority(pending.peek()) : Integer.MAX_VALUE;
+
+            if (available.size() == 0) {
+                if (pending.size() == 0 || nextReleaseDate > targetTime) {
+                    time = targetTime;
+                    return;
+                }
+                time = nextReleaseDate; // Idle until the next task becomes available
+                continue;
+            }
+
+            // Execute the task with the earliest due date until it's finished,
+            // until the next task becomes available or until the target time
+            int slot = LongMinHeap.payload(available.peek());
+            int remainingTime = remainingTimes[slot];
+            int end = (int) Math.min(Math.min((long) time + remainingTime, nextReleaseDate), targetTime);
+            if (end == time && remainingTime > 0) {
+                return; // The target time is reached
+            }
+            Task task = tasks[slot];
+            listener.interval(task, time, end);
+            remainingTimes[slot] = remainingTime - (end - time);
+            time = end;
+            if (remainingTimes[slot] == 0) {
+                available.pop();
+                finish(slot, task);
+            }
+        }
+    }
+
+    /**
+     * Returns the current time, to which the tasks have been executed.
+     *
+     * @return The current time.
+     */
+    public int currentTime()
+    {
+        return time;
+    }
+
+    /**
+     * Returns number of submitted tasks which have not finished yet.
+     *
+     * @return Number of active tasks.
+     */
+    public int activeTasks()
+    {
+        return tasks.length - freeCount;
+    }
+
+    /**
+     * Returns number of finished tasks.
+     *
+     * @return Number of finished tasks.
+     */
+    public long completedTasks()
+    {
+        return completed;
+    }
+
+    /**
+     * Returns the sum of the lateness (completion time minus due date) of the finished tasks.
+     *
+     * @return The total lateness.
+     */
+    public long getLateness()
+    {
+        return lateness;
+    }
+
+    /**
+     * Returns the maximum lateness (completion time minus due date) of the finished tasks.
+     *
+     * @return The maximum lateness, or Long.MIN_VALUE if no task has finished yet.
+     */
+    public long getMaxLateness()
+    {
+        return maxLateness;
+    }
+
+    /**
+     * Returns number of slots, i.e. the maximum number of tasks which have been active at once,
+     * rounded up to a power of two.
+     */
+    int capacity()
+    {
+        return tasks.length;
+    }
+
+    private void finish(final int slot, final Task task)
+    {
+        long taskLateness = (long) time - task.getDueDate();
+        lateness += taskLateness;
+        maxLateness = Math.max(maxLateness, taskLateness);
+        ++completed;
+        tasks[slot] = null;
+        freeSlots[freeCount++] = slot;
+        listener.completed(task, time);
+    }
+
+    private void grow()
+    {
+        int capacity = tasks.length;
+        int newCapacity = capacity << 1;
+        if (newCapacity < 0) {
+            throw new OutOfMemoryError();
+        }
+        tasks = Arrays.copyOf(tasks, newCapacity);
+        remainingTimes = Arrays.copyOf(remainingTimes, newCapacity);
+        freeSlots = Arrays.copyOf(freeSlots, newCapacity);
+        for (int slot = newCapacity - 1; slot >= capacity; slot--) {
+            freeSlots[freeCount++] = slot;
+        }
+    }
+
+}
@@ -0,0 +1,110 @@
+package cz.filipklimes.edu.scheduling;
+
+import java.util.*;
+
+/**
+ * Instance of a one-processor scheduling problem: the release time, the processing time,
+ * the due date and the deadline of every task in columns of int arrays.
+ * The arrays are not copied, they must not be modified while the instance is used.
+ */
+public final class SchedulingInstance
+{
+
+    private final int numberOfTasks;
+    private final int[] releaseTimes;
+    private final int[] processingTimes;
+    private final int[] dueDates;
+    private final int[] deadlines;
+
+    /**
+     * Construct the instance.
+     *
+     * @param releaseTimes    Release time of every task.
+     * @param processingTimes Processing time of every task.
+     * @param dueDates        Due date of every task.
+     * @param deadlines       Deadline of every task, {@link Task#NO_DEADLINE} for a task without a deadline.
+     */
+    public SchedulingInstance(final int[] releaseTimes, final int[] processingTimes, final int[] dueDates, final int[] deadlines)
+    {
+        this.numberOfTasks = releaseTimes.length;
+        if (processingTimes.length != numberOfTasks || dueDates.length != numberOfTasks || deadlines.length != numberOfTasks) {
+            throw new IllegalArgumentException(String.format(
+                "All columns must have the same length, got %d, %d, %d and %d.",
+                releaseTimes.length, processingTimes.length, dueDates.length, deadlines.length
+            ));
+        }
+        this.releaseTimes = releaseTimes;
+        this.processingTimes = processingTimes;
+        this.dueDates = dueDates;
+        this.deadlines = deadlines;
+    }
+
+    /**
+     * Construct the instance of tasks without deadlines.
+     *
+     * @param releaseTimes    Release time of every task.
+     * @param processingTimes Processing time of every task.
+     * @param dueDates        Due date of every task.
+     */
+    public SchedulingInstance(final int[] releaseTimes, final int[] processingTimes, final int[] dueDates)
+    {
+        this(releaseTimes, processingTimes, dueDates, noDeadlines(releaseTimes.length));
+    }
+
+    /**
+     * Creates the instance of the tasks, indexed in the order of the list.
+     *
+     * @param tasks The tasks.
+     * @return The instance.
+     */
+    public static SchedulingInstance of(final List<Task> tasks)
+    {
+        int n = tasks.size();
+        int[] releaseTimes = new int[n];
+        int[] processingTimes = new int[n];
+        int[] dueDates = new int[n];
+        int[] deadlines = new int[n];
+        int i = 0;
+        for (Task task : tasks) {
+            releaseTimes[i] = task.getReleaseTime();
+            processingTimes[i] = task.getProcessingTime();
+            dueDates[i] = task.getDueDate();
+            deadlines[i] = task.getDeadline();
+            ++i;
+        }
+        return new SchedulingInstance(releaseTimes, processingTimes, dueDates, deadlines);
+    }
+
+    public int getNumberOfTasks()
+    {
+        return numberOfTasks;
+    }
+
+    public int[] getReleaseTimes()
+    {
+        return releaseTimes;
+    }
+
+    public int[] getProcessingTimes()
+    {
+        return processingTimes;
+    }
+
+    public int[] getDueDates()
+    {
+        return dueDates;
+    }
+
+    public int[] getDeadlines()
+    {
+        return deadlines;
+    }
+
+    private static int[] noDeadlines(final int numberOfTasks)
+    {
+        int[] deadlines = new int[numberOfTasks];
+        Arrays.fill(deadlines, Task.NO_DEADLINE);
+        return deadlines;
+    }
+
+}
@@ -8,6 +8,11 @@ package cz.filipklimes.edu.scheduling;
 public class Task
 {
 
+    /**
+     * Deadline of a task which can be calculated at any time.
+     */
+    public static final int NO_DEADLINE = -1;
+
     /**
      * Time required to finish the task.
      */
@@ -24,13 +29,13 @@ public class Task
     private final int dueDate;
 
     /**
-     * Latest point in time when the task can be calculated.
+     * Latest point in time when the task can be calculated, or {@link #NO_DEADLINE}.
      */
     private final int deadline;
 
     public Task(final int processingTime, final int releaseTime, final int dueDate, final int deadline)
     {
-        if ((releaseTime + processingTime) > dueDate || (releaseTime + processingTime) > deadline) {
+        if ((releaseTime + processingTime) > dueDate || (deadline != NO_DEADLINE && (releaseTime + processingTime) > deadline)) {
             throw new RuntimeException(String.format("Infeasible task, release time must be before due date and deadline"));
         }
 
@@ -42,7 +47,7 @@ public class Task
 
     public Task(final int processingTime, final int releaseTime, final int dueDate)
     {
-        this(processingTime, releaseTime, dueDate, -1);
+        this(processingTime, releaseTime, dueDate, NO_DEADLINE);
     }
 
     public int getProcessingTime()
@@ -65,4 +70,9 @@ public class Task
         return deadline;
     }
 
+    public boolean hasDeadline()
+    {
+        return deadline != NO_DEADLINE;
+    }
+
 }
@@ -1,11 +1,33 @@
 package cz.filipklimes.edu.scheduling.exception;
 
+import cz.filipklimes.edu.scheduling.Task;
+
 public class InfeasibleScheduleException extends RuntimeException
 {
 
+    /**
+     * The task which could not be scheduled, null if unknown.
+     */
+    private final Task task;
+
     public InfeasibleScheduleException()
     {
         super("Infeasible schedule.");
+        this.task = null;
+    }
+
+    public InfeasibleScheduleException(final Task task, final int missedDeadline)
+    {
+        super(String.format(
+            "Infeasible schedule, task with processing time %d, release time %d and deadline %d would make a task miss the deadline %d.",
+            task.getProcessingTime(), task.getReleaseTime(), task.getDeadline(), missedDeadline
+        ));
+        this.task = task;
+    }
+
+    public Task getTask()
+    {
+        return task;
     }
 
 }
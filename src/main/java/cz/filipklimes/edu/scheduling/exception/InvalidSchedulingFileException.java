@@ -0,0 +1,18 @@
+package cz.filipklimes.edu.scheduling.exception;
+
+import java.nio.file.Path;
+
+public class InvalidSchedulingFileException extends RuntimeException
+{
+
+    public InvalidSchedulingFileException(final String source, final String reason)
+    {
+        super(String.format("Invalid scheduling file %s: %s.", source, reason));
+    }
+
+    public InvalidSchedulingFileException(final Path file, final String reason)
+    {
+        this(file.toString(), reason);
+    }
+
+}
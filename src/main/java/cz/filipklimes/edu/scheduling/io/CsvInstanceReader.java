@@ -0,0 +1,188 @@
+package cz.filipklimes.edu.scheduling.io;
+
+import cz.filipklimes.edu.scheduling.SchedulingInstance;
+import cz.filipklimes.edu.scheduling.Task;
+import cz.filipklimes.edu.scheduling.exception.InvalidSchedulingFileException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Imports scheduling instances from CSV files with one task per line:
+ * the release time, the processing time, the due date and optionally the deadline,
+ * separated by commas. The first line is skipped if it is a header, i.e. if it starts
+ * with a letter, empty lines are skipped, and spaces, tabs and carriage returns are ignored.
+ * A leading UTF-8 byte order mark is skipped.
+ * A task without the deadline gets {@link Task#NO_DEADLINE}.
+ * The input is parsed byte by byte from a 64 KiB buffer straight into the columns,
+ * without creating a String per line or per number, so it is read at the disk bandwidth.
+ * Convert the imported instance by {@link InstanceFile#write(Path, SchedulingInstance)}
+ * to load it faster the next time.
+ */
+public final class CsvInstanceReader
+{
+
+    private static final int BUFFER_BYTES = 1 << 16;
+
+    private static final int MIN_COLUMNS = 3;
+
+    private static final int MAX_COLUMNS = 4;
+
+    private static final byte[] BYTE_ORDER_MARK = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+
+    private CsvInstanceReader()
+    {
+    }
+
+    /**
+     * Imports the instance from the file.
+     *
+     * @param file The CSV file.
+     * @return The instance.
+     * @throws IOException                    If the file cannot be read.
+     * @throws InvalidSchedulingFileException If the file is not a valid CSV instance.
+     */
+    public static SchedulingInstance read(final Path file) throws IOException
+    {
+        try (InputStream in = Files.newInputStream(file)) {
+            return read(in, file.toString());
+        }
+    }
+
+    /**
+     * Imports the instance from the stream, which is read to its end and not closed.
+     *
+     * @param in     The CSV input.
+     * @param source Name of the input for the error messages.
+     * @return The instance.
+     * @throws IOException                    If the stream cannot be read.
+     * @throws InvalidSchedulingFileException If the input is not a valid CSV instance.
+     */
+    public static SchedulingInstance read(final InputStream in, final String source) throws IOException
+    {
+        byte[] buffer = new byte[BUFFER_BYTES];
+        int[][] columns = new int[MAX_COLUMNS][1024];
+        int size = 0;
+
+        long line = 1;
+        int byteOrderMark = 0; // Bytes of the byte order mark read at the start, -1 after the start
+        boolean header = true; // The current line may still be a header
+        boolean skipLine = false;
+        int column = 0;
+        long value = 0;
+        boolean negative = false;
+        boolean digits = false;
+        boolean closed = false; // A number has been followed by a space
+        boolean lineEmpty = true;
+        int[] fields = new int[MAX_COLUMNS];
+
+        int length;
+        while (true) {
+            length = in.read(buffer);
+            // A missing new line at the end is handled as if it was there
+            int end = length < 0 ? 1 : length;
+            for (int i = 0; i < end; i++) {
+                byte b = length < 0 ? (byte) '\n' : buffer[i];
+                if (byteOrderMark >= 0) {
+                    if (b == BYTE_ORDER_MARK[byteOrderMark]) {
+                        byteOrderMark = byteOrderMark + 1 == BYTE_ORDER_MARK.length ? -1 : byteOrderMark + 1;
+                        continue;
+                    }
+                    if (byteOrderMark > 0) {
+                        throw new InvalidSchedulingFileException(source, "line 1: incomplete byte order mark");
+                    }
+                    byteOrderMark = -1;
+                }
+                if (skipLine) {
+                    if (b == '\n') {
+                        skipLine = false;
+                        ++line;
+                    }
+                    continue;
+                }
+                if (b >= '0' && b <= '9') {
+                    if (closed) {
+                        throw new InvalidSchedulingFileException(source, String.format("line %d: space in a number", line));
+                    }
+                    value = value * 10 + (b - '0');
+                    if (value > (negative ? -(long) Integer.MIN_VALUE : Integer.MAX_VALUE)) {
+                        throw new InvalidSchedulingFileException(source, String.format("line %d: number out of the int range", line));
+                    }
+                    digits = true;
+                    lineEmpty = false;
+                } else if (b == ',' || b == '\n') {
+                    if (b == '\n' && lineEmpty && column == 0) {
+                        ++line; // Empty line
+                        continue;
+                    }
+                    if (!digits) {
+                        throw new InvalidSchedulingFileException(source, String.format("line %d: column %d is empty", line, column + 1));
+                    }
+                    if (column == MAX_COLUMNS) {
+                        throw new InvalidSchedulingFileException(source, String.format("line %d: more than %d columns", line, MAX_COLUMNS));
+                    }
+                    fields[column++] = (int) (negative ? -value : value);
+                    value = 0;
+                    negative = false;
+                    digits = false;
+                    closed = false;
+                    lineEmpty = false;
+                    if (b == '\n') {
+                        if (column < MIN_COLUMNS) {
+                            throw new InvalidSchedulingFileException(source, String.format("line %d: %d columns, expected %d or %d", line, column, MIN_COLUMNS, MAX_COLUMNS));
+                        }
+                        if (size == columns[0].length) {
+                            int capacity = size << 1;
+                            if (capacity < 0) {
+                                throw new OutOfMemoryError();
+                            }
+                            for (int c = 0; c < MAX_COLUMNS; c++) {
+                                columns[c] = Arrays.copyOf(columns[c], capacity);
+                            }
+                        }
+                        columns[0][size] = fields[0];
+                        columns[1][size] = fields[1];
+                        columns[2][size] = fields[2];
+                        columns[3][size] = column == MAX_COLUMNS ? fields[3] : Task.NO_DEADLINE;
+                        ++size;
+                        column = 0;
+                        header = false;
+                        lineEmpty = true;
+                        ++line;
+                    }
+                } else if (b == '-' && !digits && !negative) {
+                    negative = true;
+                    lineEmpty = false;
+                } else if (b == ' ' || b == '\t' || b == '\r') {
+                    closed = digits;
+                } else if (header && column == 0 && !digits && !negative && Character.isLetter(b)) {
+                    // The first line is a header, skip the rest of it
+                    header = false;
+                    skipLine = true;
+                    column = 0;
+                    value = 0;
+                    negative = false;
+                    digits = false;
+                    closed = false;
+                    lineEmpty = true;
+                } else {
+                    throw new InvalidSchedulingFileException(source, String.format("line %d: unexpected character '%c'", line, (char) (b & 0xFF)));
+                }
+            }
+            if (length < 0) {
+                break;
+            }
+        }
+
+        return new SchedulingInstance(
+            Arrays.copyOf(columns[0], size),
+            Arrays.copyOf(columns[1], size),
+            Arrays.copyOf(columns[2], size),
+            Arrays.copyOf(columns[3], size)
+        );
+    }
+
+}
@@ -0,0 +1,181 @@
+package cz.filipklimes.edu.scheduling.io;
+
+import cz.filipklimes.edu.scheduling.SchedulingInstance;
+import cz.filipklimes.edu.scheduling.exception.InvalidSchedulingFileException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Writes scheduling instances into binary files and maps them back into memory.
+ * An instance file is a 32-byte header followed by the columns of the instance,
+ * the release times, the processing times, the due dates and the deadlines
+ * of all tasks, all little-endian:
+ * <pre>
+ *  0  int   magic "INST"
+ *  4  int   format version
+ *  8  int   number of columns
+ * 12  int   bytes per element
+ * 16  long  number of tasks
+ * 24  long  CRC32 of the columns and of the header bytes 0-23
+ * </pre>
+ * Every column is mapped as one buffer, so a file holds at most 2^29 - 1 tasks.
+ * The file is written into a temporary file, which replaces the target file only when complete.
+ */
+public final class InstanceFile
+{
+
+    private static final int MAGIC = 0x54534E49; // "INST" in little-endian
+
+    private static final int VERSION = 1;
+
+    private static final int COLUMNS = 4;
+
+    private static final int HEADER_BYTES = 32;
+
+    private static final int CHECKSUM_OFFSET = 24;
+
+    private static final long MAX_TASKS = Integer.MAX_VALUE / Integer.BYTES;
+
+    private InstanceFile()
+    {
+    }
+
+    /**
+     * Writes the instance.
+     *
+     * @param file     The instance file, replaced if it exists.
+     * @param instance The instance.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void write(final Path file, final SchedulingInstance instance) throws IOException
+    {
+        int n = instance.getNumberOfTasks();
+        if (n > MAX_TASKS) {
+            throw new IllegalArgumentException(String.format("Instance of %d tasks is too large, at most %d tasks fit into a file.", n, MAX_TASKS));
+        }
+        int[][] columns = {instance.getReleaseTimes(), instance.getProcessingTimes(), instance.getDueDates(), instance.getDeadlines()};
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        CRC32 checksum = new CRC32();
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            for (int column = 0; column < COLUMNS; column++) {
+                if (n == 0) {
+                    break;
+                }
+                MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_WRITE, columnOffset(column, n), (long) n * Integer.BYTES);
+                region.order(ByteOrder.LITTLE_ENDIAN).asIntBuffer().put(columns[column], 0, n);
+                region.force();
+                checksum.update(region);
+            }
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(0, MAGIC);
+            header.putInt(4, VERSION);
+            header.putInt(8, COLUMNS);
+            header.putInt(12, Integer.BYTES);
+            header.putLong(16, n);
+            checksum.update(header.array(), 0, CHECKSUM_OFFSET);
+            header.putLong(CHECKSUM_OFFSET, checksum.getValue());
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+            channel.force(true);
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Maps the instance file into memory and verifies its checksum, which reads every page
+     * of the file once, sequentially, so the columns are in the page cache afterwards.
+     * The file is unmapped when the returned instance is garbage collected.
+     *
+     * @param file The instance file.
+     * @return The mapped instance.
+     * @throws IOException                    If the file cannot be read.
+     * @throws InvalidSchedulingFileException If the file is not a valid instance file.
+     */
+    public static MappedInstance map(final Path file) throws IOException
+    {
+        return map(file, true);
+    }
+
+    /**
+     * Maps the instance file into memory. Without the verification of the checksum, the columns
+     * are not read until they are accessed, then the operating system reads their pages on demand,
+     * and a corrupted file is only detected by the checks of the header.
+     *
+     * @param file   The instance file.
+     * @param verify Whether to verify the checksum of the columns.
+     * @return The mapped instance.
+     * @throws IOException                    If the file cannot be read.
+     * @throws InvalidSchedulingFileException If the file is not a valid instance file.
+     */
+    public static MappedInstance map(final Path file, final boolean verify) throws IOException
+    {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining()) {
+                if (channel.read(header, header.position()) < 0) {
+                    throw new InvalidSchedulingFileException(file, "the header is truncated");
+                }
+            }
+            if (header.getInt(0) != MAGIC) {
+                throw new InvalidSchedulingFileException(file, "not an instance file");
+            }
+            if (header.getInt(4) != VERSION) {
+                throw new InvalidSchedulingFileException(file, String.format("unsupported version %d", header.getInt(4)));
+            }
+            if (header.getInt(8) != COLUMNS || header.getInt(12) != Integer.BYTES) {
+                throw new InvalidSchedulingFileException(file, String.format("holds %d columns of %d-byte elements, expected %d int columns", header.getInt(8), header.getInt(12), COLUMNS));
+            }
+            long n = header.getLong(16);
+            if (n < 0 || n > MAX_TASKS || channel.size() != columnOffset(COLUMNS, (int) n)) {
+                throw new InvalidSchedulingFileException(file, String.format("file size %d does not match %d tasks", channel.size(), n));
+            }
+
+            CRC32 checksum = new CRC32();
+            IntBuffer[] columns = new IntBuffer[COLUMNS];
+            for (int column = 0; column < COLUMNS; column++) {
+                MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, columnOffset(column, (int) n), n * Integer.BYTES);
+                if (verify) {
+                    checksum.update(((ByteBuffer) region).duplicate()); // MappedByteBuffer.duplicate() does not exist on Java 8
+                }
+                columns[column] = region.order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+            }
+            checksum.update(header.array(), 0, CHECKSUM_OFFSET);
+            if (verify && checksum.getValue() != header.getLong(CHECKSUM_OFFSET)) {
+                throw new InvalidSchedulingFileException(file, "checksum mismatch");
+            }
+            return new MappedInstance((int) n, columns[0], columns[1], columns[2], columns[3]);
+        }
+    }
+
+    /**
+     * Reads the instance file into the int arrays of an instance.
+     *
+     * @param file The instance file.
+     * @return The instance.
+     * @throws IOException                    If the file cannot be read.
+     * @throws InvalidSchedulingFileException If the file is not a valid instance file.
+     */
+    public static SchedulingInstance read(final Path file) throws IOException
+    {
+        return map(file).toInstance();
+    }
+
+    private static long columnOffset(final int column, final int numberOfTasks)
+    {
+        return HEADER_BYTES + (long) column * numberOfTasks * Integer.BYTES;
+    }
+
+}
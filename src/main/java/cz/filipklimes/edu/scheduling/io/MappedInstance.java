@@ -0,0 +1,88 @@
+package cz.filipklimes.edu.scheduling.io;
+
+import cz.filipklimes.edu.scheduling.HornsScheduler;
+import cz.filipklimes.edu.scheduling.IntervalListener;
+import cz.filipklimes.edu.scheduling.SchedulingInstance;
+
+import java.nio.IntBuffer;
+
+/**
+ * Instance of a one-processor scheduling problem whose columns are buffers
+ * of a memory-mapped {@link InstanceFile}. The task i is at the index i of every column.
+ * This class is immutable.
+ */
+public final class MappedInstance
+{
+
+    private final int numberOfTasks;
+    private final IntBuffer releaseTimes;
+    private final IntBuffer processingTimes;
+    private final IntBuffer dueDates;
+    private final IntBuffer deadlines;
+
+    MappedInstance(final int numberOfTasks, final IntBuffer releaseTimes, final IntBuffer processingTimes, final IntBuffer dueDates, final IntBuffer deadlines)
+    {
+        this.numberOfTasks = numberOfTasks;
+        this.releaseTimes = releaseTimes;
+        this.processingTimes = processingTimes;
+        this.dueDates = dueDates;
+        this.deadlines = deadlines;
+    }
+
+    public int getNumberOfTasks()
+    {
+        return numberOfTasks;
+    }
+
+    public IntBuffer getReleaseTimes()
+    {
+        return releaseTimes.duplicate();
+    }
+
+    public IntBuffer getProcessingTimes()
+    {
+        return processingTimes.duplicate();
+    }
+
+    public IntBuffer getDueDates()
+    {
+        return dueDates.duplicate();
+    }
+
+    public IntBuffer getDeadlines()
+    {
+        return deadlines.duplicate();
+    }
+
+    /**
+     * Schedules the tasks by Horn's algorithm straight from the mapped columns, see
+     * {@link HornsScheduler#schedule(int, IntBuffer, IntBuffer, IntBuffer, IntervalListener)}.
+     * The deadlines are ignored.
+     *
+     * @param scheduler The scheduler.
+     * @param listener  Receives the intervals.
+     * @return The total lateness.
+     */
+    public long schedule(final HornsScheduler scheduler, final IntervalListener listener)
+    {
+        return scheduler.schedule(numberOfTasks, releaseTimes, processingTimes, dueDates, listener);
+    }
+
+    /**
+     * Copies the columns into the int arrays of an instance.
+     *
+     * @return The instance.
+     */
+    public SchedulingInstance toInstance()
+    {
+        return new SchedulingInstance(toArray(releaseTimes), toArray(processingTimes), toArray(dueDates), toArray(deadlines));
+    }
+
+    private int[] toArray(final IntBuffer column)
+    {
+        int[] array = new int[numberOfTasks];
+        column.duplicate().get(array);
+        return array;
+    }
+
+}
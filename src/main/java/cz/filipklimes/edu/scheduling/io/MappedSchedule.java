@@ -0,0 +1,159 @@
+package cz.filipklimes.edu.scheduling.io;
+
+import cz.filipklimes.edu.scheduling.CompactSchedule;
+import cz.filipklimes.edu.scheduling.IntervalCursor;
+import cz.filipklimes.edu.scheduling.IntervalListener;
+import cz.filipklimes.edu.scheduling.SchedulingInstance;
+
+import java.nio.IntBuffer;
+import java.util.*;
+
+/**
+ * Intervals of a schedule in a memory-mapped {@link ScheduleFile}, in the order of execution.
+ * The intervals are read sequentially by {@link #cursor()} or {@link #forEach(IntervalListener)}
+ * straight from the mapped file.
+ * This class is immutable.
+ */
+public final class MappedSchedule
+{
+
+    private final int numberOfTasks;
+    private final int lateness;
+    private final long intervalCount;
+
+    /**
+     * The intervals, {@link ScheduleFile#REGION_INTERVALS} per region, three ints each.
+     */
+    private final IntBuffer[] regions;
+
+    MappedSchedule(final int numberOfTasks, final int lateness, final long intervalCount, final IntBuffer[] regions)
+    {
+        this.numberOfTasks = numberOfTasks;
+        this.lateness = lateness;
+        this.intervalCount = intervalCount;
+        this.regions = regions;
+    }
+
+    public int getNumberOfTasks()
+    {
+        return numberOfTasks;
+    }
+
+    public int getLateness()
+    {
+        return lateness;
+    }
+
+    /**
+     * Returns number of intervals of all tasks.
+     *
+     * @return Number of intervals.
+     */
+    public long intervalCount()
+    {
+        return intervalCount;
+    }
+
+    /**
+     * Returns a cursor over the intervals in the order of execution.
+     *
+     * @return The cursor.
+     */
+    public IntervalCursor cursor()
+    {
+        return new Cursor();
+    }
+
+    /**
+     * Passes all intervals to the listener in the order of execution.
+     *
+     * @param listener Receives the intervals.
+     */
+    public void forEach(final IntervalListener listener)
+    {
+        for (IntBuffer region : regions) {
+            int limit = region.limit();
+            for (int i = 0; i < limit; i += 3) {
+                listener.interval(region.get(i), region.get(i + 1), region.get(i + 2));
+            }
+        }
+    }
+
+    /**
+     * Copies the intervals into the columns of a CompactSchedule of the instance.
+     *
+     * @param instance The scheduled instance.
+     * @return The schedule, which keeps references to the arrays of the instance.
+     */
+    public CompactSchedule toCompactSchedule(final SchedulingInstance instance)
+    {
+        if (instance.getNumberOfTasks() != numberOfTasks) {
+            throw new IllegalArgumentException(String.format("Schedule of %d tasks does not match an instance of %d tasks.", numberOfTasks, instance.getNumberOfTasks()));
+        }
+        if (intervalCount > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException(String.format("%d intervals do not fit into a CompactSchedule.", intervalCount));
+        }
+        CompactSchedule.Builder builder = new CompactSchedule.Builder((int) intervalCount);
+        forEach(builder);
+        return builder.build(numberOfTasks, instance.getReleaseTimes(), instance.getProcessingTimes(), instance.getDueDates(), lateness);
+    }
+
+    private final class Cursor implements IntervalCursor
+    {
+
+        private int region;
+        private int index;
+        private long remaining;
+
+        private Cursor()
+        {
+            this.region = 0;
+            this.index = -3;
+            this.remaining = intervalCount;
+        }
+
+        @Override
+        public boolean next()
+        {
+            if (remaining <= 0) {
+                remaining = -1;
+                return false;
+            }
+            --remaining;
+            index += 3;
+            if (index == regions[region].limit()) {
+                ++region;
+                index = 0;
+            }
+            return true;
+        }
+
+        @Override
+        public int task()
+        {
+            return current(0);
+        }
+
+        @Override
+        public int start()
+        {
+            return current(1);
+        }
+
+        @Override
+        public int end()
+        {
+            return current(2);
+        }
+
+        private int current(final int field)
+        {
+            if (remaining == intervalCount || remaining < 0) {
+                throw new NoSuchElementException();
+            }
+            return regions[region].get(index + field);
+        }
+
+    }
+
+}
@@ -0,0 +1,281 @@
+package cz.filipklimes.edu.scheduling.io;
+
+import cz.filipklimes.edu.datastructure.LongMinHeap;
+import cz.filipklimes.edu.scheduling.CompactSchedule;
+import cz.filipklimes.edu.scheduling.HornsAlgorithm;
+import cz.filipklimes.edu.scheduling.IntervalListener;
+import cz.filipklimes.edu.scheduling.exception.InvalidSchedulingFileException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.zip.CRC32;
+
+/**
+ * Writes schedules into binary files and maps them back into memory.
+ * A schedule file is a 32-byte header followed by the intervals in the order of execution,
+ * each as the task, the start and the end, all little-endian:
+ * <pre>
+ *  0  int   magic "SCHD"
+ *  4  int   format version
+ *  8  int   number of tasks
+ * 12  int   total lateness
+ * 16  long  number of intervals
+ * 24  long  CRC32 of the intervals and of the header bytes 0-23
+ * </pre>
+ * The intervals are stored by rows, so the {@link Writer} can append them while the schedule
+ * is computed, without knowing their number in advance.
+ * The file is written into a temporary file, which replaces the target file only when complete.
+ */
+public final class ScheduleFile
+{
+
+    private static final int MAGIC = 0x44484353; // "SCHD" in little-endian
+
+    private static final int VERSION = 1;
+
+    private static final int HEADER_BYTES = 32;
+
+    private static final int CHECKSUM_OFFSET = 24;
+
+    private static final int INTERVAL_BYTES = 3 * Integer.BYTES;
+
+    /**
+     * Number of intervals per mapped region, roughly 1 GiB, since a mapped buffer is limited to 2 GiB.
+     */
+    static final int REGION_INTERVALS = (1 << 30) / INTERVAL_BYTES;
+
+    private ScheduleFile()
+    {
+    }
+
+    /**
+     * Writes the schedule.
+     *
+     * @param file     The schedule file, replaced if it exists.
+     * @param schedule The schedule.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void write(final Path file, final CompactSchedule schedule) throws IOException
+    {
+        try (Writer writer = new Writer(file, schedule.getNumberOfTasks())) {
+            schedule.forEach(writer);
+            writer.finish(schedule.getLateness());
+        }
+    }
+
+    /**
+     * Writes the schedule, its intervals are sorted into the order of execution first.
+     *
+     * @param file     The schedule file, replaced if it exists.
+     * @param schedule The schedule.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void write(final Path file, final HornsAlgorithm.Schedule schedule) throws IOException
+    {
+        HornsAlgorithm.TaskSchedule[] schedules = schedule.getSchedules();
+        int count = 0;
+        for (int task = 0; task < schedule.getNumberOfTasks(); task++) {
+            count += schedules[task].getIntervals().size();
+        }
+        int[] tasks = new int[count];
+        long[] order = new long[count]; // Packed by LongMinHeap.pack(start, interval)
+        HornsAlgorithm.Interval[] intervals = new HornsAlgorithm.Interval[count];
+        int i = 0;
+        for (int task = 0; task < schedule.getNumberOfTasks(); task++) {
+            for (HornsAlgorithm.Interval interval : schedules[task].getIntervals()) {
+                tasks[i] = task;
+                intervals[i] = interval;
+                order[i] = LongMinHeap.pack(interval.getStart(), i);
+                ++i;
+            }
+        }
+        Arrays.sort(order);
+
+        try (Writer writer = new Writer(file, schedule.getNumberOfTasks())) {
+            for (long packed : order) {
+                int interval = LongMinHeap.payload(packed);
+                writer.interval(tasks[interval], intervals[interval].getStart(), intervals[interval].getEnd());
+            }
+            writer.finish(schedule.getLateness());
+        }
+    }
+
+    /**
+     * Maps the schedule file into memory and verifies its checksum, which reads the whole file once.
+     * The file is unmapped when the returned schedule is garbage collected.
+     *
+     * @param file The schedule file.
+     * @return The mapped schedule.
+     * @throws IOException                    If the file cannot be read.
+     * @throws InvalidSchedulingFileException If the file is not a valid schedule file.
+     */
+    public static MappedSchedule map(final Path file) throws IOException
+    {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining()) {
+                if (channel.read(header, header.position()) < 0) {
+                    throw new InvalidSchedulingFileException(file, "the header is truncated");
+                }
+            }
+            if (header.getInt(0) != MAGIC) {
+                throw new InvalidSchedulingFileException(file, "not a schedule file");
+            }
+            if (header.getInt(4) != VERSION) {
+                throw new InvalidSchedulingFileException(file, String.format("unsupported version %d", header.getInt(4)));
+            }
+            int numberOfTasks = header.getInt(8);
+            long count = header.getLong(16);
+            if (numberOfTasks < 0 || count < 0 || count > (Long.MAX_VALUE - HEADER_BYTES) / INTERVAL_BYTES
+                || channel.size() != HEADER_BYTES + count * INTERVAL_BYTES) {
+                throw new InvalidSchedulingFileException(file, String.format("file size %d does not match %d intervals", channel.size(), count));
+            }
+
+            CRC32 checksum = new CRC32();
+            IntBuffer[] regions = new IntBuffer[(int) ((count + REGION_INTERVALS - 1) / REGION_INTERVALS)];
+            for (int region = 0; region < regions.length; region++) {
+                long first = (long) region * REGION_INTERVALS;
+                long size = Math.min(REGION_INTERVALS, count - first) * INTERVAL_BYTES;
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES + first * INTERVAL_BYTES, size);
+                checksum.update(((ByteBuffer) buffer).duplicate());
+                regions[region] = buffer.order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+            }
+            checksum.update(header.array(), 0, CHECKSUM_OFFSET);
+            if (checksum.getValue() != header.getLong(CHECKSUM_OFFSET)) {
+                throw new InvalidSchedulingFileException(file, "checksum mismatch");
+            }
+            return new MappedSchedule(numberOfTasks, header.getInt(12), count, regions);
+        }
+    }
+
+    /**
+     * Writes the intervals passed to it into a schedule file through a 64 KiB buffer,
+     * so a schedule can be stored while it is being computed, without collecting it first.
+     * The file is complete after {@link #finish(long)}, closing an unfinished writer discards it.
+     * An I/O error while passing an interval is thrown as {@link UncheckedIOException}.
+     * WARNING: This class is not thread-safe.
+     */
+    public static final class Writer implements IntervalListener, Closeable
+    {
+
+        private static final int BUFFER_BYTES = 1 << 16;
+
+        private final Path file;
+        private final Path temporary;
+        private final int numberOfTasks;
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+        private final CRC32 checksum;
+        private long count;
+        private long position;
+        private boolean finished;
+
+        /**
+         * Construct the writer and create the temporary file next to the target file.
+         *
+         * @param file          The schedule file, replaced when the writer finishes.
+         * @param numberOfTasks Number of tasks of the schedule.
+         * @throws IOException If the temporary file cannot be created.
+         */
+        public Writer(final Path file, final int numberOfTasks) throws IOException
+        {
+            this.file = file;
+            this.temporary = file.resolveSibling(file.getFileName() + ".tmp");
+            this.numberOfTasks = numberOfTasks;
+            this.channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+            this.buffer = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            this.checksum = new CRC32();
+            this.count = 0;
+            this.position = HEADER_BYTES;
+            this.finished = false;
+        }
+
+        /**
+         * @inheritDoc
+         */
+        @Override
+        public void interval(final int task, final int start, final int end)
+        {
+            if (finished) {
+                throw new IllegalStateException("The writer has finished.");
+            }
+            if (buffer.remaining() < INTERVAL_BYTES) {
+                try {
+                    flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            buffer.putInt(task).putInt(start).putInt(end);
+            ++count;
+        }
+
+        /**
+         * Writes the header and replaces the target file by the written file.
+         *
+         * @param lateness The total lateness of the schedule.
+         * @throws IOException         If the file cannot be written.
+         * @throws ArithmeticException If the lateness does not fit into the int of the header,
+         *                             the writer then stays unfinished.
+         */
+        public void finish(final long lateness) throws IOException
+        {
+            int headerLateness = Math.toIntExact(lateness);
+            flush();
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(0, MAGIC);
+            header.putInt(4, VERSION);
+            header.putInt(8, numberOfTasks);
+            header.putInt(12, headerLateness);
+            header.putLong(16, count);
+            checksum.update(header.array(), 0, CHECKSUM_OFFSET);
+            header.putLong(CHECKSUM_OFFSET, checksum.getValue());
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+            channel.force(true);
+            channel.close();
+            finished = true;
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+
+        /**
+         * Closes the file, an unfinished file is deleted.
+         *
+         * @throws IOException If the file cannot be closed.
+         */
+        @Override
+        public void close() throws IOException
+        {
+            if (!finished) {
+                finished = true;
+                channel.close();
+                Files.deleteIfExists(temporary);
+            }
+        }
+
+        private void flush() throws IOException
+        {
+            ((Buffer) buffer).flip(); // Through Buffer, ByteBuffer.flip() does not exist on Java 8
+            checksum.update(buffer.duplicate());
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+            ((Buffer) buffer).clear();
+        }
+
+    }
+
+}
@@ -3,6 +3,8 @@ package cz.filipklimes.edu.datastructure;
 import cz.filipklimes.edu.datastructure.exception.EmptyHeapException;
 import org.junit.jupiter.api.Test;
 
+import java.util.*;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class BinaryHeapTest
@@ -70,6 +72,140 @@ class BinaryHeapTest
         }
     }
 
+    @Test
+    void testBulkConstruction()
+    {
+        Random random = new Random(42);
+        int[] values = new int[1000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextInt(100) - 50;
+        }
+        int[] copy = Arrays.copyOf(values, values.length);
+
+        BinaryMinHeap heap = new BinaryMinHeap(values);
+        assertArrayEquals(copy, values);
+        assertEquals(values.length, heap.size());
+
+        Arrays.sort(copy);
+        for (int value : copy) {
+            assertEquals(value, heap.pop());
+        }
+        assertEquals(0, new BinaryMinHeap(new int[0]).size());
+    }
+
+    @Test
+    void testPushAll()
+    {
+        Random random = new Random(42);
+        BinaryMinHeap heap = new BinaryMinHeap(2);
+        Queue<Integer> expected = new PriorityQueue<>();
+        for (int round = 0; round < 50; round++) {
+            int[] values = new int[random.nextInt(40) + 1];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = random.nextInt();
+            }
+            int off = random.nextInt(values.length);
+            heap.pushAll(values, off, values.length - off);
+            for (int i = off; i < values.length; i++) {
+                expected.add(values[i]);
+            }
+            assertEquals((int) expected.poll(), heap.pop());
+        }
+        assertEquals(expected.size(), heap.size());
+        while (!expected.isEmpty()) {
+            assertEquals((int) expected.poll(), heap.pop());
+        }
+
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> heap.pushAll(new int[4], 2, 3));
+    }
+
+    @Test
+    void testPopN()
+    {
+        BinaryMinHeap heap = new BinaryMinHeap(new int[]{5, 3, 9, 1, 7});
+        int[] dst = new int[8];
+        assertEquals(3, heap.popN(3, dst, 2));
+        assertArrayEquals(new int[]{0, 0, 1, 3, 5, 0, 0, 0}, dst);
+        assertEquals(2, heap.popN(10, dst, 0));
+        assertEquals(7, dst[0]);
+        assertEquals(9, dst[1]);
+        assertEquals(0, heap.popN(1, dst, 0));
+
+        heap.pushAll(new int[]{4, 2});
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> heap.popN(2, new int[1], 0));
+        assertEquals(2, heap.size());
+        assertEquals(2, heap.drainTo(dst));
+        assertEquals(2, dst[0]);
+        assertEquals(4, dst[1]);
+    }
+
+    @Test
+    void testDrainSorted()
+    {
+        Random random = new Random(42);
+        int[] values = new int[1000];
+        BinaryMinHeap heap = new BinaryMinHeap(2);
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextInt();
+            heap.push(values[i]);
+        }
+
+        int[] sorted = heap.drainSorted();
+        Arrays.sort(values);
+        assertArrayEquals(values, Arrays.copyOf(sorted, values.length));
+        assertEquals(0, heap.size());
+
+        heap.push(3);
+        heap.push(1);
+        assertEquals(1, heap.pop());
+        assertEquals(3, heap.pop());
+    }
+
+    @Test
+    void testDrainingIteratorAndStream()
+    {
+        BinaryMinHeap heap = new BinaryMinHeap(new int[]{5, 3, 9, 1, 7});
+        PrimitiveIterator.OfInt iterator = heap.drainingIterator();
+        assertEquals(1, iterator.nextInt());
+        assertEquals(3, iterator.nextInt());
+        assertEquals(3, heap.size());
+
+        assertArrayEquals(new int[]{5, 7, 9}, heap.drainingStream().toArray());
+        assertFalse(iterator.hasNext());
+        assertThrows(NoSuchElementException.class, iterator::nextInt);
+
+        heap.pushAll(new int[]{4, 8, 6});
+        assertArrayEquals(new int[]{4, 6}, heap.drainingStream().limit(2).toArray());
+        assertEquals(8, heap.pop());
+    }
+
+    @Test
+    void testTrimAndShrinkOnDrain()
+    {
+        BinaryMinHeap heap = new BinaryMinHeap(4, true);
+        for (int i = 0; i < 1000; i++) {
+            heap.push(i);
+        }
+        assertEquals(1024, heap.capacity());
+        for (int i = 0; i < 900; i++) {
+            assertEquals(i, heap.pop());
+        }
+        assertEquals(256, heap.capacity());
+        int[] dst = new int[100];
+        heap.popN(100, dst, 0);
+        assertEquals(4, heap.capacity());
+
+        BinaryMinHeap other = new BinaryMinHeap(4);
+        for (int i = 0; i < 1000; i++) {
+            other.push(i);
+        }
+        other.popN(990, new int[990], 0);
+        assertEquals(1024, other.capacity());
+        other.trimToSize();
+        assertEquals(10, other.capacity());
+        assertEquals(990, other.pop());
+    }
+
     @Test
     void testEmptyHeapExceptions()
     {
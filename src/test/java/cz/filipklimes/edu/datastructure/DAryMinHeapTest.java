@@ -0,0 +1,81 @@
+package cz.filipklimes.edu.datastructure;
+
+import cz.filipklimes.edu.datastructure.exception.EmptyHeapException;
+import cz.filipklimes.edu.datastructure.exception.InvalidArityException;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DAryMinHeapTest
+{
+
+    private static final int[] ARITIES = new int[]{2, 4, 8, 16};
+
+    @Test
+    void testPeek()
+    {
+        for (int arity : ARITIES) {
+            DAryMinHeap heap = new DAryMinHeap(arity);
+            heap.push(1);
+            assertEquals(1, heap.peek());
+            heap.push(-1);
+            assertEquals(-1, heap.peek());
+            heap.push(2);
+            assertEquals(-1, heap.peek());
+            heap.push(Integer.MIN_VALUE);
+            assertEquals(Integer.MIN_VALUE, heap.peek());
+        }
+    }
+
+    @Test
+    void testPopInOrder()
+    {
+        for (int arity : ARITIES) {
+            DAryMinHeap heap = new DAryMinHeap(arity, 1);
+            for (int i = 255; i >= -256; i--) {
+                heap.push(i);
+            }
+            assertEquals(512, heap.size());
+            for (int i = -256; i < 256; i++) {
+                assertEquals(i, heap.pop());
+            }
+            assertEquals(0, heap.size());
+        }
+    }
+
+    @Test
+    void testRandomAgainstPriorityQueue()
+    {
+        Random random = new Random(42);
+        for (int arity : ARITIES) {
+            DAryMinHeap heap = new DAryMinHeap(arity, 4);
+            Queue<Integer> expected = new PriorityQueue<>();
+            for (int i = 0; i < 10_000; i++) {
+                if (expected.isEmpty() || random.nextInt(3) > 0) {
+                    int value = random.nextInt(1000);
+                    heap.push(value);
+                    expected.add(value);
+                } else {
+                    assertEquals((int) expected.poll(), heap.pop());
+                }
+                assertEquals(expected.size(), heap.size());
+            }
+            while (!expected.isEmpty()) {
+                assertEquals((int) expected.poll(), heap.pop());
+            }
+        }
+    }
+
+    @Test
+    void testExceptions()
+    {
+        assertThrows(InvalidArityException.class, () -> new DAryMinHeap(3));
+        assertThrows(InvalidArityException.class, () -> new DAryMinHeap(32));
+        DAryMinHeap heap = new DAryMinHeap(4);
+        assertThrows(EmptyHeapException.class, heap::peek);
+        assertThrows(EmptyHeapException.class, heap::pop);
+    }
+
+}
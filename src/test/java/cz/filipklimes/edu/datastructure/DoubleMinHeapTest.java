@@ -0,0 +1,56 @@
+package cz.filipklimes.edu.datastructure;
+
+import cz.filipklimes.edu.datastructure.exception.EmptyHeapException;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DoubleMinHeapTest
+{
+
+    @Test
+    void testPop()
+    {
+        Random random = new Random(42);
+        double[] values = new double[1000];
+        DoubleMinHeap heap = new DoubleMinHeap(2);
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextGaussian();
+            heap.push(values[i]);
+        }
+        heap.push(Double.NEGATIVE_INFINITY);
+        heap.push(Double.POSITIVE_INFINITY);
+
+        Arrays.sort(values);
+        assertEquals(Double.NEGATIVE_INFINITY, heap.pop());
+        for (double value : values) {
+            assertEquals(value, heap.pop());
+        }
+        assertEquals(Double.POSITIVE_INFINITY, heap.pop());
+        assertEquals(0, heap.size());
+    }
+
+    @Test
+    void testBulkConstruction()
+    {
+        DoubleMinHeap heap = new DoubleMinHeap(new double[]{3.5, -1.25, 2.0, 0.0});
+        assertEquals(4, heap.size());
+        assertEquals(-1.25, heap.pop());
+        assertEquals(0.0, heap.pop());
+        assertEquals(2.0, heap.pop());
+        assertEquals(3.5, heap.pop());
+    }
+
+    @Test
+    void testExceptions()
+    {
+        DoubleMinHeap heap = new DoubleMinHeap();
+        assertThrows(EmptyHeapException.class, heap::peek);
+        assertThrows(EmptyHeapException.class, heap::pop);
+        assertThrows(IllegalArgumentException.class, () -> heap.push(Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> new DoubleMinHeap(new double[]{1.0, Double.NaN}));
+    }
+
+}
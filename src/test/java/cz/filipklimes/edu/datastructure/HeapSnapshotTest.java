@@ -0,0 +1,145 @@
+package cz.filipklimes.edu.datastructure;
+
+import cz.filipklimes.edu.datastructure.exception.InvalidSnapshotException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HeapSnapshotTest
+{
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testBinaryMinHeap() throws IOException
+    {
+        int[] numbers = new Random(42).ints(100_000).toArray();
+        BinaryMinHeap heap = new BinaryMinHeap(numbers);
+        heap.pop();
+        Path file = directory.resolve("binary.heap");
+        heap.snapshot(file);
+        assertEquals(32 + 4 * heap.size(), Files.size(file));
+
+        BinaryMinHeap restored = BinaryMinHeap.restore(file);
+        assertEquals(heap.size(), restored.size());
+        assertEquals(heap.size(), restored.capacity());
+        while (heap.size() > 0) {
+            assertEquals(heap.pop(), restored.pop());
+        }
+        restored.push(1);
+        assertEquals(1, restored.pop());
+
+        // The segmented heap uses the same layout
+        SegmentedMinHeap segmented = SegmentedMinHeap.restore(file, 1 << 10);
+        Arrays.sort(numbers);
+        for (int i = 1; i < numbers.length; i++) {
+            assertEquals(numbers[i], segmented.pop());
+        }
+        assertEquals(0, segmented.size());
+    }
+
+    @Test
+    void testEmptyHeap() throws IOException
+    {
+        Path file = directory.resolve("empty.heap");
+        new BinaryMinHeap().snapshot(file);
+        assertEquals(0, BinaryMinHeap.restore(file).size());
+        new SegmentedMinHeap().snapshot(file);
+        assertEquals(0, SegmentedMinHeap.restore(file, 16).size());
+    }
+
+    @Test
+    void testDAryMinHeap() throws IOException
+    {
+        DAryMinHeap heap = new DAryMinHeap(8);
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            heap.push(random.nextInt());
+        }
+        Path file = directory.resolve("dary.heap");
+        heap.snapshot(file);
+        DAryMinHeap restored = DAryMinHeap.restore(file, 8);
+        assertEquals(8, restored.getArity());
+        while (heap.size() > 0) {
+            assertEquals(heap.pop(), restored.pop());
+        }
+        assertEquals(0, restored.size());
+
+        assertThrows(InvalidSnapshotException.class, () -> DAryMinHeap.restore(file, 4));
+        assertThrows(InvalidSnapshotException.class, () -> BinaryMinHeap.restore(file));
+    }
+
+    @Test
+    void testSegmentedMinHeap() throws IOException
+    {
+        SegmentedMinHeap heap = new SegmentedMinHeap(16);
+        for (int i = 100; i > 0; i--) {
+            heap.push(i);
+        }
+        Path file = directory.resolve("segmented.heap");
+        heap.snapshot(file);
+        BinaryMinHeap restored = BinaryMinHeap.restore(file);
+        for (int i = 1; i <= 100; i++) {
+            assertEquals(i, restored.pop());
+        }
+    }
+
+    @Test
+    void testCorruptedSnapshot() throws IOException
+    {
+        BinaryMinHeap heap = new BinaryMinHeap(new int[]{1, 2, 3, 4, 5});
+        Path file = directory.resolve("corrupted.heap");
+        heap.snapshot(file);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{42}), 40);
+        }
+        assertThrows(InvalidSnapshotException.class, () -> BinaryMinHeap.restore(file));
+
+        heap.snapshot(file);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(40);
+        }
+        assertThrows(InvalidSnapshotException.class, () -> BinaryMinHeap.restore(file));
+
+        Files.write(file, new byte[]{1, 2, 3});
+        assertThrows(InvalidSnapshotException.class, () -> BinaryMinHeap.restore(file));
+    }
+
+    @Test
+    void testSnapshotReplacedBeforeRead() throws IOException
+    {
+        Path file = directory.resolve("replaced.heap");
+        new BinaryMinHeap(new int[]{1, 2, 3, 4, 5}).snapshot(file);
+        long size = HeapSnapshot.size(file, 2, Integer.MAX_VALUE);
+        assertEquals(5, size);
+
+        // A larger snapshot would overrun the chunks sized by the first one
+        new BinaryMinHeap(new int[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10}).snapshot(file);
+        assertThrows(InvalidSnapshotException.class, () -> HeapSnapshot.read(file, size, 0, new int[5]));
+
+        // A truncated header must not be read forever
+        Files.write(file, new byte[]{1, 2, 3});
+        assertThrows(InvalidSnapshotException.class, () -> HeapSnapshot.read(file, size, 0, new int[5]));
+    }
+
+    @Test
+    void testFailedWriteLeavesNoTemporaryFile()
+    {
+        Path file = directory.resolve("failed.heap");
+        // The chunks hold fewer elements than the size
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> HeapSnapshot.write(file, 2, 10, 0, new int[5]));
+        assertFalse(Files.exists(file));
+        assertFalse(Files.exists(directory.resolve("failed.heap.tmp")));
+    }
+
+}
@@ -0,0 +1,116 @@
+package cz.filipklimes.edu.datastructure;
+
+import cz.filipklimes.edu.datastructure.exception.DuplicateHandleException;
+import cz.filipklimes.edu.datastructure.exception.EmptyHeapException;
+import cz.filipklimes.edu.datastructure.exception.InvalidHandleException;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IndexedMinHeapTest
+{
+
+    @Test
+    void testPushAndPop()
+    {
+        IndexedMinHeap heap = new IndexedMinHeap(10);
+        heap.push(3, 30);
+        heap.push(7, -5);
+        heap.push(1, 30);
+        heap.push(0, 12);
+
+        assertEquals(4, heap.size());
+        assertEquals(7, heap.peek());
+        assertEquals(-5, heap.peekKey());
+        assertEquals(7, heap.pop());
+        assertEquals(0, heap.pop());
+        assertEquals(1, heap.pop()); // Equal keys are popped by ascending handle
+        assertEquals(3, heap.pop());
+        assertEquals(0, heap.size());
+        assertFalse(heap.contains(3));
+    }
+
+    @Test
+    void testChangeKeyAndRemove()
+    {
+        IndexedMinHeap heap = new IndexedMinHeap(5);
+        for (int handle = 0; handle < 5; handle++) {
+            heap.push(handle, 10 * handle);
+        }
+
+        heap.decreaseKey(4, -1);
+        assertEquals(4, heap.peek());
+        heap.increaseKey(4, 25);
+        assertEquals(0, heap.peek());
+        heap.remove(0);
+        assertFalse(heap.contains(0));
+        assertEquals(25, heap.keyOf(4));
+
+        assertEquals(1, heap.pop());
+        assertEquals(2, heap.pop());
+        assertEquals(4, heap.pop());
+        assertEquals(3, heap.pop());
+
+        heap.push(0, 1);
+        assertEquals(0, heap.peek());
+    }
+
+    @Test
+    void testRandomAgainstTreeSet()
+    {
+        Random random = new Random(42);
+        int capacity = 200;
+        IndexedMinHeap heap = new IndexedMinHeap(capacity);
+        int[] keys = new int[capacity];
+        TreeSet<Long> expected = new TreeSet<>(); // key in high bits, handle in low bits
+
+        for (int i = 0; i < 50_000; i++) {
+            int handle = random.nextInt(capacity);
+            int key = random.nextInt(100) - 50;
+            if (!heap.contains(handle)) {
+                heap.push(handle, key);
+                keys[handle] = key;
+                expected.add(pack(key, handle));
+            } else {
+                switch (random.nextInt(3)) {
+                    case 0:
+                        heap.remove(handle);
+                        expected.remove(pack(keys[handle], handle));
+                        break;
+                    case 1:
+                        heap.changeKey(handle, key);
+                        expected.remove(pack(keys[handle], handle));
+                        keys[handle] = key;
+                        expected.add(pack(key, handle));
+                        break;
+                    default:
+                        assertEquals((int) (long) expected.pollFirst(), heap.pop());
+                }
+            }
+            assertEquals(expected.size(), heap.size());
+        }
+    }
+
+    @Test
+    void testExceptions()
+    {
+        IndexedMinHeap heap = new IndexedMinHeap(4);
+        assertThrows(EmptyHeapException.class, heap::peek);
+        assertThrows(EmptyHeapException.class, heap::pop);
+        assertThrows(IndexOutOfBoundsException.class, () -> heap.push(4, 0));
+        assertThrows(InvalidHandleException.class, () -> heap.remove(1));
+
+        heap.push(1, 5);
+        assertThrows(DuplicateHandleException.class, () -> heap.push(1, 3));
+        assertThrows(IllegalArgumentException.class, () -> heap.decreaseKey(1, 6));
+        assertThrows(IllegalArgumentException.class, () -> heap.increaseKey(1, 4));
+    }
+
+    private static long pack(int key, int handle)
+    {
+        return ((long) key << 32) | handle;
+    }
+
+}
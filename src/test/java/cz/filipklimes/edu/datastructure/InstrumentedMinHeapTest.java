@@ -0,0 +1,127 @@
+package cz.filipklimes.edu.datastructure;
+
+import cz.filipklimes.edu.datastructure.exception.EmptyHeapException;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InstrumentedMinHeapTest
+{
+
+    @Test
+    void testMetrics()
+    {
+        assertTrue(HeapMetrics.ENABLED, "Tests must run with -Dcz.filipklimes.edu.heap.metrics=true");
+        HeapMetrics metrics = new HeapMetrics();
+        MinHeap heap = new InstrumentedMinHeap(new BinaryMinHeap(2, true), metrics, 1, Long.MAX_VALUE);
+        for (int i = 100; i > 0; i--) {
+            heap.push(i);
+        }
+        assertEquals(1, heap.peek());
+        for (int i = 1; i <= 100; i++) {
+            assertEquals(i, heap.pop());
+        }
+        assertThrows(EmptyHeapException.class, heap::pop);
+
+        assertEquals(100, metrics.getPushes());
+        assertEquals(100, metrics.getPops());
+        assertEquals(1, metrics.getPeeks());
+        assertEquals(100, metrics.getHighWaterMark());
+        assertTrue(metrics.getSifts() >= 200);
+        assertTrue(metrics.getSwaps() > 0);
+        assertTrue(metrics.getComparisons() >= metrics.getSwaps());
+        // Grown from 2 to 128 and shrunk back to 2 elements
+        assertEquals(12, metrics.getResizes());
+        assertEquals(4 * (4 + 8 + 16 + 32 + 64 + 128 + 64 + 32 + 16 + 8 + 4 + 2), metrics.getResizedBytes());
+        assertEquals(100, metrics.getPushLatency().count());
+        assertEquals(100, metrics.getPopLatency().count());
+        assertEquals(1, metrics.getPeekLatency().count());
+
+        metrics.reset();
+        assertEquals(0, metrics.getPushes());
+        assertEquals(0, metrics.getHighWaterMark());
+        assertEquals(0, metrics.getPushLatency().count());
+    }
+
+    @Test
+    void testComparisons()
+    {
+        HeapMetrics metrics = new HeapMetrics();
+        MinHeap heap = new InstrumentedMinHeap(new BinaryMinHeap(4), metrics, 1, Long.MAX_VALUE);
+        for (int i = 1; i <= 4; i++) {
+            heap.push(i); // One comparison with the parent for each but the first
+        }
+        assertEquals(3, metrics.getComparisons());
+        heap.pop(); // 4 > 2 decides without comparing to 3, then 2 < 3 picks the child
+        assertEquals(5, metrics.getComparisons());
+        assertEquals(1, metrics.getSwaps());
+    }
+
+    @Test
+    void testSampling()
+    {
+        HeapMetrics metrics = new HeapMetrics();
+        MinHeap heap = new InstrumentedMinHeap(new DAryMinHeap(4), metrics, 16, Long.MAX_VALUE);
+        for (int i = 0; i < 1600; i++) {
+            heap.push(i);
+        }
+        assertEquals(1600, metrics.getPushes());
+        assertEquals(100, metrics.getPushLatency().count());
+        assertEquals(0, metrics.getSifts()); // Only BinaryMinHeap reports sifts
+        assertThrows(IllegalArgumentException.class, () -> new InstrumentedMinHeap(heap, metrics, 3, 0));
+    }
+
+    @Test
+    void testHistogram()
+    {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.percentile(0.99));
+        for (int i = 0; i < 99; i++) {
+            histogram.record(100);
+        }
+        histogram.record(5_000);
+        assertEquals(100, histogram.count());
+        assertEquals(1, histogram.bucketCount(13));
+        assertEquals(127, histogram.percentile(0.5));
+        assertEquals(127, histogram.percentile(0.99));
+        assertEquals(8191, histogram.percentile(1));
+    }
+
+    @Test
+    void testJfrEvents() throws IOException
+    {
+        Path file = Files.createTempFile("heap", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(HeapResizeEvent.class);
+            recording.enable(SlowHeapOperationEvent.class);
+            recording.start();
+            MinHeap heap = new InstrumentedMinHeap(new BinaryMinHeap(1), new HeapMetrics(), 1, 0);
+            heap.push(1);
+            heap.push(2);
+            recording.stop();
+            recording.dump(file);
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+            RecordedEvent resize = events.stream()
+                .filter(event -> event.getEventType().getName().equals("cz.filipklimes.edu.HeapResize"))
+                .findFirst()
+                .orElseThrow(AssertionError::new);
+            assertEquals(4, resize.getLong("oldBytes"));
+            assertEquals(8, resize.getLong("newBytes"));
+            assertEquals(2, events.stream()
+                .filter(event -> event.getEventType().getName().equals("cz.filipklimes.edu.SlowHeapOperation"))
+                .count());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+}
@@ -0,0 +1,91 @@
+package cz.filipklimes.edu.datastructure;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KWayMergerTest
+{
+
+    @Test
+    void testMergeArraysAgainstSort()
+    {
+        Random random = new Random(42);
+        for (int k : new int[]{1, 2, 3, 7, 64, 100}) {
+            int[][] runs = randomRuns(random, k, 200, 1000);
+            int[] expected = concatenateAndSort(runs);
+
+            KWayMerger merger = new KWayMerger(runs);
+            int[] merged = new int[expected.length];
+            assertEquals(expected.length, merger.mergeTo(merged, 0));
+            assertArrayEquals(expected, merged);
+            assertFalse(merger.hasNext());
+        }
+    }
+
+    @Test
+    void testMergeIterators()
+    {
+        List<PrimitiveIterator.OfInt> runs = Arrays.asList(
+            IntStream.of(1, 4, 4, 9).iterator(),
+            IntStream.empty().iterator(),
+            IntStream.of(Integer.MIN_VALUE, 4, Integer.MAX_VALUE).iterator()
+        );
+        KWayMerger merger = new KWayMerger(runs);
+        assertArrayEquals(new int[]{Integer.MIN_VALUE, 1, 4, 4, 4, 9, Integer.MAX_VALUE}, merger.stream().toArray());
+        assertThrows(NoSuchElementException.class, merger::nextInt);
+    }
+
+    @Test
+    void testNoRuns()
+    {
+        assertFalse(new KWayMerger(new int[0][]).hasNext());
+        assertFalse(new KWayMerger(new int[][]{{}, {}}).hasNext());
+        assertFalse(new KWayMerger(Collections.emptyList()).hasNext());
+    }
+
+    @Test
+    void testParallelMerge()
+    {
+        Random random = new Random(42);
+        int[][] runs = randomRuns(random, 50, 0, 200_000);
+        assertArrayEquals(concatenateAndSort(runs), KWayMerger.parallelMerge(runs));
+
+        // Many duplicates make the parts uneven, but the result must stay the same
+        int[][] duplicates = new int[20][100_000];
+        for (int[] run : duplicates) {
+            for (int i = 0; i < run.length; i++) {
+                run[i] = random.nextInt(3);
+            }
+            Arrays.sort(run);
+        }
+        assertArrayEquals(concatenateAndSort(duplicates), KWayMerger.parallelMerge(duplicates));
+
+        assertArrayEquals(new int[0], KWayMerger.parallelMerge(new int[0][]));
+        assertArrayEquals(new int[]{1, 2, 3}, KWayMerger.parallelMerge(new int[][]{{2}, {1, 3}}));
+    }
+
+    private static int[][] randomRuns(final Random random, final int k, final int minLength, final int maxLength)
+    {
+        int[][] runs = new int[k][];
+        for (int i = 0; i < k; i++) {
+            runs[i] = new int[minLength + random.nextInt(maxLength - minLength + 1)];
+            for (int j = 0; j < runs[i].length; j++) {
+                runs[i][j] = random.nextInt();
+            }
+            Arrays.sort(runs[i]);
+        }
+        return runs;
+    }
+
+    private static int[] concatenateAndSort(final int[][] runs)
+    {
+        int[] all = Arrays.stream(runs).flatMapToInt(Arrays::stream).toArray();
+        Arrays.sort(all);
+        return all;
+    }
+
+}
@@ -0,0 +1,81 @@
+package cz.filipklimes.edu.datastructure;
+
+import cz.filipklimes.edu.datastructure.exception.EmptyHeapException;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongMinHeapTest
+{
+
+    @Test
+    void testPop()
+    {
+        LongMinHeap heap = new LongMinHeap(2);
+        for (long i = 255; i >= -256; i--) {
+            heap.push(i * 10_000_000_000L);
+        }
+        for (long i = -256; i < 256; i++) {
+            assertEquals(i * 10_000_000_000L, heap.pop());
+        }
+        assertEquals(0, heap.size());
+    }
+
+    @Test
+    void testBulkConstructionAndMerge()
+    {
+        Random random = new Random(42);
+        long[] values = new long[1000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextLong();
+        }
+        LongMinHeap heap = new LongMinHeap(Arrays.copyOfRange(values, 0, 600));
+        LongMinHeap other = new LongMinHeap(2);
+        other.pushAll(values, 600, 400);
+        heap.merge(other);
+        assertEquals(1000, heap.size());
+        assertEquals(400, other.size());
+
+        Arrays.sort(values);
+        for (long value : values) {
+            assertEquals(value, heap.pop());
+        }
+    }
+
+    @Test
+    void testPackedPriorityAndPayload()
+    {
+        LongMinHeap heap = new LongMinHeap();
+        heap.push(5, 1);
+        heap.push(-3, -1);
+        heap.push(5, 0);
+        heap.push(Integer.MIN_VALUE, Integer.MAX_VALUE);
+        heap.push(-3, 7);
+
+        long packed = heap.pop();
+        assertEquals(Integer.MIN_VALUE, LongMinHeap.priority(packed));
+        assertEquals(Integer.MAX_VALUE, LongMinHeap.payload(packed));
+
+        // Equal priorities are ordered by unsigned payload
+        packed = heap.pop();
+        assertEquals(-3, LongMinHeap.priority(packed));
+        assertEquals(7, LongMinHeap.payload(packed));
+        packed = heap.pop();
+        assertEquals(-3, LongMinHeap.priority(packed));
+        assertEquals(-1, LongMinHeap.payload(packed));
+
+        assertEquals(LongMinHeap.pack(5, 0), heap.pop());
+        assertEquals(LongMinHeap.pack(5, 1), heap.pop());
+    }
+
+    @Test
+    void testEmptyHeapExceptions()
+    {
+        LongMinHeap heap = new LongMinHeap();
+        assertThrows(EmptyHeapException.class, heap::peek);
+        assertThrows(EmptyHeapException.class, heap::pop);
+    }
+
+}
@@ -0,0 +1,99 @@
+package cz.filipklimes.edu.datastructure;
+
+import cz.filipklimes.edu.datastructure.exception.EmptyHeapException;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MinMaxHeapTest
+{
+
+    @Test
+    void testRandomAgainstTreeMap()
+    {
+        Random random = new Random(42);
+        MinMaxHeap heap = new MinMaxHeap(1);
+        TreeMap<Integer, Integer> expected = new TreeMap<>();
+        int size = 0;
+        for (int i = 0; i < 50_000; i++) {
+            int operation = random.nextInt(10);
+            if (size == 0 || operation < 5) {
+                int value = random.nextInt(1000) - 500;
+                heap.push(value);
+                expected.merge(value, 1, Integer::sum);
+                ++size;
+            } else if (operation < 7) {
+                assertEquals((int) expected.firstKey(), heap.popMin());
+                remove(expected, expected.firstKey());
+                --size;
+            } else {
+                assertEquals((int) expected.lastKey(), heap.popMax());
+                remove(expected, expected.lastKey());
+                --size;
+            }
+            assertEquals(size, heap.size());
+            if (size > 0) {
+                assertEquals((int) expected.firstKey(), heap.peekMin());
+                assertEquals((int) expected.lastKey(), heap.peekMax());
+            }
+        }
+    }
+
+    @Test
+    void testBulkConstruction()
+    {
+        Random random = new Random(42);
+        for (int size : new int[]{0, 1, 2, 3, 7, 100, 10_000}) {
+            int[] values = new int[size];
+            for (int i = 0; i < size; i++) {
+                values[i] = random.nextInt();
+            }
+            int[] sorted = Arrays.copyOf(values, size);
+            Arrays.sort(sorted);
+
+            MinMaxHeap heap = new MinMaxHeap(values);
+            for (int i = 0, j = size - 1; i <= j; i++, j--) {
+                assertEquals(sorted[i], heap.popMin());
+                if (i < j) {
+                    assertEquals(sorted[j], heap.popMax());
+                }
+            }
+            assertEquals(0, heap.size());
+        }
+    }
+
+    @Test
+    void testMinHeap()
+    {
+        MinHeap heap = new MinMaxHeap();
+        for (int value : new int[]{3, Integer.MAX_VALUE, -1, Integer.MIN_VALUE, 3}) {
+            heap.push(value);
+        }
+        assertEquals(Integer.MIN_VALUE, heap.peek());
+        int[] popped = new int[5];
+        assertEquals(5, heap.drainTo(popped));
+        assertArrayEquals(new int[]{Integer.MIN_VALUE, -1, 3, 3, Integer.MAX_VALUE}, popped);
+    }
+
+    @Test
+    void testExceptions()
+    {
+        MinMaxHeap heap = new MinMaxHeap();
+        assertThrows(EmptyHeapException.class, heap::peekMin);
+        assertThrows(EmptyHeapException.class, heap::peekMax);
+        assertThrows(EmptyHeapException.class, heap::popMin);
+        assertThrows(EmptyHeapException.class, heap::popMax);
+        heap.push(1);
+        assertEquals(1, heap.peekMax());
+        assertEquals(1, heap.popMax());
+        assertThrows(EmptyHeapException.class, heap::pop);
+    }
+
+    private static void remove(final Map<Integer, Integer> counts, final int value)
+    {
+        counts.computeIfPresent(value, (key, count) -> count > 1 ? count - 1 : null);
+    }
+
+}
@@ -0,0 +1,98 @@
+package cz.filipklimes.edu.datastructure;
+
+import cz.filipklimes.edu.datastructure.exception.EmptyHeapException;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MultiQueueTest
+{
+
+    @Test
+    void testStrictModePopsInOrder()
+    {
+        MultiQueue heap = new MultiQueue(2, 4, true);
+        for (int i = 255; i >= -256; i--) {
+            heap.push(i);
+        }
+        assertEquals(512, heap.size());
+        assertEquals(-256, heap.peek());
+        for (int i = -256; i < 256; i++) {
+            assertEquals(i, heap.pop());
+        }
+        assertEquals(0, heap.size());
+    }
+
+    @Test
+    void testRelaxedModePopsEveryValue()
+    {
+        MultiQueue heap = new MultiQueue(2, 4, false);
+        for (int i = 0; i < 1000; i++) {
+            heap.push(i);
+        }
+        assertEquals(0, heap.peek());
+
+        boolean[] popped = new boolean[1000];
+        for (int i = 0; i < 1000; i++) {
+            int value = heap.pop();
+            assertFalse(popped[value]);
+            popped[value] = true;
+        }
+        assertEquals(0, heap.size());
+        assertThrows(EmptyHeapException.class, heap::pop);
+    }
+
+    @Test
+    void testConcurrentPushAndPop() throws Exception
+    {
+        int threads = 4;
+        int perThread = 20_000;
+        for (boolean strict : new boolean[]{false, true}) {
+            MultiQueue heap = new MultiQueue(2, threads, strict);
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            List<Future<long[]>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                final int offset = t * perThread;
+                results.add(executor.submit(() -> {
+                    long pushed = 0;
+                    long popped = 0;
+                    for (int i = 0; i < perThread; i++) {
+                        heap.push(offset + i);
+                        pushed += offset + i;
+                        if (i % 2 == 1) {
+                            popped += heap.pop();
+                        }
+                    }
+                    return new long[]{pushed, popped};
+                }));
+            }
+            long pushed = 0;
+            long popped = 0;
+            for (Future<long[]> result : results) {
+                pushed += result.get()[0];
+                popped += result.get()[1];
+            }
+            executor.shutdown();
+
+            assertEquals(threads * perThread / 2, heap.size());
+            while (heap.size() > 0) {
+                popped += heap.pop();
+            }
+            assertEquals(pushed, popped);
+        }
+    }
+
+    @Test
+    void testEmptyHeapExceptions()
+    {
+        for (boolean strict : new boolean[]{false, true}) {
+            MultiQueue heap = new MultiQueue(2, 2, strict);
+            assertThrows(EmptyHeapException.class, heap::peek);
+            assertThrows(EmptyHeapException.class, heap::pop);
+        }
+    }
+
+}
@@ -0,0 +1,81 @@
+package cz.filipklimes.edu.datastructure;
+
+import cz.filipklimes.edu.datastructure.exception.EmptyHeapException;
+import cz.filipklimes.edu.datastructure.exception.InvalidInitialCapacityException;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ObjectMinHeapTest
+{
+
+    @Test
+    void testByIntAgainstPriorityQueue()
+    {
+        Random random = new Random(42);
+        ObjectMinHeap<int[]> heap = ObjectMinHeap.byInt(pair -> pair[0], 1);
+        Queue<int[]> expected = new PriorityQueue<>(Comparator.comparingInt((int[] pair) -> pair[0]).thenComparingInt(pair -> pair[1]));
+        for (int i = 0; i < 20_000; i++) {
+            if (expected.isEmpty() || random.nextInt(5) < 3) {
+                int[] pair = new int[]{random.nextInt(1000) - 500, i};
+                heap.push(pair);
+                expected.add(pair);
+            } else {
+                assertEquals(expected.peek()[0], heap.peekKey());
+                assertEquals(expected.poll()[0], heap.pop()[0]);
+            }
+            assertEquals(expected.size(), heap.size());
+        }
+    }
+
+    @Test
+    void testByLong()
+    {
+        ObjectMinHeap<String> heap = ObjectMinHeap.byLong(s -> Long.parseLong(s));
+        for (String value : new String[]{"5", "-9000000000", "9000000000", "0"}) {
+            heap.push(value);
+        }
+        assertEquals("-9000000000", heap.peek());
+        assertEquals(-9_000_000_000L, heap.peekKey());
+        assertEquals("-9000000000", heap.pop());
+        assertEquals("0", heap.pop());
+        assertEquals("5", heap.pop());
+        assertEquals("9000000000", heap.pop());
+        assertEquals(0, heap.size());
+    }
+
+    @Test
+    void testKeyIsExtractedOnce()
+    {
+        int[] calls = new int[1];
+        ObjectMinHeap<Integer> heap = ObjectMinHeap.byInt(value -> {
+            ++calls[0];
+            return value;
+        });
+        for (int i = 100; i > 0; i--) {
+            heap.push(i);
+        }
+        while (heap.size() > 0) {
+            heap.pop();
+        }
+        assertEquals(100, calls[0]);
+    }
+
+    @Test
+    void testExceptions()
+    {
+        ObjectMinHeap<Object> heap = ObjectMinHeap.byInt(Object::hashCode);
+        assertThrows(EmptyHeapException.class, heap::peek);
+        assertThrows(EmptyHeapException.class, heap::peekKey);
+        assertThrows(EmptyHeapException.class, heap::pop);
+        assertThrows(InvalidInitialCapacityException.class, () -> ObjectMinHeap.byInt(Object::hashCode, 0));
+
+        heap.push(new Object());
+        heap.clear();
+        assertEquals(0, heap.size());
+        assertThrows(EmptyHeapException.class, heap::pop);
+    }
+
+}
@@ -0,0 +1,94 @@
+package cz.filipklimes.edu.datastructure;
+
+import cz.filipklimes.edu.datastructure.exception.EmptyHeapException;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapMinHeapTest
+{
+
+    @Test
+    void testPushAndPop()
+    {
+        try (OffHeapMinHeap heap = new OffHeapMinHeap(1)) {
+            for (int i = 255; i >= -256; i--) {
+                heap.push(i);
+            }
+            assertEquals(512, heap.size());
+            assertEquals(512L, heap.longSize());
+            assertEquals(-256, heap.peek());
+            for (int i = -256; i < 256; i++) {
+                assertEquals(i, heap.pop());
+            }
+            assertEquals(0, heap.size());
+        }
+    }
+
+    @Test
+    void testGrowsAcrossPages()
+    {
+        Random random = new Random(42);
+        int count = 3_000_000; // Spans three pages
+        int[] values = new int[count];
+        try (OffHeapMinHeap heap = new OffHeapMinHeap()) {
+            long initialCapacity = heap.capacity();
+            for (int i = 0; i < count; i++) {
+                values[i] = random.nextInt();
+                heap.push(values[i]);
+            }
+            assertTrue(heap.capacity() > initialCapacity);
+            assertEquals(count, heap.longSize());
+
+            Arrays.sort(values);
+            for (int value : values) {
+                assertEquals(value, heap.pop());
+            }
+        }
+    }
+
+    @Test
+    void testClose()
+    {
+        OffHeapMinHeap heap = new OffHeapMinHeap();
+        heap.push(1);
+        heap.close();
+        heap.close();
+        assertEquals(0, heap.capacity());
+        assertThrows(IllegalStateException.class, () -> heap.push(1));
+        assertThrows(IllegalStateException.class, heap::pop);
+    }
+
+    @Test
+    void testCloseFreesMemory()
+    {
+        BufferPoolMXBean direct = ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class).stream()
+            .filter(pool -> pool.getName().equals("direct"))
+            .findFirst()
+            .orElseThrow(AssertionError::new);
+        long pageBytes = 4L << 20;
+        long before = direct.getMemoryUsed();
+        for (int i = 0; i < 8; i++) {
+            OffHeapMinHeap heap = new OffHeapMinHeap(3 * (1 << 20));
+            heap.push(i);
+            assertTrue(direct.getMemoryUsed() >= before + 3 * pageBytes);
+            heap.close();
+            // Freed at once, not when the buffers are collected
+            assertTrue(direct.getMemoryUsed() < before + pageBytes, "Direct memory in use: " + direct.getMemoryUsed());
+        }
+    }
+
+    @Test
+    void testEmptyHeapExceptions()
+    {
+        try (OffHeapMinHeap heap = new OffHeapMinHeap()) {
+            assertThrows(EmptyHeapException.class, heap::peek);
+            assertThrows(EmptyHeapException.class, heap::pop);
+        }
+    }
+
+}
@@ -0,0 +1,199 @@
+package cz.filipklimes.edu.datastructure;
+
+import cz.filipklimes.edu.datastructure.exception.EmptyHeapException;
+import cz.filipklimes.edu.datastructure.exception.InvalidHandleException;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PairingHeapTest
+{
+
+    @Test
+    void testRandomAgainstPriorityQueue()
+    {
+        Random random = new Random(42);
+        PairingHeap heap = new PairingHeap(1);
+        PriorityQueue<Integer> expected = new PriorityQueue<>();
+        for (int i = 0; i < 50_000; i++) {
+            if (expected.isEmpty() || random.nextInt(10) < 6) {
+                int value = random.nextInt(1000) - 500;
+                heap.push(value);
+                expected.add(value);
+            } else {
+                assertEquals((int) expected.remove(), heap.pop());
+            }
+            assertEquals(expected.size(), heap.size());
+            if (!expected.isEmpty()) {
+                assertEquals((int) expected.peek(), heap.peek());
+            }
+        }
+    }
+
+    @Test
+    void testDecreaseKey()
+    {
+        Random random = new Random(42);
+        PairingHeap heap = new PairingHeap();
+        int[] handles = new int[10_000];
+        int[] keys = new int[handles.length];
+        for (int i = 0; i < handles.length; i++) {
+            keys[i] = random.nextInt(1_000_000);
+            handles[i] = heap.insert(keys[i]);
+        }
+        for (int i = 0; i < 5_000; i++) {
+            int index = random.nextInt(handles.length);
+            keys[index] -= random.nextInt(1_000_000);
+            heap.decreaseKey(handles[index], keys[index]);
+            assertEquals(keys[index], heap.keyOf(handles[index]));
+        }
+        Arrays.sort(keys);
+        for (int key : keys) {
+            assertEquals(key, heap.pop());
+        }
+        assertEquals(0, heap.size());
+    }
+
+    @Test
+    void testDecreaseKeyToGreaterKey()
+    {
+        PairingHeap heap = new PairingHeap();
+        int handle = heap.insert(5);
+        assertThrows(IllegalArgumentException.class, () -> heap.decreaseKey(handle, 6));
+        heap.decreaseKey(handle, 5);
+        assertEquals(5, heap.pop());
+    }
+
+    @Test
+    void testPoppedHandleIsInvalid()
+    {
+        PairingHeap heap = new PairingHeap();
+        int handle = heap.insert(1);
+        heap.pop();
+        assertThrows(InvalidHandleException.class, () -> heap.keyOf(handle));
+        assertThrows(InvalidHandleException.class, () -> heap.decreaseKey(handle, 0));
+        assertThrows(InvalidHandleException.class, () -> heap.keyOf(-1));
+        assertThrows(InvalidHandleException.class, () -> heap.keyOf(1000));
+    }
+
+    @Test
+    void testMeldSharingPool()
+    {
+        PairingHeap.NodePool pool = new PairingHeap.NodePool(4);
+        PairingHeap first = new PairingHeap(pool);
+        PairingHeap second = new PairingHeap(pool);
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            first.push(i * 2);
+            expected.add(i * 2);
+        }
+        int handle = -1;
+        for (int i = 0; i < 100; i++) {
+            handle = second.insert(i * 2 + 1);
+            expected.add(i * 2 + 1);
+        }
+        first.meld(second);
+        assertEquals(200, first.size());
+        assertEquals(0, second.size());
+        assertEquals(200, pool.allocated());
+        assertThrows(EmptyHeapException.class, second::pop);
+
+        // The handles of the melded elements remain valid
+        first.decreaseKey(handle, -1);
+        expected.remove(Integer.valueOf(199));
+        expected.add(-1);
+        Collections.sort(expected);
+        for (int value : expected) {
+            assertEquals(value, first.pop());
+        }
+        assertEquals(0, pool.allocated());
+    }
+
+    @Test
+    void testHandleOfAnotherHeap()
+    {
+        PairingHeap.NodePool pool = new PairingHeap.NodePool();
+        PairingHeap first = new PairingHeap(pool);
+        PairingHeap second = new PairingHeap(pool);
+        first.insert(10);
+        int root = second.insert(1);
+        int inner = second.insert(5);
+        second.insert(3);
+
+        assertThrows(InvalidHandleException.class, () -> first.decreaseKey(root, 0));
+        assertThrows(InvalidHandleException.class, () -> first.decreaseKey(inner, 0));
+        assertThrows(InvalidHandleException.class, () -> first.keyOf(inner));
+        assertThrows(InvalidHandleException.class, () -> new PairingHeap(pool).keyOf(root));
+        assertEquals(1, second.keyOf(root));
+        assertEquals(5, second.keyOf(inner));
+        assertEquals(1, first.size());
+        assertEquals(3, second.size());
+
+        // The handles move with the melded elements
+        first.meld(second);
+        first.decreaseKey(inner, 0);
+        assertThrows(InvalidHandleException.class, () -> second.keyOf(root));
+        int other = second.insert(7);
+        assertThrows(InvalidHandleException.class, () -> first.keyOf(other));
+        assertEquals(7, second.keyOf(other));
+        assertEquals(0, first.pop());
+        assertEquals(1, first.pop());
+        assertEquals(3, first.pop());
+        assertEquals(10, first.pop());
+        assertEquals(7, second.pop());
+        assertEquals(0, pool.allocated());
+    }
+
+    @Test
+    void testMeldDifferentPools()
+    {
+        PairingHeap first = new PairingHeap();
+        PairingHeap second = new PairingHeap();
+        for (int i = 0; i < 100; i++) {
+            first.push(100 - i);
+            second.push(-i);
+        }
+        first.meld(second);
+        assertEquals(200, first.size());
+        assertEquals(0, second.size());
+        assertEquals(0, second.pool().allocated());
+        for (int i = -99; i <= 100; i++) {
+            assertEquals(i, first.pop());
+        }
+    }
+
+    @Test
+    void testMeldWithItself()
+    {
+        PairingHeap heap = new PairingHeap();
+        heap.push(1);
+        assertThrows(IllegalArgumentException.class, () -> heap.meld(heap));
+    }
+
+    @Test
+    void testClearReusesNodes()
+    {
+        PairingHeap heap = new PairingHeap(16);
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < 16; i++) {
+                heap.push(i);
+            }
+            heap.pop();
+            heap.clear();
+            assertEquals(0, heap.size());
+            assertEquals(0, heap.pool().allocated());
+        }
+        assertEquals(16, heap.pool().capacity());
+    }
+
+    @Test
+    void testEmptyHeap()
+    {
+        PairingHeap heap = new PairingHeap();
+        assertThrows(EmptyHeapException.class, heap::peek);
+        assertThrows(EmptyHeapException.class, heap::pop);
+    }
+
+}
@@ -0,0 +1,73 @@
+package cz.filipklimes.edu.datastructure;
+
+import cz.filipklimes.edu.datastructure.exception.EmptyHeapException;
+import cz.filipklimes.edu.datastructure.exception.NonMonotoneValueException;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RadixMinHeapTest
+{
+
+    @Test
+    void testPopInOrder()
+    {
+        RadixMinHeap heap = new RadixMinHeap(1);
+        for (int i = 255; i >= -256; i--) {
+            heap.push(i);
+        }
+        heap.push(Integer.MAX_VALUE);
+        heap.push(Integer.MIN_VALUE);
+        assertEquals(Integer.MIN_VALUE, heap.peek());
+        assertEquals(Integer.MIN_VALUE, heap.pop());
+        for (int i = -256; i < 256; i++) {
+            assertEquals(i, heap.peek());
+            assertEquals(i, heap.pop());
+        }
+        assertEquals(Integer.MAX_VALUE, heap.pop());
+        assertEquals(0, heap.size());
+    }
+
+    @Test
+    void testMonotoneWorkloadAgainstPriorityQueue()
+    {
+        Random random = new Random(42);
+        RadixMinHeap heap = new RadixMinHeap();
+        Queue<Integer> expected = new PriorityQueue<>();
+        int last = -1_000_000;
+        for (int i = 0; i < 50_000; i++) {
+            if (expected.isEmpty() || random.nextBoolean()) {
+                int value = last + random.nextInt(random.nextBoolean() ? 10 : 100_000);
+                heap.push(value);
+                expected.add(value);
+            } else {
+                last = expected.poll();
+                assertEquals(last, heap.pop());
+                assertEquals(last, heap.lastPopped());
+            }
+            assertEquals(expected.size(), heap.size());
+            if (!expected.isEmpty()) {
+                assertEquals((int) expected.peek(), heap.peek());
+            }
+        }
+    }
+
+    @Test
+    void testExceptions()
+    {
+        RadixMinHeap heap = new RadixMinHeap();
+        assertThrows(EmptyHeapException.class, heap::peek);
+        assertThrows(EmptyHeapException.class, heap::pop);
+
+        heap.push(10);
+        heap.push(20);
+        heap.peek();
+        heap.push(15); // Peeking does not move the bound
+        assertEquals(10, heap.pop());
+        heap.push(10);
+        assertThrows(NonMonotoneValueException.class, () -> heap.push(9));
+    }
+
+}
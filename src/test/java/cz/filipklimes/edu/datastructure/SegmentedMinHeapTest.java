@@ -0,0 +1,70 @@
+package cz.filipklimes.edu.datastructure;
+
+import cz.filipklimes.edu.datastructure.exception.EmptyHeapException;
+import cz.filipklimes.edu.datastructure.exception.InvalidInitialCapacityException;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SegmentedMinHeapTest
+{
+
+    @Test
+    void testRandomAgainstPriorityQueue()
+    {
+        Random random = new Random(42);
+        SegmentedMinHeap heap = new SegmentedMinHeap(16);
+        Queue<Integer> expected = new PriorityQueue<>();
+        for (int i = 0; i < 20_000; i++) {
+            if (expected.isEmpty() || random.nextInt(5) < 3) {
+                int value = random.nextInt();
+                heap.push(value);
+                expected.add(value);
+            } else {
+                assertEquals((int) expected.poll(), heap.pop());
+            }
+            assertEquals(expected.size(), heap.size());
+        }
+        while (!expected.isEmpty()) {
+            assertEquals((int) expected.poll(), heap.pop());
+        }
+    }
+
+    @Test
+    void testSegmentsAreReleased()
+    {
+        SegmentedMinHeap heap = new SegmentedMinHeap(16);
+        for (int i = 0; i < 100; i++) {
+            heap.push(i);
+        }
+        assertEquals(112, heap.capacity());
+
+        while (heap.size() > 20) {
+            heap.pop();
+        }
+        // One spare segment is kept
+        assertEquals(48, heap.capacity());
+        heap.trimToSize();
+        assertEquals(32, heap.capacity());
+
+        while (heap.size() > 0) {
+            heap.pop();
+        }
+        heap.trimToSize();
+        assertEquals(0, heap.capacity());
+        heap.push(7);
+        assertEquals(7, heap.peek());
+    }
+
+    @Test
+    void testExceptions()
+    {
+        assertThrows(InvalidInitialCapacityException.class, () -> new SegmentedMinHeap(12));
+        SegmentedMinHeap heap = new SegmentedMinHeap();
+        assertThrows(EmptyHeapException.class, heap::peek);
+        assertThrows(EmptyHeapException.class, heap::pop);
+    }
+
+}
@@ -0,0 +1,74 @@
+package cz.filipklimes.edu.datastructure;
+
+import cz.filipklimes.edu.datastructure.exception.EmptyHeapException;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TopKTest
+{
+
+    @Test
+    void testOffer()
+    {
+        TopK smallest = TopK.smallest(3);
+        TopK largest = TopK.largest(3);
+        for (int value : new int[]{5, -1, 8, 3, 3, Integer.MIN_VALUE, Integer.MAX_VALUE, 0}) {
+            smallest.offer(value);
+            largest.offer(value);
+        }
+        assertEquals(3, smallest.size());
+        assertEquals(0, smallest.threshold());
+        assertArrayEquals(new int[]{Integer.MIN_VALUE, -1, 0}, smallest.toSortedArray());
+        assertEquals(5, largest.threshold());
+        assertArrayEquals(new int[]{Integer.MAX_VALUE, 8, 5}, largest.toSortedArray());
+
+        assertFalse(smallest.offer(0));
+        assertTrue(smallest.offer(-5));
+        assertEquals(-1, smallest.threshold());
+    }
+
+    @Test
+    void testOfferAllAgainstSort()
+    {
+        Random random = new Random(42);
+        int[] values = new int[100_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextInt(10_000) - 5_000;
+        }
+        int[] sorted = Arrays.copyOf(values, values.length);
+        Arrays.sort(sorted);
+
+        for (int k : new int[]{1, 7, 1000}) {
+            TopK smallest = TopK.smallest(k);
+            TopK largest = TopK.largest(k);
+            // Offer in uneven chunks to go through both the filling and the steady phase
+            for (int off = 0; off < values.length; off += 3 * k) {
+                int len = Math.min(3 * k, values.length - off);
+                smallest.offerAll(values, off, len);
+                largest.offerAll(values, off, len);
+            }
+            assertArrayEquals(Arrays.copyOf(sorted, k), smallest.toSortedArray());
+            int[] expectedLargest = new int[k];
+            for (int i = 0; i < k; i++) {
+                expectedLargest[i] = sorted[sorted.length - 1 - i];
+            }
+            assertArrayEquals(expectedLargest, largest.toSortedArray());
+
+            assertArrayEquals(smallest.toSortedArray(), TopK.parallelSmallest(values, k).toSortedArray());
+            assertArrayEquals(largest.toSortedArray(), TopK.parallelLargest(values, k).toSortedArray());
+        }
+    }
+
+    @Test
+    void testExceptions()
+    {
+        TopK smallest = TopK.smallest(2);
+        assertThrows(EmptyHeapException.class, smallest::threshold);
+        assertThrows(IllegalArgumentException.class, () -> smallest.merge(TopK.largest(2)));
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> smallest.offerAll(new int[2], 1, 2));
+    }
+
+}
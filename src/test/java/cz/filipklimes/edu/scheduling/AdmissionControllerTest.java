@@ -0,0 +1,157 @@
+package cz.filipklimes.edu.scheduling;
+
+import cz.filipklimes.edu.scheduling.exception.InfeasibleScheduleException;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionControllerTest
+{
+
+    @Test
+    void testSameDecisionsAsFullCheck()
+    {
+        Random random = new Random(42);
+        for (int round = 0; round < 50; round++) {
+            AdmissionController controller = new AdmissionController(round - 25);
+            List<int[]> admitted = new ArrayList<>(); // {deadline, remaining work}
+            int time = round - 25;
+            for (int step = 0; step < 500; step++) {
+                if (random.nextInt(4) == 0) {
+                    int duration = random.nextInt(20);
+                    time += duration;
+                    controller.advanceTo(time);
+                    execute(admitted, duration);
+                    continue;
+                }
+                int processingTime = random.nextInt(10);
+                int deadline = time + processingTime + random.nextInt(100);
+                Task task = new Task(processingTime, time - random.nextInt(5), deadline, deadline);
+
+                admitted.add(new int[]{deadline, processingTime});
+                boolean expected = feasible(admitted, time);
+                if (!expected) {
+                    admitted.remove(admitted.size() - 1);
+                }
+
+                assertEquals(expected, controller.canAdmit(task));
+                if (random.nextBoolean()) {
+                    assertEquals(expected, controller.admitIfFeasible(task));
+                } else if (expected) {
+                    controller.tryAdmit(task);
+                } else {
+                    InfeasibleScheduleException exception = assertThrows(InfeasibleScheduleException.class, () -> controller.tryAdmit(task));
+                    assertSame(task, exception.getTask());
+                }
+                assertEquals(remainingWork(admitted), controller.remainingWork());
+            }
+        }
+    }
+
+    @Test
+    void testMissedDeadline()
+    {
+        AdmissionController controller = new AdmissionController();
+        controller.tryAdmit(new Task(4, 0, 5, 5));
+        controller.tryAdmit(new Task(3, 0, 10, 10));
+        assertEquals(1, controller.getSlack());
+        assertEquals(7, controller.remainingWork());
+
+        Task task = new Task(2, 0, 4, 4);
+        InfeasibleScheduleException exception = assertThrows(InfeasibleScheduleException.class, () -> controller.tryAdmit(task));
+        assertSame(task, exception.getTask());
+        assertTrue(exception.getMessage().contains("deadline 5"), exception.getMessage());
+        assertEquals(2, controller.admittedTasks());
+        assertEquals(1, controller.getSlack());
+
+        controller.advanceTo(3);
+        assertEquals(4, controller.remainingWork());
+        assertEquals(1, controller.getSlack());
+        assertFalse(controller.canAdmit(new Task(5, 3, 10, 10)));
+        controller.tryAdmit(new Task(3, 3, 10, 10));
+        assertEquals(0, controller.getSlack());
+
+        controller.advanceTo(20);
+        assertEquals(0, controller.remainingWork());
+        assertEquals(Long.MAX_VALUE, controller.getSlack());
+    }
+
+    @Test
+    void testTaskWithoutDeadline()
+    {
+        AdmissionController controller = new AdmissionController();
+        controller.tryAdmit(new Task(5, 0, 5, 5));
+        controller.tryAdmit(new Task(100, 0, 100));
+        assertEquals(2, controller.admittedTasks());
+        assertEquals(5, controller.remainingWork());
+    }
+
+    @Test
+    void testTaskReleasedInFuture()
+    {
+        AdmissionController controller = new AdmissionController(10);
+        assertThrows(IllegalArgumentException.class, () -> controller.tryAdmit(new Task(1, 11, 20, 20)));
+        assertThrows(IllegalArgumentException.class, () -> controller.advanceTo(9));
+    }
+
+    @Test
+    void testExtremeDeadlines()
+    {
+        AdmissionController controller = new AdmissionController(Integer.MIN_VALUE);
+        controller.tryAdmit(new Task(1, Integer.MIN_VALUE, Integer.MIN_VALUE + 1, Integer.MIN_VALUE + 1));
+        controller.tryAdmit(new Task(1, Integer.MIN_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE));
+        assertFalse(controller.canAdmit(new Task(1, Integer.MIN_VALUE, Integer.MIN_VALUE + 1, Integer.MIN_VALUE + 1)));
+        controller.advanceTo(Integer.MAX_VALUE);
+        assertEquals(0, controller.remainingWork());
+    }
+
+    @Test
+    void testMemoryIsBoundedByActiveDeadlines()
+    {
+        AdmissionController controller = new AdmissionController();
+        for (int time = 0; time < 1_000_000; time += 2) {
+            controller.tryAdmit(new Task(1, time, time + 5, time + 5));
+            controller.advanceTo(time + 2);
+        }
+        assertEquals(0, controller.remainingWork());
+        assertEquals(500_000, controller.admittedTasks());
+        assertTrue(controller.capacity() <= 256, "Capacity " + controller.capacity());
+    }
+
+    private static boolean feasible(final List<int[]> tasks, final int time)
+    {
+        List<int[]> sorted = new ArrayList<>(tasks);
+        sorted.sort(Comparator.comparingInt(task -> task[0]));
+        long end = time;
+        for (int[] task : sorted) {
+            end += task[1];
+            if (end > task[0]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void execute(final List<int[]> tasks, int duration)
+    {
+        tasks.sort(Comparator.comparingInt(task -> task[0]));
+        Iterator<int[]> iterator = tasks.iterator();
+        while (duration > 0 && iterator.hasNext()) {
+            int[] task = iterator.next();
+            int executed = Math.min(duration, task[1]);
+            task[1] -= executed;
+            duration -= executed;
+            if (task[1] == 0) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private static long remainingWork(final List<int[]> tasks)
+    {
+        return tasks.stream().mapToLong(task -> task[1]).sum();
+    }
+
+}
@@ -0,0 +1,95 @@
+package cz.filipklimes.edu.scheduling;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchSchedulerTest
+{
+
+    @Test
+    void testScheduleAllInInputOrder()
+    {
+        List<SchedulingInstance> instances = randomInstances(500);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            List<CompactSchedule> schedules = new BatchScheduler(pool).scheduleAll(instances);
+            assertEquals(instances.size(), schedules.size());
+            HornsScheduler scheduler = new HornsScheduler();
+            for (int i = 0; i < instances.size(); i++) {
+                assertSameSchedule(scheduler.scheduleCompact(instances.get(i)), schedules.get(i));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testScheduleStreamAsCompleted()
+    {
+        List<SchedulingInstance> instances = randomInstances(500);
+        Map<SchedulingInstance, CompactSchedule> schedules = new ConcurrentHashMap<>();
+        new BatchScheduler().scheduleAll(instances.stream(), schedules::put);
+        assertEquals(instances.size(), schedules.size());
+        HornsScheduler scheduler = new HornsScheduler();
+        for (SchedulingInstance instance : instances) {
+            assertSameSchedule(scheduler.scheduleCompact(instance), schedules.get(instance));
+        }
+    }
+
+    @Test
+    void testExceptionIsPropagated()
+    {
+        SchedulingInstance instance = new SchedulingInstance(new int[]{0}, new int[]{1}, new int[]{1});
+        assertThrows(IllegalStateException.class, () -> new BatchScheduler().scheduleAll(Collections.nCopies(10, instance).stream(), (i, schedule) -> {
+            throw new IllegalStateException();
+        }));
+    }
+
+    @Test
+    void testInstanceOfTasks()
+    {
+        SchedulingInstance instance = SchedulingInstance.of(Arrays.asList(new Task(3, 0, 13), new Task(2, 4, 8, 6)));
+        assertEquals(2, instance.getNumberOfTasks());
+        assertArrayEquals(new int[]{0, 4}, instance.getReleaseTimes());
+        assertArrayEquals(new int[]{3, 2}, instance.getProcessingTimes());
+        assertArrayEquals(new int[]{13, 8}, instance.getDueDates());
+        assertArrayEquals(new int[]{Task.NO_DEADLINE, 6}, instance.getDeadlines());
+        assertThrows(IllegalArgumentException.class, () -> new SchedulingInstance(new int[2], new int[2], new int[1]));
+    }
+
+    private static List<SchedulingInstance> randomInstances(final int count)
+    {
+        Random random = new Random(42);
+        List<SchedulingInstance> instances = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            int n = random.nextInt(200);
+            int[] releaseTimes = new int[n];
+            int[] processingTimes = new int[n];
+            int[] dueDates = new int[n];
+            for (int j = 0; j < n; j++) {
+                releaseTimes[j] = random.nextInt(500);
+                processingTimes[j] = random.nextInt(10);
+                dueDates[j] = releaseTimes[j] + random.nextInt(100);
+            }
+            instances.add(new SchedulingInstance(releaseTimes, processingTimes, dueDates));
+        }
+        return instances;
+    }
+
+    private static void assertSameSchedule(final CompactSchedule expected, final CompactSchedule actual)
+    {
+        assertEquals(expected.getLateness(), actual.getLateness());
+        assertEquals(expected.intervalCount(), actual.intervalCount());
+        for (int i = 0; i < expected.intervalCount(); i++) {
+            assertEquals(expected.task(i), actual.task(i));
+            assertEquals(expected.start(i), actual.start(i));
+            assertEquals(expected.end(i), actual.end(i));
+        }
+    }
+
+}
@@ -0,0 +1,168 @@
+package cz.filipklimes.edu.scheduling;
+
+import cz.filipklimes.edu.scheduling.exception.InfeasibleScheduleException;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BratleysAlgorithmTest
+{
+
+    @Test
+    void testOptimumAgainstAllPermutations()
+    {
+        Random random = new Random(42);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            BratleysAlgorithm solver = new BratleysAlgorithm(pool);
+            for (int round = 0; round < 300; round++) {
+                SchedulingInstance instance = randomInstance(random, 1 + random.nextInt(7), random.nextBoolean());
+                int expected = bruteForce(instance);
+                if (expected == Integer.MAX_VALUE) {
+                    assertThrows(InfeasibleScheduleException.class, () -> solver.solve(instance));
+                    continue;
+                }
+                BratleysAlgorithm.Solution solution = solver.solve(instance);
+                assertEquals(expected, solution.getMaxLateness());
+                assertEquals(expected, evaluate(instance, solution.getSequence()));
+                int[] startTimes = solution.getStartTimes();
+                int time = Integer.MIN_VALUE;
+                for (int task : solution.getSequence()) {
+                    assertEquals(Math.max(time, instance.getReleaseTimes()[task]), startTimes[task]);
+                    time = startTimes[task] + instance.getProcessingTimes()[task];
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testLargerInstanceIsNotWorseThanHorn()
+    {
+        Random random = new Random(7);
+        SchedulingInstance instance = randomInstance(random, 30, false);
+        BratleysAlgorithm.Solution solution = new BratleysAlgorithm().solve(instance);
+        assertEquals(solution.getMaxLateness(), evaluate(instance, solution.getSequence()));
+        int[] sorted = solution.getSequence();
+        Arrays.sort(sorted);
+        for (int i = 0; i < sorted.length; i++) {
+            assertEquals(i, sorted[i]);
+        }
+
+        // The preemptive optimum is a lower bound
+        int[] completion = new int[30];
+        new HornsScheduler().schedule(30, instance.getReleaseTimes(), instance.getProcessingTimes(), instance.getDueDates(), (task, start, end) -> completion[task] = end);
+        int preemptive = Integer.MIN_VALUE;
+        for (int i = 0; i < 30; i++) {
+            preemptive = Math.max(preemptive, completion[i] - instance.getDueDates()[i]);
+        }
+        assertTrue(preemptive <= solution.getMaxLateness());
+    }
+
+    @Test
+    void testDeadlinesForceLatenessOfAnotherTask()
+    {
+        // Task 1 would go first by its due date, but task 0 must finish by 4
+        SchedulingInstance instance = new SchedulingInstance(new int[]{0, 0}, new int[]{4, 4}, new int[]{10, 5}, new int[]{4, Task.NO_DEADLINE});
+        BratleysAlgorithm.Solution solution = new BratleysAlgorithm().solve(instance);
+        assertArrayEquals(new int[]{0, 1}, solution.getSequence());
+        assertEquals(3, solution.getMaxLateness());
+    }
+
+    @Test
+    void testFarOffDueDates()
+    {
+        // The total lateness of the preemptive bounds does not fit into an int, only Lmax is used
+        SchedulingInstance instance = new SchedulingInstance(new int[3], new int[]{1, 1, 1}, new int[]{1_000_000_000, 1_000_000_000, 1_000_000_000});
+        BratleysAlgorithm.Solution solution = new BratleysAlgorithm().solve(instance);
+        assertEquals(3 - 1_000_000_000, solution.getMaxLateness());
+        assertArrayEquals(new int[]{0, 1, 2}, solution.getSequence());
+    }
+
+    @Test
+    void testEmptyInstance()
+    {
+        BratleysAlgorithm.Solution solution = new BratleysAlgorithm().solve(new SchedulingInstance(new int[0], new int[0], new int[0]));
+        assertEquals(0, solution.getSequence().length);
+        assertEquals(0, solution.getStartTimes().length);
+        assertEquals(0, solution.getMaxLateness());
+        assertEquals(0, solution.getExploredNodes());
+    }
+
+    @Test
+    void testTooManyTasks()
+    {
+        int n = BratleysAlgorithm.MAX_TASKS + 1;
+        SchedulingInstance instance = new SchedulingInstance(new int[n], new int[n], new int[n]);
+        assertThrows(IllegalArgumentException.class, () -> new BratleysAlgorithm().solve(instance));
+    }
+
+    private static SchedulingInstance randomInstance(final Random random, final int n, final boolean withDeadlines)
+    {
+        int[] releaseTimes = new int[n];
+        int[] processingTimes = new int[n];
+        int[] dueDates = new int[n];
+        int[] deadlines = new int[n];
+        for (int i = 0; i < n; i++) {
+            releaseTimes[i] = random.nextInt(n * 4);
+            processingTimes[i] = random.nextInt(8);
+            dueDates[i] = releaseTimes[i] + processingTimes[i] + random.nextInt(10);
+            deadlines[i] = withDeadlines && random.nextBoolean() ? dueDates[i] + random.nextInt(n * 3) : Task.NO_DEADLINE;
+        }
+        return new SchedulingInstance(releaseTimes, processingTimes, dueDates, deadlines);
+    }
+
+    /**
+     * Returns the maximum lateness of the sequence, or Integer.MAX_VALUE if it misses a deadline.
+     */
+    private static int evaluate(final SchedulingInstance instance, final int[] sequence)
+    {
+        int time = Integer.MIN_VALUE;
+        int maxLateness = Integer.MIN_VALUE;
+        for (int task : sequence) {
+            time = Math.max(time, instance.getReleaseTimes()[task]) + instance.getProcessingTimes()[task];
+            int deadline = instance.getDeadlines()[task];
+            if (deadline != Task.NO_DEADLINE && time > deadline) {
+                return Integer.MAX_VALUE;
+            }
+            maxLateness = Math.max(maxLateness, time - instance.getDueDates()[task]);
+        }
+        return maxLateness;
+    }
+
+    private static int bruteForce(final SchedulingInstance instance)
+    {
+        int n = instance.getNumberOfTasks();
+        int[] sequence = new int[n];
+        for (int i = 0; i < n; i++) {
+            sequence[i] = i;
+        }
+        return permute(instance, sequence, 0);
+    }
+
+    private static int permute(final SchedulingInstance instance, final int[] sequence, final int depth)
+    {
+        if (depth == sequence.length) {
+            return evaluate(instance, sequence);
+        }
+        int best = Integer.MAX_VALUE;
+        for (int i = depth; i < sequence.length; i++) {
+            swap(sequence, depth, i);
+            best = Math.min(best, permute(instance, sequence, depth + 1));
+            swap(sequence, depth, i);
+        }
+        return best;
+    }
+
+    private static void swap(final int[] array, final int i, final int j)
+    {
+        int temp = array[i];
+        array[i] = array[j];
+        array[j] = temp;
+    }
+
+}
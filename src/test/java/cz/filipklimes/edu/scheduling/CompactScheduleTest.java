@@ -0,0 +1,119 @@
+package cz.filipklimes.edu.scheduling;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompactScheduleTest
+{
+
+    private static final int[] PROCESSING_TIMES = new int[]{3, 2, 3, 4};
+    private static final int[] RELEASE_TIMES = new int[]{0, 4, 2, 0};
+    private static final int[] DUE_DATES = new int[]{13, 8, 11, 16};
+
+    @Test
+    void testColumnsAndTaskIndex()
+    {
+        CompactSchedule schedule = new HornsScheduler().scheduleCompact(4, RELEASE_TIMES, PROCESSING_TIMES, DUE_DATES);
+        assertEquals(-5 - 2 - 4 - 4, schedule.getLateness());
+        assertEquals(6, schedule.intervalCount());
+
+        int[][] expected = new int[][]{{0, 0, 2}, {2, 2, 4}, {1, 4, 6}, {2, 6, 7}, {0, 7, 8}, {3, 8, 12}};
+        IntervalCursor cursor = schedule.cursor();
+        for (int i = 0; i < expected.length; i++) {
+            assertTrue(cursor.next());
+            assertArrayEquals(expected[i], new int[]{cursor.task(), cursor.start(), cursor.end()});
+            assertArrayEquals(expected[i], new int[]{schedule.task(i), schedule.start(i), schedule.end(i)});
+        }
+        assertFalse(cursor.next());
+        assertFalse(cursor.next());
+        assertThrows(NoSuchElementException.class, cursor::task);
+
+        assertEquals(2, schedule.intervalCount(0));
+        IntervalCursor task = schedule.cursor(0);
+        assertThrows(NoSuchElementException.class, task::start);
+        assertTrue(task.next());
+        assertEquals(0, task.start());
+        assertEquals(2, task.end());
+        assertTrue(task.next());
+        assertEquals(7, task.start());
+        assertEquals(8, task.end());
+        assertFalse(task.next());
+        assertThrows(IndexOutOfBoundsException.class, () -> schedule.cursor(4));
+    }
+
+    @Test
+    void testToScheduleMatchesHornsAlgorithm()
+    {
+        Random random = new Random(42);
+        int n = 1000;
+        int[] releaseTimes = new int[n];
+        int[] processingTimes = new int[n];
+        int[] dueDates = new int[n];
+        for (int i = 0; i < n; i++) {
+            releaseTimes[i] = random.nextInt(3000);
+            processingTimes[i] = random.nextInt(10);
+            dueDates[i] = releaseTimes[i] + random.nextInt(100);
+        }
+        HornsAlgorithm.Schedule expected = HornsAlgorithm.schedule(n, releaseTimes, processingTimes, dueDates);
+        HornsAlgorithm.Schedule actual = new HornsScheduler().scheduleCompact(n, releaseTimes, processingTimes, dueDates).toSchedule();
+        assertEquals(expected.getLateness(), actual.getLateness());
+        for (int i = 0; i < n; i++) {
+            List<HornsAlgorithm.Interval> expectedIntervals = expected.getSchedules()[i].getIntervals();
+            List<HornsAlgorithm.Interval> actualIntervals = actual.getSchedules()[i].getIntervals();
+            assertEquals(expectedIntervals.size(), actualIntervals.size());
+            for (int j = 0; j < expectedIntervals.size(); j++) {
+                assertEquals(expectedIntervals.get(j).getStart(), actualIntervals.get(j).getStart());
+                assertEquals(expectedIntervals.get(j).getEnd(), actualIntervals.get(j).getEnd());
+            }
+        }
+    }
+
+    @Test
+    void testDeltaEncoding()
+    {
+        Random random = new Random(42);
+        CompactSchedule.Builder builder = new CompactSchedule.Builder(1);
+        int time = -1000;
+        for (int i = 0; i < 10_000; i++) {
+            int start = time + (random.nextInt(4) == 0 ? random.nextInt(1 << 20) : 0);
+            int end = start + random.nextInt(i % 100 == 0 ? Integer.MAX_VALUE >> 12 : 20);
+            builder.interval(random.nextInt(1000), start, end);
+            time = end;
+        }
+        builder.interval(999, Integer.MIN_VALUE, Integer.MAX_VALUE);
+        CompactSchedule schedule = builder.build(1000, new int[0], new int[0], new int[0], 7);
+
+        EncodedSchedule encoded = schedule.encode();
+        assertEquals(schedule.intervalCount(), encoded.intervalCount());
+        assertEquals(7, encoded.getLateness());
+        assertTrue(encoded.encodedSize() < schedule.intervalCount() * 8);
+        IntervalCursor expected = schedule.cursor();
+        IntervalCursor actual = encoded.cursor();
+        assertThrows(NoSuchElementException.class, actual::end);
+        while (expected.next()) {
+            assertTrue(actual.next());
+            assertEquals(expected.task(), actual.task());
+            assertEquals(expected.start(), actual.start());
+            assertEquals(expected.end(), actual.end());
+        }
+        assertFalse(actual.next());
+        assertThrows(NoSuchElementException.class, actual::end);
+
+        // Encoding while scheduling gives the same data
+        EncodedSchedule.Encoder encoder = new EncodedSchedule.Encoder(1);
+        schedule.forEach(encoder);
+        assertEquals(encoded.encodedSize(), encoder.build(1000, 7).encodedSize());
+    }
+
+    @Test
+    void testTaskOutOfRange()
+    {
+        CompactSchedule.Builder builder = new CompactSchedule.Builder(1);
+        builder.interval(2, 0, 1);
+        assertThrows(IllegalArgumentException.class, () -> builder.build(2, new int[2], new int[2], new int[2], 0));
+    }
+
+}
@@ -0,0 +1,159 @@
+package cz.filipklimes.edu.scheduling;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GanttRendererTest
+{
+
+    @Test
+    void testSameChartAsVisualizationByTimeUnits() throws IOException
+    {
+        Random random = new Random(42);
+        for (int round = 0; round < 100; round++) {
+            int n = random.nextInt(20);
+            int[] releaseTimes = new int[n];
+            int[] processingTimes = new int[n];
+            int[] dueDates = new int[n];
+            for (int i = 0; i < n; i++) {
+                releaseTimes[i] = random.nextInt(50);
+                processingTimes[i] = random.nextInt(10);
+                dueDates[i] = releaseTimes[i] + processingTimes[i] + random.nextInt(20);
+            }
+            HornsAlgorithm.Schedule schedule = HornsAlgorithm.schedule(n, releaseTimes, processingTimes, dueDates);
+            String expected = visualizeByTimeUnits(schedule);
+
+            assertEquals(expected, schedule.visualize());
+            StringBuilder compact = new StringBuilder();
+            new GanttRenderer().render(new HornsScheduler().scheduleCompact(n, releaseTimes, processingTimes, dueDates), compact);
+            assertEquals(expected, compact.toString());
+        }
+    }
+
+    @Test
+    void testBuckets() throws IOException
+    {
+        // Task 1 runs 0-3 and 5-6, task 2 runs 3-5
+        HornsAlgorithm.Schedule schedule = HornsAlgorithm.schedule(2, new int[]{0, 3}, new int[]{4, 2}, new int[]{10, 5});
+        assertEquals(
+            "T1: \u25A4\u25A4\u25A4--\u25A4----\n" +
+                "T2:    \u25A4\u25A4-    \n",
+            schedule.visualize()
+        );
+
+        GanttRenderer renderer = new GanttRenderer(4);
+        assertEquals(3, renderer.bucketSize(10));
+        StringWriter out = new StringWriter();
+        renderer.render(schedule, out);
+        assertEquals(
+            "T1: \u25A4\u25A4--\n" +
+                "T2:  \u25A4  \n",
+            out.toString()
+        );
+    }
+
+    @Test
+    void testLongHorizon() throws IOException
+    {
+        int n = 1000;
+        int[] releaseTimes = new int[n];
+        int[] processingTimes = new int[n];
+        int[] dueDates = new int[n];
+        for (int i = 0; i < n; i++) {
+            releaseTimes[i] = i * 1000;
+            processingTimes[i] = 1000;
+            dueDates[i] = releaseTimes[i] + 2000;
+        }
+        CompactSchedule schedule = new HornsScheduler().scheduleCompact(n, releaseTimes, processingTimes, dueDates);
+        StringBuilder out = new StringBuilder();
+        new GanttRenderer(100).render(schedule, out);
+
+        String[] rows = out.toString().split("\n");
+        assertEquals(n, rows.length);
+        for (int i = 0; i < n; i++) {
+            assertEquals(String.format("T%d: ", i + 1).length() + 100, rows[i].length());
+            assertEquals('\u25A4', rows[i].charAt(rows[i].indexOf(' ') + 1 + i / 10));
+        }
+    }
+
+    @Test
+    void testCsv() throws IOException
+    {
+        HornsAlgorithm.Schedule schedule = HornsAlgorithm.schedule(2, new int[]{0, 3}, new int[]{4, 2}, new int[]{10, 5});
+        StringBuilder out = new StringBuilder();
+        new GanttRenderer().writeCsv(schedule, out);
+        assertEquals("task,start,end\n0,0,3\n0,5,6\n1,3,5\n", out.toString());
+
+        out.setLength(0);
+        new GanttRenderer().writeCsv(new HornsScheduler().scheduleCompact(2, new int[]{0, 3}, new int[]{4, 2}, new int[]{10, 5}), out);
+        assertEquals("task,start,end\n0,0,3\n1,3,5\n0,5,6\n", out.toString());
+    }
+
+    @Test
+    void testSvg() throws IOException
+    {
+        HornsAlgorithm.Schedule schedule = HornsAlgorithm.schedule(2, new int[]{0, 3}, new int[]{4, 2}, new int[]{10, 5});
+        StringBuilder out = new StringBuilder();
+        new GanttRenderer(5).writeSvg(schedule, out);
+        String svg = out.toString();
+
+        assertTrue(svg.startsWith("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"100.0\" height=\"40\">\n"), svg);
+        assertTrue(svg.endsWith("</svg>\n"), svg);
+        assertEquals(5, svg.split("<rect ", -1).length - 1); // 2 windows and 3 intervals
+        assertTrue(svg.contains("<rect x=\"75.0\" y=\"2\" width=\"5.0\" height=\"16\" fill=\"#4682b4\"/>"), svg);
+    }
+
+    @Test
+    void testInvalidWidth()
+    {
+        assertThrows(IllegalArgumentException.class, () -> new GanttRenderer(0));
+    }
+
+    /**
+     * The original visualization, which checks every interval of every task at every time unit.
+     */
+    private static String visualizeByTimeUnits(final HornsAlgorithm.Schedule schedule)
+    {
+        StringBuilder sb = new StringBuilder();
+        int maxTime = 0;
+        for (int i = 0; i < schedule.getNumberOfTasks(); i++) {
+            maxTime = Math.max(maxTime, schedule.getDueDates()[i]);
+            for (HornsAlgorithm.Interval interval : schedule.getSchedules()[i].getIntervals()) {
+                maxTime = Math.max(maxTime, interval.getEnd());
+            }
+        }
+        for (int i = 0; i < schedule.getNumberOfTasks(); i++) {
+            sb.append(String.format("T%d: ", i + 1));
+            for (int time = 0; time < maxTime; time++) {
+                if (time < schedule.getReleaseTimes()[i]) {
+                    sb.append(" ");
+                    continue;
+                }
+                boolean done = false;
+                for (HornsAlgorithm.Interval interval : schedule.getSchedules()[i].getIntervals()) {
+                    if (time >= interval.getStart() && time < interval.getEnd()) {
+                        sb.append("\u25A4");
+                        done = true;
+                        break;
+                    }
+                }
+                if (done) {
+                    continue;
+                }
+                if (time > schedule.getDueDates()[i]) {
+                    sb.append(" ");
+                    continue;
+                }
+                sb.append("-");
+            }
+            sb.append("\n");
+        }
+        return sb.toString();
+    }
+
+}
@@ -0,0 +1,136 @@
+package cz.filipklimes.edu.scheduling;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HornsSchedulerTest
+{
+
+    @Test
+    void testSameScheduleAsQuadraticAlgorithm()
+    {
+        Random random = new Random(42);
+        HornsScheduler scheduler = new HornsScheduler(1);
+        for (int round = 0; round < 200; round++) {
+            int n = random.nextInt(60);
+            int[] releaseTimes = new int[n];
+            int[] processingTimes = new int[n];
+            int[] dueDates = new int[n];
+            List<Integer> distinctDueDates = new ArrayList<>();
+            for (int i = 0; i < n; i++) {
+                distinctDueDates.add(i * 3 + random.nextInt(3));
+            }
+            Collections.shuffle(distinctDueDates, random);
+            for (int i = 0; i < n; i++) {
+                releaseTimes[i] = random.nextInt(100) - 10;
+                processingTimes[i] = random.nextInt(10);
+                dueDates[i] = distinctDueDates.get(i);
+            }
+
+            List<int[]> expected = new ArrayList<>();
+            int expectedLateness = quadraticSchedule(n, releaseTimes, processingTimes, dueDates, expected);
+
+            HornsAlgorithm.Schedule schedule = scheduler.schedule(n, releaseTimes, processingTimes, dueDates);
+            assertEquals(expectedLateness, schedule.getLateness());
+            for (int i = 0; i < n; i++) {
+                List<HornsAlgorithm.Interval> intervals = schedule.getSchedules()[i].getIntervals();
+                int index = 0;
+                for (int[] interval : expected) {
+                    if (interval[0] == i) {
+                        assertEquals(interval[1], intervals.get(index).getStart());
+                        assertEquals(interval[2], intervals.get(index).getEnd());
+                        ++index;
+                    }
+                }
+                assertEquals(index, intervals.size());
+            }
+
+            List<int[]> actual = new ArrayList<>();
+            long lateness = scheduler.schedule(n, releaseTimes, processingTimes, dueDates, (task, start, end) -> actual.add(new int[]{task, start, end}));
+            assertEquals(expectedLateness, lateness);
+            assertEquals(expected.size(), actual.size());
+            for (int i = 0; i < expected.size(); i++) {
+                assertArrayEquals(expected.get(i), actual.get(i));
+            }
+        }
+    }
+
+    @Test
+    void testEqualDueDatesInOrderOfTasks()
+    {
+        List<Integer> order = new ArrayList<>();
+        new HornsScheduler().schedule(3, new int[]{0, 0, 0}, new int[]{1, 1, 1}, new int[]{5, 5, 5}, (task, start, end) -> order.add(task));
+        assertEquals(Arrays.asList(0, 1, 2), order);
+    }
+
+    @Test
+    void testLatenessOverflow()
+    {
+        HornsScheduler scheduler = new HornsScheduler();
+        int[] dueDates = {-1_000_000_000, -1_000_000_000, 2_000_000_000};
+        // 1_000_000_001 + 1_000_000_002 - 1_999_999_997, the partial sum exceeds an int
+        assertEquals(6, scheduler.scheduleCompact(3, new int[3], new int[]{1, 1, 1}, dueDates).getLateness());
+
+        int[] lateDueDates = {-1_000_000_000, -1_000_000_000, -1_000_000_000};
+        assertThrows(ArithmeticException.class, () -> scheduler.scheduleCompact(3, new int[3], new int[]{1, 1, 1}, lateDueDates));
+        // The listener receives the intervals and the total lateness as a long
+        assertEquals(3_000_000_006L, scheduler.schedule(3, new int[3], new int[]{1, 1, 1}, lateDueDates, (task, start, end) -> {
+        }));
+    }
+
+    @Test
+    void testInvalidNumberOfTasks()
+    {
+        HornsScheduler scheduler = new HornsScheduler();
+        assertThrows(IllegalArgumentException.class, () -> scheduler.schedule(2, new int[1], new int[2], new int[2]));
+        assertThrows(IllegalArgumentException.class, () -> scheduler.schedule(-1, new int[0], new int[0], new int[0]));
+    }
+
+    /**
+     * The original O(n^2) implementation of HornsAlgorithm.schedule, which scans all unreleased tasks
+     * for the next release time.
+     */
+    private static int quadraticSchedule(final int numberOfTasks, final int[] releaseTimes, final int[] processingTimes, final int[] dueDates, final List<int[]> intervals)
+    {
+        int[] remainingTime = Arrays.copyOf(processingTimes, processingTimes.length);
+        Queue<int[]> releaseTimeQueue = new PriorityQueue<>(Math.max(numberOfTasks, 1), Comparator.comparingInt(task -> task[1]));
+        Queue<int[]> dueDateQueue = new PriorityQueue<>(Math.max(numberOfTasks, 1), Comparator.comparingInt(task -> task[1]));
+        for (int i = 0; i < numberOfTasks; i++) {
+            releaseTimeQueue.add(new int[]{i, releaseTimes[i]});
+        }
+
+        int time = 0;
+        int lateness = 0;
+        while (!dueDateQueue.isEmpty() || !releaseTimeQueue.isEmpty()) {
+            if (dueDateQueue.isEmpty()) {
+                time = releaseTimeQueue.peek()[1];
+            }
+            while (!releaseTimeQueue.isEmpty() && releaseTimeQueue.peek()[1] <= time) {
+                int id = releaseTimeQueue.poll()[0];
+                dueDateQueue.add(new int[]{id, dueDates[id]});
+            }
+            int[] task = dueDateQueue.poll();
+            int nextReleaseDate = Integer.MAX_VALUE;
+            for (int[] otherTask : releaseTimeQueue) {
+                if (otherTask[1] > time && otherTask[1] < nextReleaseDate) {
+                    nextReleaseDate = otherTask[1];
+                }
+            }
+            int stepSize = remainingTime[task[0]];
+            if (time + stepSize > nextReleaseDate) {
+                stepSize = nextReleaseDate - time;
+                dueDateQueue.add(task);
+            } else {
+                lateness += (time + stepSize) - dueDates[task[0]];
+            }
+            remainingTime[task[0]] -= stepSize;
+            intervals.add(new int[]{task[0], time, time + stepSize});
+            time += stepSize;
+        }
+        return lateness;
+    }
+
+}
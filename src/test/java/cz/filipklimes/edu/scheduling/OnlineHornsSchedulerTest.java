@@ -0,0 +1,125 @@
+package cz.filipklimes.edu.scheduling;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OnlineHornsSchedulerTest
+{
+
+    @Test
+    void testSameIntervalsAsOfflineScheduler()
+    {
+        Random random = new Random(42);
+        for (int round = 0; round < 100; round++) {
+            int n = random.nextInt(50);
+            int[] releaseTimes = new int[n];
+            int[] processingTimes = new int[n];
+            int[] dueDates = new int[n];
+            List<Integer> slack = new ArrayList<>();
+            for (int i = 0; i < n; i++) {
+                slack.add(i);
+            }
+            Collections.shuffle(slack, random);
+            for (int i = 0; i < n; i++) {
+                releaseTimes[i] = random.nextInt(100);
+                processingTimes[i] = random.nextInt(10);
+                dueDates[i] = slack.get(i) * 200 + 100 + processingTimes[i]; // Distinct and not before the release time plus the processing time
+            }
+
+            List<int[]> expected = new ArrayList<>();
+            long expectedLateness = new HornsScheduler().schedule(n, releaseTimes, processingTimes, dueDates, (task, start, end) -> expected.add(new int[]{task, start, end}));
+
+            Map<Task, Integer> ids = new IdentityHashMap<>();
+            List<int[]> actual = new ArrayList<>();
+            OnlineHornsScheduler scheduler = new OnlineHornsScheduler((task, start, end) -> actual.add(new int[]{ids.get(task), start, end}));
+            for (int i = 0; i < n; i++) {
+                Task task = new Task(processingTimes[i], releaseTimes[i], dueDates[i]);
+                ids.put(task, i);
+                scheduler.submit(task);
+            }
+            scheduler.advanceTo(Integer.MAX_VALUE);
+
+            assertEquals(expected.size(), actual.size());
+            for (int i = 0; i < expected.size(); i++) {
+                assertArrayEquals(expected.get(i), actual.get(i));
+            }
+            assertEquals(expectedLateness, scheduler.getLateness());
+            assertEquals(n, scheduler.completedTasks());
+            assertEquals(0, scheduler.activeTasks());
+        }
+    }
+
+    @Test
+    void testIncrementalSubmission()
+    {
+        List<String> events = new ArrayList<>();
+        OnlineHornsScheduler scheduler = new OnlineHornsScheduler(new OnlineHornsScheduler.Listener()
+        {
+            @Override
+            public void interval(final Task task, final int start, final int end)
+            {
+                events.add(String.format("%d:%d-%d", task.getDueDate(), start, end));
+            }
+
+            @Override
+            public void completed(final Task task, final int time)
+            {
+                events.add(String.format("%d:done@%d", task.getDueDate(), time));
+            }
+        });
+
+        scheduler.submit(new Task(5, 0, 20));
+        scheduler.advanceTo(2);
+        assertEquals(Arrays.asList("20:0-2"), events);
+
+        // Released in the past, so it is available right away and preempts the first task
+        scheduler.submit(new Task(2, 1, 10));
+        scheduler.advanceTo(3);
+        scheduler.advanceTo(3);
+        scheduler.advanceTo(10);
+        assertEquals(Arrays.asList("20:0-2", "10:2-3", "10:3-4", "10:done@4", "20:4-7", "20:done@7"), events);
+        assertEquals(10, scheduler.currentTime());
+        assertEquals(0, scheduler.activeTasks());
+        assertEquals((4 - 10) + (7 - 20), scheduler.getLateness());
+        assertEquals(-6, scheduler.getMaxLateness());
+
+        scheduler.submit(new Task(1, 15, 16));
+        scheduler.advanceTo(12);
+        assertEquals(1, scheduler.activeTasks());
+        scheduler.advanceTo(20);
+        assertEquals("16:15-16", events.get(events.size() - 2));
+        assertThrows(IllegalArgumentException.class, () -> scheduler.advanceTo(19));
+    }
+
+    @Test
+    void testMemoryBoundedByActiveTasks()
+    {
+        Random random = new Random(42);
+        OnlineHornsScheduler scheduler = new OnlineHornsScheduler((task, start, end) -> {
+        });
+        int time = 0;
+        for (int i = 0; i < 100_000; i++) {
+            int processingTime = 1 + random.nextInt(3);
+            scheduler.submit(new Task(processingTime, time, time + processingTime + random.nextInt(50)));
+            time += 3;
+            scheduler.advanceTo(time);
+        }
+        scheduler.advanceTo(Integer.MAX_VALUE);
+        assertEquals(100_000, scheduler.completedTasks());
+        assertTrue(scheduler.capacity() <= 64, "Capacity " + scheduler.capacity());
+    }
+
+    @Test
+    void testTaskWithoutDeadline()
+    {
+        Task task = new Task(3, 1, 5);
+        assertFalse(task.hasDeadline());
+        assertEquals(Task.NO_DEADLINE, task.getDeadline());
+        assertTrue(new Task(3, 1, 5, 4).hasDeadline());
+        assertThrows(RuntimeException.class, () -> new Task(3, 1, 5, 3));
+    }
+
+}
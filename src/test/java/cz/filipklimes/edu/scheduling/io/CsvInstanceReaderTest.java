@@ -0,0 +1,98 @@
+package cz.filipklimes.edu.scheduling.io;
+
+import cz.filipklimes.edu.scheduling.SchedulingInstance;
+import cz.filipklimes.edu.scheduling.Task;
+import cz.filipklimes.edu.scheduling.exception.InvalidSchedulingFileException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvInstanceReaderTest
+{
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testRead() throws IOException
+    {
+        SchedulingInstance instance = read("release,processing,due,deadline\r\n0,3,13\r\n\r\n 4 , 2 , 8 , 9\r\n-2,3,11\n0,4,16,20");
+        assertEquals(4, instance.getNumberOfTasks());
+        assertArrayEquals(new int[]{0, 4, -2, 0}, instance.getReleaseTimes());
+        assertArrayEquals(new int[]{3, 2, 3, 4}, instance.getProcessingTimes());
+        assertArrayEquals(new int[]{13, 8, 11, 16}, instance.getDueDates());
+        assertArrayEquals(new int[]{Task.NO_DEADLINE, 9, Task.NO_DEADLINE, 20}, instance.getDeadlines());
+
+        assertEquals(0, read("").getNumberOfTasks());
+        assertEquals(0, read("release,processing,due").getNumberOfTasks());
+        assertArrayEquals(new int[]{Integer.MIN_VALUE}, read("-2147483648,0,2147483647\n").getReleaseTimes());
+    }
+
+    @Test
+    void testByteOrderMark() throws IOException
+    {
+        byte[] csv = "\u00EF\u00BB\u00BFrelease,processing,due\n1,2,3\n".getBytes(StandardCharsets.ISO_8859_1);
+        SchedulingInstance instance = CsvInstanceReader.read(new ByteArrayInputStream(csv), "test.csv");
+        assertArrayEquals(new int[]{1}, instance.getReleaseTimes());
+
+        csv = "\u00EF\u00BB\u00BF1,2,3\n".getBytes(StandardCharsets.ISO_8859_1);
+        instance = CsvInstanceReader.read(new ByteArrayInputStream(csv), "test.csv");
+        assertArrayEquals(new int[]{3}, instance.getDueDates());
+
+        byte[] incomplete = "\u00EF\u00BB1,2,3\n".getBytes(StandardCharsets.ISO_8859_1);
+        assertThrows(InvalidSchedulingFileException.class, () -> CsvInstanceReader.read(new ByteArrayInputStream(incomplete), "test.csv"));
+    }
+
+    @Test
+    void testLargeFile() throws IOException
+    {
+        SchedulingInstance instance = InstanceFileTest.randomInstance(200_000, new Random(42));
+        StringBuilder csv = new StringBuilder("release,processing,due,deadline\n");
+        for (int i = 0; i < instance.getNumberOfTasks(); i++) {
+            csv.append(instance.getReleaseTimes()[i]).append(',')
+                .append(instance.getProcessingTimes()[i]).append(',')
+                .append(instance.getDueDates()[i]).append(',')
+                .append(instance.getDeadlines()[i]).append('\n');
+        }
+        Path file = directory.resolve("instance.csv");
+        Files.write(file, csv.toString().getBytes(StandardCharsets.US_ASCII));
+
+        SchedulingInstance read = CsvInstanceReader.read(file);
+        assertArrayEquals(instance.getReleaseTimes(), read.getReleaseTimes());
+        assertArrayEquals(instance.getProcessingTimes(), read.getProcessingTimes());
+        assertArrayEquals(instance.getDueDates(), read.getDueDates());
+        assertArrayEquals(instance.getDeadlines(), read.getDeadlines());
+    }
+
+    @Test
+    void testInvalidInput()
+    {
+        assertThrows(InvalidSchedulingFileException.class, () -> read("1,2\n"));
+        assertThrows(InvalidSchedulingFileException.class, () -> read("1,2,3,4,5\n"));
+        assertThrows(InvalidSchedulingFileException.class, () -> read("1,,3\n"));
+        assertThrows(InvalidSchedulingFileException.class, () -> read("1,2,3,\n"));
+        assertThrows(InvalidSchedulingFileException.class, () -> read("1 2,3,4\n"));
+        assertThrows(InvalidSchedulingFileException.class, () -> read("1,2,2147483648\n"));
+        assertThrows(InvalidSchedulingFileException.class, () -> read("1,2,3\nr,p,d\n"));
+        // Only a first line starting with a letter is a header, not a malformed first task
+        assertThrows(InvalidSchedulingFileException.class, () -> read("1,2,3e\n4,5,6\n"));
+        assertThrows(InvalidSchedulingFileException.class, () -> read("1,2,x\n4,5,6\n"));
+        assertThrows(InvalidSchedulingFileException.class, () -> read("-r,p,d\n4,5,6\n"));
+        InvalidSchedulingFileException exception = assertThrows(InvalidSchedulingFileException.class, () -> read("r,p,d\n1,2,3\n1;2;3\n"));
+        assertTrue(exception.getMessage().contains("line 3"), exception.getMessage());
+    }
+
+    private static SchedulingInstance read(final String csv) throws IOException
+    {
+        return CsvInstanceReader.read(new ByteArrayInputStream(csv.getBytes(StandardCharsets.US_ASCII)), "test.csv");
+    }
+
+}
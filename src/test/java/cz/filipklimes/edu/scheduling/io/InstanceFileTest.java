@@ -0,0 +1,122 @@
+package cz.filipklimes.edu.scheduling.io;
+
+import cz.filipklimes.edu.scheduling.CompactSchedule;
+import cz.filipklimes.edu.scheduling.HornsScheduler;
+import cz.filipklimes.edu.scheduling.SchedulingInstance;
+import cz.filipklimes.edu.scheduling.Task;
+import cz.filipklimes.edu.scheduling.exception.InvalidSchedulingFileException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InstanceFileTest
+{
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testWriteAndRead() throws IOException
+    {
+        SchedulingInstance instance = randomInstance(100_000, new Random(42));
+        Path file = directory.resolve("instance.bin");
+        InstanceFile.write(file, instance);
+        assertEquals(32 + 16 * 100_000, Files.size(file));
+
+        SchedulingInstance read = InstanceFile.read(file);
+        assertEquals(instance.getNumberOfTasks(), read.getNumberOfTasks());
+        assertArrayEquals(instance.getReleaseTimes(), read.getReleaseTimes());
+        assertArrayEquals(instance.getProcessingTimes(), read.getProcessingTimes());
+        assertArrayEquals(instance.getDueDates(), read.getDueDates());
+        assertArrayEquals(instance.getDeadlines(), read.getDeadlines());
+
+        MappedInstance mapped = InstanceFile.map(file);
+        assertEquals(100_000, mapped.getNumberOfTasks());
+        assertEquals(instance.getDueDates()[99_999], mapped.getDueDates().get(99_999));
+        assertTrue(mapped.getReleaseTimes().isReadOnly());
+    }
+
+    @Test
+    void testScheduleMappedInstance() throws IOException
+    {
+        Random random = new Random(42);
+        HornsScheduler scheduler = new HornsScheduler(1);
+        for (int round = 0; round < 20; round++) {
+            SchedulingInstance instance = randomInstance(random.nextInt(1000), random);
+            Path file = directory.resolve("instance.bin");
+            InstanceFile.write(file, instance);
+
+            CompactSchedule expected = scheduler.scheduleCompact(instance);
+            CompactSchedule.Builder builder = new CompactSchedule.Builder(instance.getNumberOfTasks());
+            int lateness = Math.toIntExact(InstanceFile.map(file).schedule(scheduler, builder));
+            CompactSchedule actual = builder.build(instance.getNumberOfTasks(), instance.getReleaseTimes(), instance.getProcessingTimes(), instance.getDueDates(), lateness);
+
+            assertEquals(expected.getLateness(), actual.getLateness());
+            assertEquals(expected.intervalCount(), actual.intervalCount());
+            for (int i = 0; i < expected.intervalCount(); i++) {
+                assertEquals(expected.task(i), actual.task(i));
+                assertEquals(expected.start(i), actual.start(i));
+                assertEquals(expected.end(i), actual.end(i));
+            }
+        }
+    }
+
+    @Test
+    void testEmptyInstance() throws IOException
+    {
+        Path file = directory.resolve("empty.bin");
+        InstanceFile.write(file, new SchedulingInstance(new int[0], new int[0], new int[0]));
+        assertEquals(0, InstanceFile.read(file).getNumberOfTasks());
+    }
+
+    @Test
+    void testCorruptedFile() throws IOException
+    {
+        SchedulingInstance instance = randomInstance(10, new Random(42));
+        Path file = directory.resolve("corrupted.bin");
+        InstanceFile.write(file, instance);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{42}), 40);
+        }
+        assertThrows(InvalidSchedulingFileException.class, () -> InstanceFile.map(file));
+        assertEquals(10, InstanceFile.map(file, false).getNumberOfTasks()); // Only the header is checked
+
+        InstanceFile.write(file, instance);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(40);
+        }
+        assertThrows(InvalidSchedulingFileException.class, () -> InstanceFile.map(file));
+        assertThrows(InvalidSchedulingFileException.class, () -> InstanceFile.map(file, false));
+
+        Files.write(file, new byte[]{1, 2, 3});
+        assertThrows(InvalidSchedulingFileException.class, () -> InstanceFile.map(file));
+
+        ScheduleFile.write(file, new HornsScheduler().scheduleCompact(instance));
+        assertThrows(InvalidSchedulingFileException.class, () -> InstanceFile.map(file));
+    }
+
+    static SchedulingInstance randomInstance(final int n, final Random random)
+    {
+        int[] releaseTimes = new int[n];
+        int[] processingTimes = new int[n];
+        int[] dueDates = new int[n];
+        int[] deadlines = new int[n];
+        for (int i = 0; i < n; i++) {
+            releaseTimes[i] = random.nextInt(n * 5 + 1);
+            processingTimes[i] = 1 + random.nextInt(10);
+            dueDates[i] = releaseTimes[i] + processingTimes[i] + random.nextInt(100);
+            deadlines[i] = random.nextBoolean() ? Task.NO_DEADLINE : dueDates[i] + random.nextInt(100);
+        }
+        return new SchedulingInstance(releaseTimes, processingTimes, dueDates, deadlines);
+    }
+
+}
@@ -0,0 +1,115 @@
+package cz.filipklimes.edu.scheduling.io;
+
+import cz.filipklimes.edu.scheduling.CompactSchedule;
+import cz.filipklimes.edu.scheduling.HornsAlgorithm;
+import cz.filipklimes.edu.scheduling.HornsScheduler;
+import cz.filipklimes.edu.scheduling.IntervalCursor;
+import cz.filipklimes.edu.scheduling.SchedulingInstance;
+import cz.filipklimes.edu.scheduling.exception.InvalidSchedulingFileException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScheduleFileTest
+{
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testCompactSchedule() throws IOException
+    {
+        SchedulingInstance instance = InstanceFileTest.randomInstance(50_000, new Random(42));
+        CompactSchedule schedule = new HornsScheduler().scheduleCompact(instance);
+        Path file = directory.resolve("schedule.bin");
+        ScheduleFile.write(file, schedule);
+        assertEquals(32 + 12L * schedule.intervalCount(), Files.size(file));
+
+        MappedSchedule mapped = ScheduleFile.map(file);
+        assertEquals(instance.getNumberOfTasks(), mapped.getNumberOfTasks());
+        assertEquals(schedule.getLateness(), mapped.getLateness());
+        assertEquals(schedule.intervalCount(), mapped.intervalCount());
+        IntervalCursor cursor = mapped.cursor();
+        for (int i = 0; i < schedule.intervalCount(); i++) {
+            assertTrue(cursor.next());
+            assertEquals(schedule.task(i), cursor.task());
+            assertEquals(schedule.start(i), cursor.start());
+            assertEquals(schedule.end(i), cursor.end());
+        }
+        assertFalse(cursor.next());
+        assertThrows(NoSuchElementException.class, cursor::task);
+
+        CompactSchedule restored = mapped.toCompactSchedule(instance);
+        assertEquals(schedule.intervalCount(), restored.intervalCount());
+        assertEquals(schedule.intervalCount(7), restored.intervalCount(7));
+    }
+
+    @Test
+    void testScheduleInOrderOfExecution() throws IOException
+    {
+        HornsAlgorithm.Schedule schedule = HornsAlgorithm.schedule(2, new int[]{0, 3}, new int[]{4, 2}, new int[]{10, 5});
+        Path file = directory.resolve("schedule.bin");
+        ScheduleFile.write(file, schedule);
+
+        List<String> intervals = new ArrayList<>();
+        ScheduleFile.map(file).forEach((task, start, end) -> intervals.add(task + ":" + start + "-" + end));
+        assertEquals(Arrays.asList("0:0-3", "1:3-5", "0:5-6"), intervals);
+    }
+
+    @Test
+    void testStreamingWriter() throws IOException
+    {
+        SchedulingInstance instance = InstanceFileTest.randomInstance(20_000, new Random(7));
+        Path instanceFile = directory.resolve("instance.bin");
+        InstanceFile.write(instanceFile, instance);
+
+        Path file = directory.resolve("schedule.bin");
+        try (ScheduleFile.Writer writer = new ScheduleFile.Writer(file, instance.getNumberOfTasks())) {
+            writer.finish(InstanceFile.map(instanceFile).schedule(new HornsScheduler(), writer));
+        }
+        CompactSchedule expected = new HornsScheduler().scheduleCompact(instance);
+        MappedSchedule mapped = ScheduleFile.map(file);
+        assertEquals(expected.getLateness(), mapped.getLateness());
+        assertEquals(expected.intervalCount(), mapped.intervalCount());
+        assertFalse(Files.exists(directory.resolve("schedule.bin.tmp")));
+    }
+
+    @Test
+    void testUnfinishedWriterIsDiscarded() throws IOException
+    {
+        Path file = directory.resolve("unfinished.bin");
+        try (ScheduleFile.Writer writer = new ScheduleFile.Writer(file, 1)) {
+            writer.interval(0, 0, 1);
+        }
+        assertFalse(Files.exists(file));
+        assertFalse(Files.exists(directory.resolve("unfinished.bin.tmp")));
+    }
+
+    @Test
+    void testCorruptedFile() throws IOException
+    {
+        HornsAlgorithm.Schedule schedule = HornsAlgorithm.schedule(2, new int[]{0, 3}, new int[]{4, 2}, new int[]{10, 5});
+        Path file = directory.resolve("corrupted.bin");
+        ScheduleFile.write(file, schedule);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{42}), 40);
+        }
+        assertThrows(InvalidSchedulingFileException.class, () -> ScheduleFile.map(file));
+
+        ScheduleFile.write(file, schedule);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(40);
+        }
+        assertThrows(InvalidSchedulingFileException.class, () -> ScheduleFile.map(file));
+    }
+
+}